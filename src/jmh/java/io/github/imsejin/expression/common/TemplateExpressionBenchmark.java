@@ -0,0 +1,127 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.imsejin.expression.common;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.imsejin.expression.Expression;
+import io.github.imsejin.expression.ParserContext;
+import io.github.imsejin.expression.spel.standard.SpelCompiler;
+import io.github.imsejin.expression.spel.standard.SpelExpressionParser;
+import io.github.imsejin.expression.spel.standard.SpelTemplateExpression;
+import io.github.imsejin.expression.spel.support.StandardEvaluationContext;
+
+/**
+ * Benchmarks for parsing and evaluating template expressions.
+ *
+ * @author imsejin
+ * @since 5.2.9
+ * @see CompositeStringExpression
+ * @see SpelTemplateExpression
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateExpressionBenchmark {
+
+	private static final String TEMPLATE =
+			"Hello #{name}, you have #{count} new #{count == 1 ? 'message' : 'messages'} since #{since}.";
+
+
+	private final ParserContext parserContext = new TemplateParserContext();
+
+	private final SpelExpressionParser parser = new SpelExpressionParser();
+
+	private final Expression expression = this.parser.parseExpression(TEMPLATE, this.parserContext);
+
+	private final SpelTemplateExpression compiledExpression =
+			(SpelTemplateExpression) this.parser.parseExpression(TEMPLATE, this.parserContext);
+
+	private final StandardEvaluationContext context = new StandardEvaluationContext(new Inbox());
+
+	private final StringBuilder builder = new StringBuilder(128);
+
+
+	@Setup
+	public void compile() {
+		// Compilation needs the types observed by one interpreted evaluation
+		this.compiledExpression.getValue(this.context);
+		if (!SpelCompiler.compile(this.compiledExpression)) {
+			throw new IllegalStateException("Template is not compilable: " + TEMPLATE);
+		}
+	}
+
+	@Benchmark
+	public Expression parse() {
+		return this.parser.parseExpression(TEMPLATE, this.parserContext);
+	}
+
+	@Benchmark
+	public String evaluate() {
+		return this.expression.getValue(this.context, String.class);
+	}
+
+	@Benchmark
+	public StringBuilder appendToBuilder() {
+		this.builder.setLength(0);
+		((SpelTemplateExpression) this.expression).appendValue(this.context, this.builder);
+		return this.builder;
+	}
+
+	@Benchmark
+	public String evaluateCompiled() {
+		return this.compiledExpression.getValue(this.context, String.class);
+	}
+
+	@Benchmark
+	public StringBuilder appendToBuilderCompiled() {
+		this.builder.setLength(0);
+		this.compiledExpression.appendValue(this.context, this.builder);
+		return this.builder;
+	}
+
+
+	public static class Inbox {
+
+		public String getName() {
+			return "imsejin";
+		}
+
+		public int getCount() {
+			return 12;
+		}
+
+		public String getSince() {
+			return "yesterday";
+		}
+	}
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.imsejin.expression.core.convert.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.imsejin.expression.core.convert.TypeDescriptor;
+
+/**
+ * Benchmarks for {@link GenericConversionService#convert} with the default converters.
+ *
+ * @author imsejin
+ * @since 5.2.9
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversionServiceBenchmark {
+
+	private static final TypeDescriptor STRING_TYPE = TypeDescriptor.valueOf(String.class);
+
+	private static final TypeDescriptor INTEGER_TYPE = TypeDescriptor.valueOf(Integer.class);
+
+	private static final TypeDescriptor STRING_ARRAY_TYPE = TypeDescriptor.valueOf(String[].class);
+
+	private static final TypeDescriptor INTEGER_LIST_TYPE = TypeDescriptor.collection(List.class, INTEGER_TYPE);
+
+	private static final TypeDescriptor LONG_LIST_TYPE = TypeDescriptor.collection(List.class, TypeDescriptor.valueOf(Long.class));
+
+	private static final TypeDescriptor LONG_ARRAY_TYPE = TypeDescriptor.valueOf(long[].class);
+
+
+	private final GenericConversionService conversionService = new DefaultConversionService();
+
+	private final List<String> stringList = Arrays.asList("1", "2", "3", "4", "5", "6", "7", "8");
+
+	private final List<String> ids = new ArrayList<>();
+
+	{
+		for (int i = 0; i < 10_000; i++) {
+			this.ids.add(String.valueOf(100_000 + i));
+		}
+	}
+
+
+	@Benchmark
+	public Object sameType() {
+		return this.conversionService.convert("imsejin", STRING_TYPE, STRING_TYPE);
+	}
+
+	@Benchmark
+	public Object stringToInteger() {
+		return this.conversionService.convert("1234", STRING_TYPE, INTEGER_TYPE);
+	}
+
+	@Benchmark
+	public Object integerToString() {
+		return this.conversionService.convert(1234, INTEGER_TYPE, STRING_TYPE);
+	}
+
+	@Benchmark
+	public Object stringToEnum() {
+		return this.conversionService.convert("SECONDS", TimeUnit.class);
+	}
+
+	@Benchmark
+	public Object collectionToArray() {
+		return this.conversionService.convert(this.stringList, STRING_ARRAY_TYPE);
+	}
+
+	@Benchmark
+	public Object collectionToGenericCollection() {
+		return this.conversionService.convert(this.stringList, INTEGER_LIST_TYPE);
+	}
+
+	@Benchmark
+	public Object largeCollectionToGenericCollection() {
+		return this.conversionService.convert(this.ids, LONG_LIST_TYPE);
+	}
+
+	@Benchmark
+	public Object largeCollectionToPrimitiveArray() {
+		return this.conversionService.convert(this.ids, LONG_ARRAY_TYPE);
+	}
+
+}
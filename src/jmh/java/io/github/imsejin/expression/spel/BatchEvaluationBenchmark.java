@@ -0,0 +1,133 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.imsejin.expression.spel;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.imsejin.expression.spel.standard.SpelExpression;
+import io.github.imsejin.expression.spel.standard.SpelExpressionParser;
+import io.github.imsejin.expression.spel.support.StandardEvaluationContext;
+
+/**
+ * Benchmarks for evaluating one expression against a batch of root objects, one
+ * {@code getValue} call per root object versus a single {@code evaluateAll} call.
+ *
+ * <p>Run with {@code -prof gc} (the default of the {@code jmh} profile) and compare
+ * {@code gc.alloc.rate.norm}, which is reported per batch.
+ *
+ * @author imsejin
+ * @since 5.2.9
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchEvaluationBenchmark {
+
+	private static final int BATCH_SIZE = 10_000;
+
+	@Param({"OFF", "IMMEDIATE"})
+	public SpelCompilerMode compilerMode;
+
+	private SpelExpression expression;
+
+	private SpelExpression parallelExpression;
+
+	private StandardEvaluationContext context;
+
+	private Record[] records;
+
+	private Double[] results;
+
+
+	@Setup
+	public void setup() {
+		ClassLoader classLoader = getClass().getClassLoader();
+		this.expression = new SpelExpressionParser(new SpelParserConfiguration(this.compilerMode, classLoader))
+				.parseRaw("quantity * price * 1.1d");
+		this.parallelExpression = new SpelExpressionParser(SpelParserConfiguration.builder()
+				.compilerMode(this.compilerMode).compilerClassLoader(classLoader).parallelThreshold(1000).build())
+				.parseRaw("quantity * price * 1.1d");
+		this.context = new StandardEvaluationContext();
+		this.records = new Record[BATCH_SIZE];
+		for (int i = 0; i < BATCH_SIZE; i++) {
+			this.records[i] = new Record(i % 10, i * 0.5d);
+		}
+		this.results = new Double[BATCH_SIZE];
+		// Evaluate a few times so that the expressions are compiled before measuring
+		for (int i = 0; i < 3; i++) {
+			this.expression.getValue(this.context, this.records[i]);
+			this.parallelExpression.getValue(this.context, this.records[i]);
+		}
+	}
+
+	@Benchmark
+	public Double[] getValuePerRecord() {
+		for (int i = 0; i < BATCH_SIZE; i++) {
+			this.results[i] = this.expression.getValue(this.context, this.records[i], Double.class);
+		}
+		return this.results;
+	}
+
+	@Benchmark
+	public Double[] evaluateAll() {
+		this.expression.evaluateAll(this.context, this.records, Double.class, this.results);
+		return this.results;
+	}
+
+	@Benchmark
+	public Double[] evaluateAllInParallel() {
+		this.parallelExpression.evaluateAll(this.context, this.records, Double.class, this.results);
+		return this.results;
+	}
+
+
+	public static class Record {
+
+		private final int quantity;
+
+		private final double price;
+
+		public Record(int quantity, double price) {
+			this.quantity = quantity;
+			this.price = price;
+		}
+
+		public int getQuantity() {
+			return this.quantity;
+		}
+
+		public double getPrice() {
+			return this.price;
+		}
+	}
+
+}
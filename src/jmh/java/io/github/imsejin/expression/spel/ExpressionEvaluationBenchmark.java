@@ -0,0 +1,181 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.imsejin.expression.spel;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.imsejin.expression.Expression;
+import io.github.imsejin.expression.spel.standard.SpelExpressionParser;
+import io.github.imsejin.expression.spel.support.StandardEvaluationContext;
+
+/**
+ * Benchmarks for interpreted versus compiled evaluation of typical expressions.
+ *
+ * <p>Run with {@code -prof gc} (the default of the {@code jmh} profile) to see the
+ * allocation rate per evaluation next to the throughput.
+ *
+ * @author imsejin
+ * @since 5.2.9
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpressionEvaluationBenchmark {
+
+	private static final Map<String, String> EXPRESSIONS = new HashMap<>();
+
+	static {
+		EXPRESSIONS.put("propertyChain", "customer.address.city");
+		EXPRESSIONS.put("methodCall", "customer.name.substring(0, 3).toUpperCase()");
+		EXPRESSIONS.put("operators", "quantity * price + 10 > 100 and quantity != 0");
+		EXPRESSIONS.put("arithmetic", "(quantity * 3 + quantity / 2 - 1) * (quantity - 2) >= 100");
+		EXPRESSIONS.put("selection", "items.?[price > 10]");
+		EXPRESSIONS.put("projection", "items.![price * 2]");
+	}
+
+
+	@Param({"OFF", "IMMEDIATE"})
+	public SpelCompilerMode compilerMode;
+
+	@Param({"propertyChain", "methodCall", "operators", "arithmetic", "selection", "projection"})
+	public String expression;
+
+	private Expression parsedExpression;
+
+	private StandardEvaluationContext context;
+
+
+	@Setup
+	public void setup() {
+		SpelParserConfiguration configuration =
+				new SpelParserConfiguration(this.compilerMode, getClass().getClassLoader());
+		this.parsedExpression = new SpelExpressionParser(configuration).parseExpression(EXPRESSIONS.get(this.expression));
+		this.context = new StandardEvaluationContext(Order.create());
+		// Evaluate a few times so that compilable expressions are compiled before measuring
+		for (int i = 0; i < 3; i++) {
+			this.parsedExpression.getValue(this.context);
+		}
+	}
+
+	@Benchmark
+	public Object evaluate() {
+		return this.parsedExpression.getValue(this.context);
+	}
+
+
+	public static class Order {
+
+		public Customer customer;
+
+		public int quantity;
+
+		public double price;
+
+		public List<Item> items;
+
+		public Customer getCustomer() {
+			return this.customer;
+		}
+
+		public int getQuantity() {
+			return this.quantity;
+		}
+
+		public double getPrice() {
+			return this.price;
+		}
+
+		public List<Item> getItems() {
+			return this.items;
+		}
+
+		static Order create() {
+			Order order = new Order();
+			order.customer = new Customer();
+			order.customer.name = "imsejin";
+			order.customer.address = new Address();
+			order.customer.address.city = "Seoul";
+			order.quantity = 7;
+			order.price = 19.5d;
+			order.items = new ArrayList<>();
+			for (int i = 0; i < 16; i++) {
+				order.items.add(new Item(i * 1.5d));
+			}
+			return order;
+		}
+	}
+
+
+	public static class Customer {
+
+		public String name;
+
+		public Address address;
+
+		public String getName() {
+			return this.name;
+		}
+
+		public Address getAddress() {
+			return this.address;
+		}
+	}
+
+
+	public static class Address {
+
+		public String city;
+
+		public String getCity() {
+			return this.city;
+		}
+	}
+
+
+	public static class Item {
+
+		private final double price;
+
+		public Item(double price) {
+			this.price = price;
+		}
+
+		public double getPrice() {
+			return this.price;
+		}
+	}
+
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.imsejin.expression.spel;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.imsejin.expression.spel.standard.SpelExpression;
+import io.github.imsejin.expression.spel.standard.SpelExpressionParser;
+import io.github.imsejin.expression.spel.standard.SpelExpressionSet;
+import io.github.imsejin.expression.spel.support.StandardEvaluationContext;
+
+/**
+ * Benchmarks for evaluating a hundred interpreted rules against the same root object,
+ * one expression after another versus as an expression set that evaluates the
+ * property chains the rules have in common once.
+ *
+ * @author imsejin
+ * @since 5.2.9
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpressionSetBenchmark {
+
+	private static final String[] TIERS = {"BRONZE", "SILVER", "GOLD", "PLATINUM"};
+
+	private static final String[] COUNTRIES = {"KR", "US", "JP", "DE", "FR"};
+
+	private final List<String> ids = new ArrayList<>();
+
+	private final List<SpelExpression> expressions = new ArrayList<>();
+
+	private SpelExpressionSet expressionSet;
+
+	private StandardEvaluationContext context;
+
+	private Order order;
+
+
+	@Setup
+	public void setup() {
+		SpelExpressionParser parser = new SpelExpressionParser();
+		Map<String, String> rules = new LinkedHashMap<>();
+		for (int i = 0; i < 100; i++) {
+			String rule = "order.customer.tier == '" + TIERS[i % TIERS.length] +
+					"' and order.customer.address.country == '" + COUNTRIES[i % COUNTRIES.length] +
+					"' and order.amount > " + (i * 10);
+			rules.put("rule-" + i, rule);
+			this.ids.add("rule-" + i);
+			this.expressions.add(parser.parseRaw(rule));
+		}
+		this.expressionSet = parser.parseExpressionSet(rules);
+		this.context = new StandardEvaluationContext();
+		this.order = new Order();
+	}
+
+	@Benchmark
+	public List<String> oneByOne() {
+		List<String> matchingIds = new ArrayList<>();
+		for (int i = 0; i < this.expressions.size(); i++) {
+			if (this.expressions.get(i).getValue(this.context, this, Boolean.class)) {
+				matchingIds.add(this.ids.get(i));
+			}
+		}
+		return matchingIds;
+	}
+
+	@Benchmark
+	public List<String> expressionSet() {
+		return this.expressionSet.getMatchingIds(this.context, this);
+	}
+
+	public Order getOrder() {
+		return this.order;
+	}
+
+
+	public static class Order {
+
+		private final Customer customer = new Customer();
+
+		public Customer getCustomer() {
+			return this.customer;
+		}
+
+		public int getAmount() {
+			return 500;
+		}
+	}
+
+
+	public static class Customer {
+
+		private final Address address = new Address();
+
+		public String getTier() {
+			return "GOLD";
+		}
+
+		public Address getAddress() {
+			return this.address;
+		}
+	}
+
+
+	public static class Address {
+
+		public String getCountry() {
+			return "KR";
+		}
+	}
+
+}
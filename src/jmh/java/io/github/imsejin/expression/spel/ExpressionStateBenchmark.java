@@ -0,0 +1,108 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.imsejin.expression.spel;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.imsejin.expression.TypedValue;
+import io.github.imsejin.expression.spel.support.StandardEvaluationContext;
+
+/**
+ * Benchmarks for the allocations of an {@link ExpressionState} during interpreted
+ * evaluation: setting up a state for an evaluation, and entering a scope with a local
+ * variable for every element of a selection, as {@code $[...]} does with {@code #index}.
+ *
+ * <p>Run with {@code -prof gc} (the default of the {@code jmh} profile) and compare
+ * {@code gc.alloc.rate.norm}: a new state allocates its stacks once it enters a scope,
+ * whereas a state obtained for the current thread reuses the stacks of the previous
+ * evaluation. Without any elements, escape analysis may remove the new state entirely.
+ *
+ * @author imsejin
+ * @since 5.2.9
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpressionStateBenchmark {
+
+	@Param({"0", "16"})
+	public int elements;
+
+	private StandardEvaluationContext context;
+
+	private SpelParserConfiguration configuration;
+
+	private TypedValue rootObject;
+
+	private TypedValue[] elementValues;
+
+
+	@Setup
+	public void setup() {
+		this.context = new StandardEvaluationContext();
+		this.configuration = new SpelParserConfiguration();
+		this.rootObject = new TypedValue("root");
+		this.elementValues = new TypedValue[this.elements];
+		for (int i = 0; i < this.elements; i++) {
+			this.elementValues[i] = new TypedValue(i);
+		}
+	}
+
+	@Benchmark
+	public Object newState() {
+		ExpressionState state = new ExpressionState(this.context, this.rootObject, this.configuration);
+		return iterate(state);
+	}
+
+	@Benchmark
+	public Object obtainedState() {
+		ExpressionState state = ExpressionState.obtain(this.context, this.rootObject, this.configuration);
+		try {
+			return iterate(state);
+		} finally {
+			state.release();
+		}
+	}
+
+	private Object iterate(ExpressionState state) {
+		Object result = state.getActiveContextObject().getValue();
+		for (int i = 0; i < this.elementValues.length; i++) {
+			state.pushActiveContextObject(this.elementValues[i]);
+			state.enterScope("index", this.elementValues[i].getValue());
+			result = state.lookupLocalVariable("index");
+			state.exitScope();
+			state.popActiveContextObject();
+		}
+		return result;
+	}
+
+}
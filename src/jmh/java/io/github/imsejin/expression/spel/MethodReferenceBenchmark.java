@@ -0,0 +1,114 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.imsejin.expression.spel;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.imsejin.expression.Expression;
+import io.github.imsejin.expression.spel.standard.SpelExpressionParser;
+import io.github.imsejin.expression.spel.support.StandardEvaluationContext;
+
+/**
+ * Benchmarks for interpreted method invocation with arguments of domain types,
+ * each of which needs a type descriptor for method resolution and argument conversion.
+ *
+ * <p>Run with {@code -prof gc} (the default of the {@code jmh} profile) and compare
+ * {@code gc.alloc.rate.norm}: type descriptors for such classes are shared per class,
+ * rather than created for every argument value.
+ *
+ * @author imsejin
+ * @since 5.2.9
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MethodReferenceBenchmark {
+
+	private Expression singleArgument;
+
+	private Expression multipleArguments;
+
+	private StandardEvaluationContext context;
+
+
+	@Setup
+	public void setup() {
+		SpelExpressionParser parser = new SpelExpressionParser();
+		this.singleArgument = parser.parseExpression("#tariffs.rateFor(#customer)");
+		this.multipleArguments = parser.parseExpression("#tariffs.priceFor(#customer, #product, #region)");
+		this.context = new StandardEvaluationContext();
+		this.context.setVariable("tariffs", new Tariffs());
+		this.context.setVariable("customer", new Customer());
+		this.context.setVariable("product", new Product());
+		this.context.setVariable("region", new Region());
+	}
+
+	@Benchmark
+	public Object singleArgument() {
+		return this.singleArgument.getValue(this.context);
+	}
+
+	@Benchmark
+	public Object multipleArguments() {
+		return this.multipleArguments.getValue(this.context);
+	}
+
+
+	public static class Tariffs {
+
+		public double rateFor(Customer customer) {
+			return customer.discount;
+		}
+
+		public double priceFor(Customer customer, Product product, Region region) {
+			return product.price * (1 - customer.discount) * region.tax;
+		}
+	}
+
+
+	public static class Customer {
+
+		final double discount = 0.1d;
+	}
+
+
+	public static class Product {
+
+		final double price = 42.0d;
+	}
+
+
+	public static class Region {
+
+		final double tax = 1.1d;
+	}
+
+}
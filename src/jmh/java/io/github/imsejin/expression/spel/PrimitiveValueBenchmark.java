@@ -0,0 +1,113 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.imsejin.expression.spel;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.imsejin.expression.Expression;
+import io.github.imsejin.expression.spel.standard.SpelExpressionParser;
+import io.github.imsejin.expression.spel.support.StandardEvaluationContext;
+
+/**
+ * Benchmarks for evaluating a predicate and a score through the primitive-typed
+ * evaluation methods versus {@code getValue} with a wrapper result type.
+ *
+ * <p>Run with {@code -prof gc} (the default of the {@code jmh} profile) and compare
+ * {@code gc.alloc.rate.norm}: compiled expressions return primitive results without
+ * boxing them, and neither mode goes through the conversion service for them.
+ *
+ * @author imsejin
+ * @since 5.2.9
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveValueBenchmark {
+
+	@Param({"OFF", "IMMEDIATE"})
+	public SpelCompilerMode compilerMode;
+
+	private Expression predicate;
+
+	private Expression score;
+
+	private StandardEvaluationContext context;
+
+
+	@Setup
+	public void setup() {
+		SpelParserConfiguration configuration =
+				new SpelParserConfiguration(this.compilerMode, getClass().getClassLoader());
+		SpelExpressionParser parser = new SpelExpressionParser(configuration);
+		this.predicate = parser.parseExpression("quantity * price > 100.0d and quantity != 0");
+		this.score = parser.parseExpression("quantity * price * 1.1d");
+		this.context = new StandardEvaluationContext(new Order());
+		// Evaluate a few times so that the expressions are compiled before measuring
+		for (int i = 0; i < 3; i++) {
+			this.predicate.getValue(this.context);
+			this.score.getValue(this.context);
+		}
+	}
+
+	@Benchmark
+	public Boolean predicateAsBoolean() {
+		return this.predicate.getValue(this.context, Boolean.class);
+	}
+
+	@Benchmark
+	public boolean predicateAsPrimitive() {
+		return this.predicate.getBooleanValue(this.context);
+	}
+
+	@Benchmark
+	public Double scoreAsDouble() {
+		return this.score.getValue(this.context, Double.class);
+	}
+
+	@Benchmark
+	public double scoreAsPrimitive() {
+		return this.score.getDoubleValue(this.context);
+	}
+
+
+	public static class Order {
+
+		public int getQuantity() {
+			return 7;
+		}
+
+		public double getPrice() {
+			return 19.5d;
+		}
+	}
+
+}
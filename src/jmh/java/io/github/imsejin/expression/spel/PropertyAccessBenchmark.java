@@ -0,0 +1,107 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.imsejin.expression.spel;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.imsejin.expression.Expression;
+import io.github.imsejin.expression.spel.standard.SpelExpressionParser;
+import io.github.imsejin.expression.spel.support.StandardEvaluationContext;
+
+/**
+ * Benchmarks for interpreted property reads in steady state, i.e. once each
+ * property reference has resolved an accessor for its receiver type.
+ *
+ * <p>Run with {@code -prof gc} (the default of the {@code jmh} profile): a cached
+ * accessor is reused as long as it applies to the context, so reads neither search
+ * the context's accessors nor create a new optimal accessor, even if every
+ * evaluation uses a fresh {@code StandardEvaluationContext}.
+ *
+ * @author imsejin
+ * @since 5.2.9
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertyAccessBenchmark {
+
+	private final Order order = new Order();
+
+	private Expression expression;
+
+	private StandardEvaluationContext context;
+
+
+	@Setup
+	public void setup() {
+		this.expression = new SpelExpressionParser().parseExpression("customer.address.city");
+		this.context = new StandardEvaluationContext(this.order);
+	}
+
+	@Benchmark
+	public Object sharedContext() {
+		return this.expression.getValue(this.context);
+	}
+
+	@Benchmark
+	public Object freshContext() {
+		return this.expression.getValue(new StandardEvaluationContext(this.order));
+	}
+
+
+	public static class Order {
+
+		private final Customer customer = new Customer();
+
+		public Customer getCustomer() {
+			return this.customer;
+		}
+	}
+
+
+	public static class Customer {
+
+		private final Address address = new Address();
+
+		public Address getAddress() {
+			return this.address;
+		}
+	}
+
+
+	public static class Address {
+
+		public String getCity() {
+			return "Seoul";
+		}
+	}
+
+}
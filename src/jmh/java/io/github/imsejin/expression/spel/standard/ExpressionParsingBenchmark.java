@@ -0,0 +1,73 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.imsejin.expression.spel.standard;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.imsejin.expression.spel.SpelParserConfiguration;
+
+/**
+ * Benchmarks for tokenizing and parsing expressions.
+ *
+ * @author imsejin
+ * @since 5.2.9
+ * @see Tokenizer
+ * @see InternalSpelExpressionParser
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpressionParsingBenchmark {
+
+	@Param({
+			"customer.address.city",
+			"customer.name.substring(0, 3).toUpperCase()",
+			"quantity * price + 10 > 100 and quantity != 0",
+			"items.?[price > 10].![price * 2]",
+			"T(java.lang.Math).max(#a, #b) ?: {1, 2, 3}[0]"
+	})
+	public String expression;
+
+	private final SpelParserConfiguration configuration = new SpelParserConfiguration();
+
+
+	@Benchmark
+	public List<Token> tokenize() {
+		return new Tokenizer(this.expression).process();
+	}
+
+	@Benchmark
+	public SpelExpression parse() {
+		return new InternalSpelExpressionParser(this.configuration).doParseExpression(this.expression, null);
+	}
+
+}
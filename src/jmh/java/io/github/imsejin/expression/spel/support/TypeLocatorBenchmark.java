@@ -0,0 +1,80 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.imsejin.expression.spel.support;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.imsejin.expression.EvaluationException;
+
+/**
+ * Benchmarks for {@link StandardTypeLocator#findType}.
+ *
+ * @author imsejin
+ * @since 5.2.9
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TypeLocatorBenchmark {
+
+	private final StandardTypeLocator typeLocator = new StandardTypeLocator();
+
+	{
+		this.typeLocator.registerImport("java.util");
+		this.typeLocator.registerImport("java.util.concurrent");
+	}
+
+
+	@Benchmark
+	public Class<?> qualifiedName() {
+		return this.typeLocator.findType("java.util.ArrayList");
+	}
+
+	@Benchmark
+	public Class<?> defaultImport() {
+		return this.typeLocator.findType("String");
+	}
+
+	@Benchmark
+	public Class<?> registeredImport() {
+		return this.typeLocator.findType("TimeUnit");
+	}
+
+	@Benchmark
+	public Object unknownType() {
+		try {
+			return this.typeLocator.findType("NoSuchType");
+		}
+		catch (EvaluationException ex) {
+			return ex;
+		}
+	}
+
+}
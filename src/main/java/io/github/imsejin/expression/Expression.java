@@ -26,6 +26,7 @@ import io.github.imsejin.expression.core.convert.TypeDescriptor;
  * @author Keith Donald
  * @author Andy Clement
  * @author Juergen Hoeller
+ * @author imsejin
  * @since 3.0
  */
 public interface Expression {
@@ -128,6 +129,150 @@ public interface Expression {
     <T> T getValue(EvaluationContext context, Object rootObject, Class<T> desiredResultType)
             throws EvaluationException;
 
+    /**
+     * Evaluate the expression in a specified context and return the result as
+     * a {@code boolean}. A result that is not a {@code boolean} is
+     * converted as if by {@link #getValue(EvaluationContext, Class)}.
+     * <p>The default implementation delegates to that method. Implementations may
+     * avoid boxing and converting the result.
+     *
+     * @param context the context in which to evaluate the expression
+     * @return the evaluation result
+     * @throws EvaluationException if there is a problem during evaluation, or if
+     *                             the result is {@code null} or cannot be converted
+     * @since 5.2.9
+     */
+    default boolean getBooleanValue(EvaluationContext context) throws EvaluationException {
+        return getValue(context, boolean.class);
+    }
+
+    /**
+     * Evaluate the expression in a specified context against the specified root
+     * object and return the result as a {@code boolean}. A result that is not
+     * a {@code boolean} is converted as if by
+     * {@link #getValue(EvaluationContext, Object, Class)}.
+     * <p>The default implementation delegates to that method. Implementations may
+     * avoid boxing and converting the result.
+     *
+     * @param context    the context in which to evaluate the expression
+     * @param rootObject the root object against which to evaluate the expression
+     * @return the evaluation result
+     * @throws EvaluationException if there is a problem during evaluation, or if
+     *                             the result is {@code null} or cannot be converted
+     * @since 5.2.9
+     */
+    default boolean getBooleanValue(EvaluationContext context, Object rootObject) throws EvaluationException {
+        return getValue(context, rootObject, boolean.class);
+    }
+
+    /**
+     * Evaluate the expression in a specified context and return the result as
+     * an {@code int}. A result that is not an {@code int} is
+     * converted as if by {@link #getValue(EvaluationContext, Class)}.
+     * <p>The default implementation delegates to that method. Implementations may
+     * avoid boxing and converting the result.
+     *
+     * @param context the context in which to evaluate the expression
+     * @return the evaluation result
+     * @throws EvaluationException if there is a problem during evaluation, or if
+     *                             the result is {@code null} or cannot be converted
+     * @since 5.2.9
+     */
+    default int getIntValue(EvaluationContext context) throws EvaluationException {
+        return getValue(context, int.class);
+    }
+
+    /**
+     * Evaluate the expression in a specified context against the specified root
+     * object and return the result as an {@code int}. A result that is not
+     * an {@code int} is converted as if by
+     * {@link #getValue(EvaluationContext, Object, Class)}.
+     * <p>The default implementation delegates to that method. Implementations may
+     * avoid boxing and converting the result.
+     *
+     * @param context    the context in which to evaluate the expression
+     * @param rootObject the root object against which to evaluate the expression
+     * @return the evaluation result
+     * @throws EvaluationException if there is a problem during evaluation, or if
+     *                             the result is {@code null} or cannot be converted
+     * @since 5.2.9
+     */
+    default int getIntValue(EvaluationContext context, Object rootObject) throws EvaluationException {
+        return getValue(context, rootObject, int.class);
+    }
+
+    /**
+     * Evaluate the expression in a specified context and return the result as
+     * a {@code long}. A result that is not a {@code long} is
+     * converted as if by {@link #getValue(EvaluationContext, Class)}.
+     * <p>The default implementation delegates to that method. Implementations may
+     * avoid boxing and converting the result.
+     *
+     * @param context the context in which to evaluate the expression
+     * @return the evaluation result
+     * @throws EvaluationException if there is a problem during evaluation, or if
+     *                             the result is {@code null} or cannot be converted
+     * @since 5.2.9
+     */
+    default long getLongValue(EvaluationContext context) throws EvaluationException {
+        return getValue(context, long.class);
+    }
+
+    /**
+     * Evaluate the expression in a specified context against the specified root
+     * object and return the result as a {@code long}. A result that is not
+     * a {@code long} is converted as if by
+     * {@link #getValue(EvaluationContext, Object, Class)}.
+     * <p>The default implementation delegates to that method. Implementations may
+     * avoid boxing and converting the result.
+     *
+     * @param context    the context in which to evaluate the expression
+     * @param rootObject the root object against which to evaluate the expression
+     * @return the evaluation result
+     * @throws EvaluationException if there is a problem during evaluation, or if
+     *                             the result is {@code null} or cannot be converted
+     * @since 5.2.9
+     */
+    default long getLongValue(EvaluationContext context, Object rootObject) throws EvaluationException {
+        return getValue(context, rootObject, long.class);
+    }
+
+    /**
+     * Evaluate the expression in a specified context and return the result as
+     * a {@code double}. A result that is not a {@code double} is
+     * converted as if by {@link #getValue(EvaluationContext, Class)}.
+     * <p>The default implementation delegates to that method. Implementations may
+     * avoid boxing and converting the result.
+     *
+     * @param context the context in which to evaluate the expression
+     * @return the evaluation result
+     * @throws EvaluationException if there is a problem during evaluation, or if
+     *                             the result is {@code null} or cannot be converted
+     * @since 5.2.9
+     */
+    default double getDoubleValue(EvaluationContext context) throws EvaluationException {
+        return getValue(context, double.class);
+    }
+
+    /**
+     * Evaluate the expression in a specified context against the specified root
+     * object and return the result as a {@code double}. A result that is not
+     * a {@code double} is converted as if by
+     * {@link #getValue(EvaluationContext, Object, Class)}.
+     * <p>The default implementation delegates to that method. Implementations may
+     * avoid boxing and converting the result.
+     *
+     * @param context    the context in which to evaluate the expression
+     * @param rootObject the root object against which to evaluate the expression
+     * @return the evaluation result
+     * @throws EvaluationException if there is a problem during evaluation, or if
+     *                             the result is {@code null} or cannot be converted
+     * @since 5.2.9
+     */
+    default double getDoubleValue(EvaluationContext context, Object rootObject) throws EvaluationException {
+        return getValue(context, rootObject, double.class);
+    }
+
     /**
      * Return the most general type that can be passed to a {@link #setValue}
      * method using the default context.
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.imsejin.expression.common;
+
+import io.github.imsejin.expression.Expression;
+import io.github.imsejin.expression.ExpressionParser;
+import io.github.imsejin.expression.ParseException;
+import io.github.imsejin.expression.ParserContext;
+import io.github.imsejin.expression.util.Assert;
+import io.github.imsejin.expression.util.ConcurrentClockCache;
+import io.github.imsejin.expression.util.ObjectUtils;
+
+/**
+ * An {@link ExpressionParser} decorator that caches parsed expressions by expression
+ * string and {@link ParserContext} (template flag, prefix and suffix). Instances are
+ * thread-safe.
+ *
+ * <p>Callers that parse the same expression string over and over share a single
+ * {@link Expression} instance, along with the accessor caches held in its AST and its
+ * compiled form, if any. As a consequence, any state set on a returned expression
+ * (such as a default evaluation context) is shared by all callers as well.
+ *
+ * <p>The cache is bounded. Once the limit is exceeded, entries are evicted in
+ * approximate least-recently-used order, as described for {@link ConcurrentClockCache}.
+ *
+ * @author imsejin
+ * @since 5.2.9
+ */
+public class CachingExpressionParser implements ExpressionParser {
+
+    /**
+     * The default maximum number of cached expressions.
+     */
+    public static final int DEFAULT_CACHE_LIMIT = 1024;
+
+
+    private final ExpressionParser parser;
+
+    private final ConcurrentClockCache<CacheKey, Expression> cache;
+
+
+    /**
+     * Create a caching parser for the given parser, holding up to
+     * {@link #DEFAULT_CACHE_LIMIT} expressions.
+     *
+     * @param parser the parser to delegate to on a cache miss
+     */
+    public CachingExpressionParser(ExpressionParser parser) {
+        this(parser, DEFAULT_CACHE_LIMIT);
+    }
+
+    /**
+     * Create a caching parser for the given parser.
+     *
+     * @param parser     the parser to delegate to on a cache miss
+     * @param cacheLimit the maximum number of cached expressions
+     */
+    public CachingExpressionParser(ExpressionParser parser, int cacheLimit) {
+        Assert.notNull(parser, "ExpressionParser must not be null");
+        this.parser = parser;
+        this.cache = new ConcurrentClockCache<>(cacheLimit);
+    }
+
+
+    @Override
+    public Expression parseExpression(String expressionString) throws ParseException {
+        return parseExpression(expressionString, null);
+    }
+
+    @Override
+    public Expression parseExpression(String expressionString, ParserContext context) throws ParseException {
+        Assert.notNull(expressionString, "Expression string must not be null");
+        CacheKey key = new CacheKey(expressionString, context);
+        Expression expression = this.cache.get(key);
+        if (expression == null) {
+            // If parsed concurrently by another thread, its instance is shared
+            expression = this.cache.put(key, this.parser.parseExpression(expressionString, context));
+        }
+        return expression;
+    }
+
+    /**
+     * Remove all cached expressions. The statistics are retained.
+     */
+    public void clearCache() {
+        this.cache.clear();
+    }
+
+    /**
+     * Return the number of currently cached expressions.
+     */
+    public int getCacheSize() {
+        return this.cache.size();
+    }
+
+    /**
+     * Return the maximum number of cached expressions.
+     */
+    public int getCacheLimit() {
+        return this.cache.sizeLimit();
+    }
+
+    /**
+     * Return how many times a parsed expression was served from the cache.
+     */
+    public long getHitCount() {
+        return this.cache.getHitCount();
+    }
+
+    /**
+     * Return how many times an expression had to be parsed.
+     */
+    public long getMissCount() {
+        return this.cache.getMissCount();
+    }
+
+    /**
+     * Return how many expressions have been evicted to stay within the cache limit.
+     */
+    public long getEvictionCount() {
+        return this.cache.getEvictionCount();
+    }
+
+    @Override
+    public String toString() {
+        return "CachingExpressionParser [size = " + getCacheSize() + ", limit = " + getCacheLimit() +
+                ", hits = " + getHitCount() + ", misses = " + getMissCount() +
+                ", evictions = " + getEvictionCount() + "]";
+    }
+
+
+    private static final class CacheKey {
+
+        private final String expressionString;
+
+        private final boolean template;
+
+        private final String prefix;
+
+        private final String suffix;
+
+        public CacheKey(String expressionString, ParserContext context) {
+            this.expressionString = expressionString;
+            this.template = (context != null && context.isTemplate());
+            this.prefix = (this.template ? context.getExpressionPrefix() : null);
+            this.suffix = (this.template ? context.getExpressionSuffix() : null);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey otherKey = (CacheKey) other;
+            return (this.expressionString.equals(otherKey.expressionString) && this.template == otherKey.template &&
+                    ObjectUtils.nullSafeEquals(this.prefix, otherKey.prefix) &&
+                    ObjectUtils.nullSafeEquals(this.suffix, otherKey.suffix));
+        }
+
+        @Override
+        public int hashCode() {
+            return (this.expressionString.hashCode() * 29 + ObjectUtils.nullSafeHashCode(this.prefix)) * 29 +
+                    ObjectUtils.nullSafeHashCode(this.suffix);
+        }
+    }
+
+
+}
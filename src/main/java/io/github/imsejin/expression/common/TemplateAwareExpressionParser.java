@@ -33,6 +33,7 @@ import java.util.List;
  * @author Keith Donald
  * @author Juergen Hoeller
  * @author Andy Clement
+ * @author imsejin
  * @since 3.0
  */
 public abstract class TemplateAwareExpressionParser implements ExpressionParser {
@@ -60,10 +61,26 @@ public abstract class TemplateAwareExpressionParser implements ExpressionParser
         if (expressions.length == 1) {
             return expressions[0];
         } else {
-            return new CompositeStringExpression(expressionString, expressions);
+            return createCompositeExpression(expressionString, expressions);
         }
     }
 
+    /**
+     * Create the expression for a template that consists of several parts.
+     * <p>The default implementation returns a {@link CompositeStringExpression}.
+     * Subclasses may return a specialized subclass of it, e.g. one that evaluates
+     * the parts more efficiently than one by one.
+     *
+     * @param expressionString the template
+     * @param expressions      the parsed parts of the template, literal text being
+     *                         represented by {@link LiteralExpression} instances
+     * @return the composite expression
+     * @since 5.2.9
+     */
+    protected CompositeStringExpression createCompositeExpression(String expressionString, Expression[] expressions) {
+        return new CompositeStringExpression(expressionString, expressions);
+    }
+
     /**
      * Helper that parses given expression string using the configured parser. The
      * expression string can contain any number of expressions all contained in "${...}"
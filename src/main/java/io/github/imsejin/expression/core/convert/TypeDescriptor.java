@@ -21,6 +21,7 @@ import io.github.imsejin.expression.core.ResolvableType;
 import io.github.imsejin.expression.core.annotation.AnnotatedElementUtils;
 import io.github.imsejin.expression.util.Assert;
 import io.github.imsejin.expression.util.ClassUtils;
+import io.github.imsejin.expression.util.ConcurrentReferenceHashMap;
 import io.github.imsejin.expression.util.ObjectUtils;
 
 import java.io.Serializable;
@@ -44,6 +45,7 @@ import java.util.stream.Stream;
  * @author Phillip Webb
  * @author Sam Brannen
  * @author Stephane Nicoll
+ * @author imsejin
  * @see ConversionService#canConvert(TypeDescriptor, TypeDescriptor)
  * @see ConversionService#convert(Object, TypeDescriptor, TypeDescriptor)
  * @since 3.0
@@ -55,6 +57,13 @@ public class TypeDescriptor implements Serializable {
 
     private static final Map<Class<?>, TypeDescriptor> commonTypesCache = new HashMap<>(32);
 
+    /**
+     * Descriptors for any other class. Held through soft references, since each
+     * descriptor refers to its own class and would otherwise keep it from being
+     * unloaded.
+     */
+    private static final Map<Class<?>, TypeDescriptor> classTypesCache = new ConcurrentReferenceHashMap<>(256);
+
     private static final Class<?>[] CACHED_COMMON_TYPES = {
             boolean.class, Boolean.class, byte.class, Byte.class, char.class, Character.class,
             double.class, Double.class, float.class, Float.class, int.class, Integer.class,
@@ -152,6 +161,7 @@ public class TypeDescriptor implements Serializable {
      * field is available to provide additional conversion context.
      * <p>Generally prefer use of {@link #forObject(Object)} for constructing type
      * descriptors from source objects, as it handles the {@code null} object case.
+     * <p>As of 5.2.9, the returned descriptor is cached and shared per class.
      *
      * @param type the class (may be {@code null} to indicate {@code Object.class})
      * @return the corresponding type descriptor
@@ -161,7 +171,14 @@ public class TypeDescriptor implements Serializable {
             type = Object.class;
         }
         TypeDescriptor desc = commonTypesCache.get(type);
-        return (desc != null ? desc : new TypeDescriptor(ResolvableType.forClass(type), null, null));
+        if (desc == null) {
+            desc = classTypesCache.get(type);
+            if (desc == null) {
+                desc = new TypeDescriptor(ResolvableType.forClass(type), null, null);
+                classTypesCache.put(type, desc);
+            }
+        }
+        return desc;
     }
 
     /**
@@ -438,6 +455,18 @@ public class TypeDescriptor implements Serializable {
         return getType().isPrimitive();
     }
 
+    /**
+     * Determine whether this type descriptor carries no conversion context beyond
+     * its {@link #getType() type}: no annotations, and neither a generic nor a
+     * narrowed declaration. Such a descriptor is interchangeable with the one
+     * returned by {@link #valueOf(Class)} for the same type.
+     *
+     * @since 5.2.9
+     */
+    public boolean isPlain() {
+        return (this.annotatedElement.isEmpty() && this.resolvableType.getType() == this.type);
+    }
+
     /**
      * Return the annotations associated with this type descriptor, if any.
      *
@@ -19,20 +19,20 @@ package io.github.imsejin.expression.core.convert.support;
 import io.github.imsejin.expression.core.convert.ConversionService;
 import io.github.imsejin.expression.core.convert.TypeDescriptor;
 import io.github.imsejin.expression.core.convert.converter.ConditionalGenericConverter;
-import io.github.imsejin.expression.util.ObjectUtils;
+import io.github.imsejin.expression.util.Assert;
 
-import java.util.Arrays;
+import java.lang.reflect.Array;
 import java.util.Collections;
-import java.util.List;
 import java.util.Set;
 
 /**
- * Converts an array to another array. First adapts the source array to a List,
- * then delegates to {@link CollectionToArrayConverter} to perform the target
- * array conversion.
+ * Converts an array to another array. Returns the source array if its elements do
+ * not need to be converted; otherwise converts each element into a new array of the
+ * target component type, matching like {@link CollectionToArrayConverter}.
  *
  * @author Keith Donald
  * @author Phillip Webb
+ * @author imsejin
  * @since 3.0
  */
 final class ArrayToArrayConverter implements ConditionalGenericConverter {
@@ -68,8 +68,20 @@ final class ArrayToArrayConverter implements ConditionalGenericConverter {
                 return source;
             }
         }
-        List<Object> sourceList = Arrays.asList(ObjectUtils.toObjectArray(source));
-        return this.helperConverter.convert(sourceList, sourceType, targetType);
+        if (source == null) {
+            return null;
+        }
+        TypeDescriptor targetElementType = targetType.getElementTypeDescriptor();
+        Assert.state(targetElementType != null, "No target element type");
+        int length = Array.getLength(source);
+        Object array = Array.newInstance(targetElementType.getType(), length);
+        ElementConverter elementConverter =
+                new ElementConverter(this.conversionService, sourceType::elementTypeDescriptor, targetElementType);
+        for (int i = 0; i < length; i++) {
+            Object targetElement = elementConverter.convert(ConversionUtils.getArrayElement(source, i));
+            ConversionUtils.setArrayElement(array, i, targetElement);
+        }
+        return array;
     }
 
 }
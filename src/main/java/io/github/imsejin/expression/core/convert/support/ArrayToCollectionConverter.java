@@ -22,6 +22,7 @@ import io.github.imsejin.expression.core.convert.TypeDescriptor;
 import io.github.imsejin.expression.core.convert.converter.ConditionalGenericConverter;
 
 import java.lang.reflect.Array;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Set;
@@ -36,6 +37,7 @@ import java.util.Set;
  *
  * @author Keith Donald
  * @author Juergen Hoeller
+ * @author imsejin
  * @since 3.0
  */
 final class ArrayToCollectionConverter implements ConditionalGenericConverter {
@@ -71,16 +73,19 @@ final class ArrayToCollectionConverter implements ConditionalGenericConverter {
                 (elementDesc != null ? elementDesc.getType() : null), length);
 
         if (elementDesc == null) {
-            for (int i = 0; i < length; i++) {
-                Object sourceElement = Array.get(source, i);
-                target.add(sourceElement);
+            if (source instanceof Object[]) {
+                target.addAll(Arrays.asList((Object[]) source));
+            } else {
+                for (int i = 0; i < length; i++) {
+                    target.add(Array.get(source, i));
+                }
             }
         } else {
+            ElementConverter elementConverter =
+                    new ElementConverter(this.conversionService, sourceType::elementTypeDescriptor, elementDesc);
             for (int i = 0; i < length; i++) {
-                Object sourceElement = Array.get(source, i);
-                Object targetElement = this.conversionService.convert(sourceElement,
-                        sourceType.elementTypeDescriptor(sourceElement), elementDesc);
-                target.add(targetElement);
+                Object sourceElement = ConversionUtils.getArrayElement(source, i);
+                target.add(elementConverter.convert(sourceElement));
             }
         }
         return target;
@@ -36,6 +36,7 @@ import java.util.Set;
  *
  * @author Keith Donald
  * @author Juergen Hoeller
+ * @author imsejin
  * @since 3.0
  */
 final class CollectionToArrayConverter implements ConditionalGenericConverter {
@@ -66,13 +67,23 @@ final class CollectionToArrayConverter implements ConditionalGenericConverter {
         TypeDescriptor targetElementType = targetType.getElementTypeDescriptor();
         Assert.state(targetElementType != null, "No target element type");
         Object array = Array.newInstance(targetElementType.getType(), sourceCollection.size());
+        if (array instanceof Object[] && canBypassElementConversion(sourceType, targetElementType)) {
+            return sourceCollection.toArray((Object[]) array);
+        }
+        ElementConverter elementConverter =
+                new ElementConverter(this.conversionService, sourceType::elementTypeDescriptor, targetElementType);
         int i = 0;
         for (Object sourceElement : sourceCollection) {
-            Object targetElement = this.conversionService.convert(sourceElement,
-                    sourceType.elementTypeDescriptor(sourceElement), targetElementType);
-            Array.set(array, i++, targetElement);
+            Object targetElement = elementConverter.convert(sourceElement);
+            ConversionUtils.setArrayElement(array, i++, targetElement);
         }
         return array;
     }
 
+    private boolean canBypassElementConversion(TypeDescriptor sourceType, TypeDescriptor targetElementType) {
+        TypeDescriptor sourceElementType = sourceType.getElementTypeDescriptor();
+        return (sourceElementType != null && this.conversionService instanceof GenericConversionService &&
+                ((GenericConversionService) this.conversionService).canBypassConvert(sourceElementType, targetElementType));
+    }
+
 }
@@ -35,6 +35,7 @@ import java.util.Set;
  *
  * @author Keith Donald
  * @author Juergen Hoeller
+ * @author imsejin
  * @since 3.0
  */
 final class CollectionToCollectionConverter implements ConditionalGenericConverter {
@@ -69,7 +70,8 @@ final class CollectionToCollectionConverter implements ConditionalGenericConvert
             return source;
         }
         TypeDescriptor elementDesc = targetType.getElementTypeDescriptor();
-        if (elementDesc == null && !copyRequired) {
+        boolean convertElements = (elementDesc != null && !canBypassElementConversion(sourceType, elementDesc));
+        if (!convertElements && !copyRequired) {
             return source;
         }
 
@@ -77,12 +79,13 @@ final class CollectionToCollectionConverter implements ConditionalGenericConvert
         Collection<Object> target = CollectionFactory.createCollection(targetType.getType(),
                 (elementDesc != null ? elementDesc.getType() : null), sourceCollection.size());
 
-        if (elementDesc == null) {
+        if (!convertElements) {
             target.addAll(sourceCollection);
         } else {
+            ElementConverter elementConverter =
+                    new ElementConverter(this.conversionService, sourceType::elementTypeDescriptor, elementDesc);
             for (Object sourceElement : sourceCollection) {
-                Object targetElement = this.conversionService.convert(sourceElement,
-                        sourceType.elementTypeDescriptor(sourceElement), elementDesc);
+                Object targetElement = elementConverter.convert(sourceElement);
                 target.add(targetElement);
                 if (sourceElement != targetElement) {
                     copyRequired = true;
@@ -93,4 +96,10 @@ final class CollectionToCollectionConverter implements ConditionalGenericConvert
         return (copyRequired ? target : source);
     }
 
+    private boolean canBypassElementConversion(TypeDescriptor sourceType, TypeDescriptor targetElementType) {
+        TypeDescriptor sourceElementType = sourceType.getElementTypeDescriptor();
+        return (sourceElementType != null && this.conversionService instanceof GenericConversionService &&
+                ((GenericConversionService) this.conversionService).canBypassConvert(sourceElementType, targetElementType));
+    }
+
 }
@@ -23,11 +23,14 @@ import io.github.imsejin.expression.core.convert.converter.GenericConverter;
 import io.github.imsejin.expression.util.Assert;
 import io.github.imsejin.expression.util.ClassUtils;
 
+import java.lang.reflect.Array;
+
 /**
  * Internal utilities for the conversion package.
  *
  * @author Keith Donald
  * @author Stephane Nicoll
+ * @author imsejin
  * @since 3.0
  */
 abstract class ConversionUtils {
@@ -64,6 +67,37 @@ abstract class ConversionUtils {
         // no
     }
 
+    /**
+     * Read an element of the given array, without going through reflection
+     * for an {@code Object[]}.
+     */
+    public static Object getArrayElement(Object array, int index) {
+        if (array instanceof Object[]) {
+            return ((Object[]) array)[index];
+        }
+        return Array.get(array, index);
+    }
+
+    /**
+     * Store an element into the given array, unboxing it directly into the most
+     * common primitive array types rather than through reflection.
+     */
+    public static void setArrayElement(Object array, int index, Object element) {
+        if (array instanceof Object[]) {
+            ((Object[]) array)[index] = element;
+        } else if (array instanceof int[] && element instanceof Integer) {
+            ((int[]) array)[index] = (Integer) element;
+        } else if (array instanceof long[] && element instanceof Long) {
+            ((long[]) array)[index] = (Long) element;
+        } else if (array instanceof double[] && element instanceof Double) {
+            ((double[]) array)[index] = (Double) element;
+        } else if (array instanceof boolean[] && element instanceof Boolean) {
+            ((boolean[]) array)[index] = (Boolean) element;
+        } else {
+            Array.set(array, index, element);
+        }
+    }
+
     public static Class<?> getEnumType(Class<?> targetType) {
         Class<?> enumType = targetType;
         while (enumType != null && !enumType.isEnum()) {
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.imsejin.expression.core.convert.support;
+
+import io.github.imsejin.expression.core.convert.ConversionService;
+import io.github.imsejin.expression.core.convert.TypeDescriptor;
+import io.github.imsejin.expression.core.convert.converter.GenericConverter;
+
+import java.util.function.Function;
+
+/**
+ * Converts the elements of a single collection, array or map to a common target type.
+ *
+ * <p>The source type descriptor and, for a {@link GenericConversionService}, the
+ * converter are resolved for the class of the first element and reused for as long as
+ * the following elements are of the same class, which they usually are. A full lookup
+ * is only repeated when the element class changes.
+ *
+ * <p>Instances are not thread-safe: create one per conversion.
+ *
+ * @author imsejin
+ * @since 5.2.9
+ */
+final class ElementConverter {
+
+    private final ConversionService conversionService;
+
+    private final Function<Object, TypeDescriptor> sourceTypeResolver;
+
+    private final TypeDescriptor targetType;
+
+    private Class<?> elementClass;
+
+    private TypeDescriptor sourceType;
+
+    private GenericConverter converter;
+
+
+    /**
+     * Create a new element converter.
+     *
+     * @param conversionService  the conversion service to delegate to
+     * @param sourceTypeResolver resolves the source type descriptor for a given element,
+     *                           e.g. {@link TypeDescriptor#elementTypeDescriptor(Object)}
+     * @param targetType         the type to convert each element to
+     */
+    ElementConverter(ConversionService conversionService,
+                     Function<Object, TypeDescriptor> sourceTypeResolver, TypeDescriptor targetType) {
+
+        this.conversionService = conversionService;
+        this.sourceTypeResolver = sourceTypeResolver;
+        this.targetType = targetType;
+    }
+
+
+    /**
+     * Convert the given element to the target type.
+     */
+    Object convert(Object sourceElement) {
+        if (sourceElement == null) {
+            return this.conversionService.convert(null, this.sourceTypeResolver.apply(null), this.targetType);
+        }
+        Class<?> elementClass = sourceElement.getClass();
+        if (elementClass != this.elementClass) {
+            this.sourceType = this.sourceTypeResolver.apply(sourceElement);
+            if (this.conversionService instanceof GenericConversionService) {
+                this.converter = ((GenericConversionService) this.conversionService).getConverter(
+                        this.sourceType, this.targetType);
+            }
+            this.elementClass = elementClass;
+        }
+        if (this.conversionService instanceof GenericConversionService) {
+            return ((GenericConversionService) this.conversionService).convert(
+                    sourceElement, this.sourceType, this.targetType, this.converter);
+        }
+        return this.conversionService.convert(sourceElement, this.sourceType, this.targetType);
+    }
+
+}
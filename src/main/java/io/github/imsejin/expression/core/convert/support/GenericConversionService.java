@@ -39,6 +39,7 @@ import java.util.*;
  * @author Chris Beams
  * @author Phillip Webb
  * @author David Haraburda
+ * @author imsejin
  * @since 3.0
  */
 public class GenericConversionService implements ConfigurableConversionService {
@@ -59,6 +60,14 @@ public class GenericConversionService implements ConfigurableConversionService {
 
     private final Map<ConverterCacheKey, GenericConverter> converterCache = new ConcurrentReferenceHashMap<>(64);
 
+    /**
+     * Converters for {@linkplain TypeDescriptor#isPlain() plain} type descriptors,
+     * keyed by source class and then by target class, so that a lookup for the
+     * common case neither allocates a key nor compares type descriptors.
+     */
+    private final Map<Class<?>, Map<Class<?>, GenericConverter>> classConverterCache =
+            new ConcurrentReferenceHashMap<>(64);
+
 
     // ConverterRegistry implementation
 
@@ -166,6 +175,12 @@ public class GenericConversionService implements ConfigurableConversionService {
             throw new IllegalArgumentException("Source to convert from must be an instance of [" +
                     sourceType + "]; instead it was a [" + source.getClass().getName() + "]");
         }
+        if (source != null && sourceType.isPlain() && targetType.isPlain() &&
+                targetType.getType().isInstance(source) &&
+                getCachedConverter(sourceType.getType(), targetType.getType()) == NO_OP_CONVERTER) {
+            // Already an instance of the target class, with no converter registered in between
+            return source;
+        }
         GenericConverter converter = getConverter(sourceType, targetType);
         if (converter != null) {
             Object result = ConversionUtils.invokeConverter(converter, source, sourceType, targetType);
@@ -174,6 +189,27 @@ public class GenericConversionService implements ConfigurableConversionService {
         return handleConverterNotFound(source, sourceType, targetType);
     }
 
+    /**
+     * Convert the given source object with a converter previously obtained from
+     * {@link #getConverter} for the same source and target type, e.g. once for all
+     * elements of the same class in a collection.
+     *
+     * @param source     the source object, an instance of the source type
+     * @param sourceType the source type to convert from
+     * @param targetType the target type to convert to
+     * @param converter  the converter for the source and target type,
+     *                   or {@code null} if none was found
+     * @return the converted value
+     * @since 5.2.9
+     */
+    Object convert(Object source, TypeDescriptor sourceType, TypeDescriptor targetType, GenericConverter converter) {
+        if (converter != null) {
+            Object result = ConversionUtils.invokeConverter(converter, source, sourceType, targetType);
+            return handleResult(sourceType, targetType, result);
+        }
+        return handleConverterNotFound(source, sourceType, targetType);
+    }
+
     /**
      * Convenience operation for converting a source object to the specified targetType,
      * where the target type is a descriptor that provides additional conversion context.
@@ -231,24 +267,32 @@ public class GenericConversionService implements ConfigurableConversionService {
      * @see #getDefaultConverter(TypeDescriptor, TypeDescriptor)
      */
     protected GenericConverter getConverter(TypeDescriptor sourceType, TypeDescriptor targetType) {
-        ConverterCacheKey key = new ConverterCacheKey(sourceType, targetType);
-        GenericConverter converter = this.converterCache.get(key);
-        if (converter != null) {
-            return (converter != NO_MATCH ? converter : null);
+        boolean plain = (sourceType.isPlain() && targetType.isPlain());
+        if (plain) {
+            GenericConverter converter = getCachedConverter(sourceType.getType(), targetType.getType());
+            if (converter != null) {
+                return (converter != NO_MATCH ? converter : null);
+            }
         }
 
-        converter = this.converters.find(sourceType, targetType);
+        ConverterCacheKey key = new ConverterCacheKey(sourceType, targetType);
+        GenericConverter converter = this.converterCache.get(key);
         if (converter == null) {
-            converter = getDefaultConverter(sourceType, targetType);
-        }
-
-        if (converter != null) {
+            converter = this.converters.find(sourceType, targetType);
+            if (converter == null) {
+                converter = getDefaultConverter(sourceType, targetType);
+            }
+            if (converter == null) {
+                converter = NO_MATCH;
+            }
             this.converterCache.put(key, converter);
-            return converter;
         }
 
-        this.converterCache.put(key, NO_MATCH);
-        return null;
+        if (plain) {
+            this.classConverterCache.computeIfAbsent(sourceType.getType(), k -> new ConcurrentReferenceHashMap<>(8))
+                    .put(targetType.getType(), converter);
+        }
+        return (converter != NO_MATCH ? converter : null);
     }
 
     /**
@@ -281,8 +325,14 @@ public class GenericConversionService implements ConfigurableConversionService {
         return generics;
     }
 
+    private GenericConverter getCachedConverter(Class<?> sourceClass, Class<?> targetClass) {
+        Map<Class<?>, GenericConverter> convertersForSource = this.classConverterCache.get(sourceClass);
+        return (convertersForSource != null ? convertersForSource.get(targetClass) : null);
+    }
+
     private void invalidateCache() {
         this.converterCache.clear();
+        this.classConverterCache.clear();
     }
 
     private Object handleConverterNotFound(
@@ -33,6 +33,7 @@ import java.util.*;
  *
  * @author Keith Donald
  * @author Juergen Hoeller
+ * @author imsejin
  * @since 3.0
  */
 final class MapToMapConverter implements ConditionalGenericConverter {
@@ -69,12 +70,17 @@ final class MapToMapConverter implements ConditionalGenericConverter {
         TypeDescriptor keyDesc = targetType.getMapKeyTypeDescriptor();
         TypeDescriptor valueDesc = targetType.getMapValueTypeDescriptor();
 
+        ElementConverter keyConverter = (keyDesc != null ?
+                new ElementConverter(this.conversionService, sourceType::getMapKeyTypeDescriptor, keyDesc) : null);
+        ElementConverter valueConverter = (valueDesc != null ?
+                new ElementConverter(this.conversionService, sourceType::getMapValueTypeDescriptor, valueDesc) : null);
+
         List<MapEntry> targetEntries = new ArrayList<>(sourceMap.size());
         for (Map.Entry<Object, Object> entry : sourceMap.entrySet()) {
             Object sourceKey = entry.getKey();
             Object sourceValue = entry.getValue();
-            Object targetKey = convertKey(sourceKey, sourceType, keyDesc);
-            Object targetValue = convertValue(sourceValue, sourceType, valueDesc);
+            Object targetKey = (keyConverter != null ? keyConverter.convert(sourceKey) : sourceKey);
+            Object targetValue = (valueConverter != null ? valueConverter.convert(sourceValue) : sourceValue);
             targetEntries.add(new MapEntry(targetKey, targetValue));
             if (sourceKey != targetKey || sourceValue != targetValue) {
                 copyRequired = true;
@@ -106,20 +112,6 @@ final class MapToMapConverter implements ConditionalGenericConverter {
                 targetType.getMapValueTypeDescriptor(), this.conversionService);
     }
 
-    private Object convertKey(Object sourceKey, TypeDescriptor sourceType, TypeDescriptor targetType) {
-        if (targetType == null) {
-            return sourceKey;
-        }
-        return this.conversionService.convert(sourceKey, sourceType.getMapKeyTypeDescriptor(sourceKey), targetType);
-    }
-
-    private Object convertValue(Object sourceValue, TypeDescriptor sourceType, TypeDescriptor targetType) {
-        if (targetType == null) {
-            return sourceValue;
-        }
-        return this.conversionService.convert(sourceValue, sourceType.getMapValueTypeDescriptor(sourceValue), targetType);
-    }
-
 
     private static class MapEntry {
 
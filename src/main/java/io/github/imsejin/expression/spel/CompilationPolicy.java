@@ -0,0 +1,68 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.imsejin.expression.spel;
+
+/**
+ * Strategy that decides when a {@link SpelCompilerMode#IMMEDIATE IMMEDIATE} or
+ * {@link SpelCompilerMode#MIXED MIXED} mode expression gets compiled, and when the
+ * compiler gives up on it. This allows tuning how eagerly expressions are compiled
+ * against the CPU time and metaspace spent on the generated classes.
+ *
+ * <p>A compiled expression is <em>deoptimized</em> when it fails at runtime in
+ * {@code MIXED} mode: its compiled form is discarded and it is interpreted again
+ * until the policy decides to recompile it.
+ *
+ * <p>Implementations must be thread-safe, as they are consulted on every interpreted
+ * evaluation of every expression parsed with a given {@link SpelParserConfiguration}.
+ *
+ * @author imsejin
+ * @since 5.2.9
+ * @see SpelParserConfiguration#getCompilationPolicy()
+ * @see io.github.imsejin.expression.spel.support.StandardCompilationPolicy
+ */
+public interface CompilationPolicy {
+
+    /**
+     * Determine whether an expression should now be compiled.
+     *
+     * @param compilerMode        the compiler mode, never {@link SpelCompilerMode#OFF OFF}
+     * @param interpretedCount    the number of times the expression has been interpreted,
+     *                            since it was parsed or last deoptimized
+     * @param deoptimizationCount the number of times the compiled form of the
+     *                            expression has been discarded
+     * @return whether to compile the expression
+     */
+    boolean shouldCompile(SpelCompilerMode compilerMode, int interpretedCount, int deoptimizationCount);
+
+    /**
+     * Determine whether compilation of an expression should be attempted again,
+     * after it has failed the given number of times.
+     *
+     * @param failedAttempts the number of failed compilation attempts
+     * @return whether to try compiling the expression again
+     */
+    boolean shouldRetryCompilation(int failedAttempts);
+
+    /**
+     * Return the maximum number of expression classes that a single
+     * {@link io.github.imsejin.expression.spel.standard.SpelCompiler SpelCompiler}
+     * (i.e. a single compiler class loader) may define, or {@code -1} for no limit.
+     * Once the budget has been spent, further expressions stay interpreted.
+     */
+    int getMaxClassesDefined();
+
+}
@@ -18,13 +18,21 @@ package io.github.imsejin.expression.spel;
 
 import io.github.imsejin.expression.EvaluationContext;
 import io.github.imsejin.expression.EvaluationException;
+import io.github.imsejin.expression.TypedValue;
+import io.github.imsejin.expression.common.ExpressionUtils;
 
 /**
  * Base superclass for compiled expressions. Each generated compiled expression class
  * will extend this class and implement the {@link #getValue} method. It is not intended
  * to be subclassed by user code.
  *
+ * <p>If the expression yields a primitive {@code boolean}, {@code int}, {@code long}
+ * or {@code double}, the generated class also overrides the corresponding
+ * {@code getXxxValue} method, which returns the result without boxing it, and
+ * {@link #getPrimitiveResultDescriptor()}.
+ *
  * @author Andy Clement
+ * @author imsejin
  * @since 4.1
  */
 public abstract class CompiledExpression {
@@ -36,4 +44,72 @@ public abstract class CompiledExpression {
     public abstract Object getValue(Object target, EvaluationContext context)
             throws EvaluationException;
 
+    /**
+     * Return the descriptor of the primitive type that the generated class returns
+     * from its {@code getXxxValue} method without boxing it: {@code "Z"}, {@code "I"},
+     * {@code "J"} or {@code "D"}; or {@code null} if the expression does not yield
+     * a value of one of these types.
+     *
+     * @since 5.2.9
+     */
+    public String getPrimitiveResultDescriptor() {
+        return null;
+    }
+
+    /**
+     * Evaluate the expression and return its result as a {@code boolean}.
+     * <p>The default implementation converts the result of {@link #getValue}.
+     *
+     * @since 5.2.9
+     */
+    public boolean getBooleanValue(Object target, EvaluationContext context) throws EvaluationException {
+        Object result = getValue(target, context);
+        if (result instanceof Boolean) {
+            return (Boolean) result;
+        }
+        return ExpressionUtils.convertTypedValue(context, new TypedValue(result), boolean.class);
+    }
+
+    /**
+     * Evaluate the expression and return its result as an {@code int}.
+     * <p>The default implementation converts the result of {@link #getValue}.
+     *
+     * @since 5.2.9
+     */
+    public int getIntValue(Object target, EvaluationContext context) throws EvaluationException {
+        Object result = getValue(target, context);
+        if (result instanceof Integer) {
+            return (Integer) result;
+        }
+        return ExpressionUtils.convertTypedValue(context, new TypedValue(result), int.class);
+    }
+
+    /**
+     * Evaluate the expression and return its result as a {@code long}.
+     * <p>The default implementation converts the result of {@link #getValue}.
+     *
+     * @since 5.2.9
+     */
+    public long getLongValue(Object target, EvaluationContext context) throws EvaluationException {
+        Object result = getValue(target, context);
+        if (result instanceof Long) {
+            return (Long) result;
+        }
+        return ExpressionUtils.convertTypedValue(context, new TypedValue(result), long.class);
+    }
+
+    /**
+     * Evaluate the expression and return its result as a {@code double}.
+     * <p>The default implementation converts the result of {@link #getValue}.
+     *
+     * @since 5.2.9
+     */
+    public double getDoubleValue(Object target, EvaluationContext context) throws EvaluationException {
+        Object result = getValue(target, context);
+        if (result instanceof Double) {
+            return (Double) result;
+        }
+        return ExpressionUtils.convertTypedValue(context, new TypedValue(result), double.class);
+    }
+
 }
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.imsejin.expression.spel;
+
+import io.github.imsejin.expression.EvaluationContext;
+import io.github.imsejin.expression.EvaluationException;
+import io.github.imsejin.expression.TypedValue;
+import io.github.imsejin.expression.common.ExpressionUtils;
+
+import java.io.IOException;
+
+/**
+ * Base superclass for compiled template expressions. Each generated class appends the
+ * literal text and the values of the embedded expressions of one template to a target
+ * in a single method, implementing {@link #appendTo}. It is not intended to be
+ * subclassed by user code.
+ *
+ * @author imsejin
+ * @since 5.2.9
+ * @see CompiledExpression
+ */
+public abstract class CompiledTemplate {
+
+    /**
+     * Subclasses of CompiledTemplate generated by SpelCompiler will provide an
+     * implementation of this method.
+     */
+    public abstract void appendTo(Object target, EvaluationContext context, Appendable out)
+            throws IOException, EvaluationException;
+
+    /**
+     * Convert the value of an embedded expression to a String through the type
+     * converter of the given context and append it, unless it is {@code null}.
+     * Called by the generated code.
+     *
+     * @param value   the value of the embedded expression
+     * @param context the evaluation context
+     * @param out     the target to append to
+     */
+    public static void appendValue(Object value, EvaluationContext context, Appendable out) throws IOException {
+        String text = ExpressionUtils.convertTypedValue(context, new TypedValue(value), String.class);
+        if (text != null) {
+            out.append(text);
+        }
+    }
+
+}
@@ -19,9 +19,10 @@ package io.github.imsejin.expression.spel;
 import io.github.imsejin.expression.*;
 import io.github.imsejin.expression.core.convert.TypeDescriptor;
 import io.github.imsejin.expression.util.Assert;
-import io.github.imsejin.expression.util.CollectionUtils;
 
-import java.util.*;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 
 /**
  * An ExpressionState is for maintaining per-expression-evaluation state, any changes to
@@ -34,30 +35,62 @@ import java.util.*;
  * <p>It also acts as a place for to define common utility routines that the various AST
  * nodes might need.
  *
+ * <p>Context objects, scope root objects and local variables are held in array-backed
+ * stacks, local variables of all nested scopes sharing one flat pair of arrays. A state
+ * obtained through {@link #obtain} is confined to the current thread and reused by
+ * subsequent evaluations on that thread once it has been {@linkplain #release() released},
+ * so that steady-state evaluation does not allocate any evaluation state.
+ *
  * @author Andy Clement
  * @author Juergen Hoeller
  * @since 3.0
  */
 public class ExpressionState {
 
-    private final EvaluationContext relatedContext;
+    private static final int INITIAL_STACK_CAPACITY = 4;
+
+    private static final ThreadLocal<ExpressionState> reusableState = new ThreadLocal<>();
+
 
-    private final TypedValue rootObject;
+    private EvaluationContext relatedContext;
 
-    private final SpelParserConfiguration configuration;
+    private TypedValue rootObject;
 
-    private Deque<TypedValue> contextObjects;
+    private SpelParserConfiguration configuration;
 
-    private Deque<VariableScope> variableScopes;
+    private TypedValue[] contextObjects;
+
+    private int contextObjectCount;
 
     // When entering a new scope there is a new base object which should be used
     // for '#this' references (or to act as a target for unqualified references).
-    // This ArrayDeque captures those objects at each nested scope level.
+    // This stack captures those objects at each nested scope level.
     // For example:
     // #list1.?[#list2.contains(#this)]
     // On entering the selection we enter a new scope, and #this is now the
     // element from list1
-    private ArrayDeque<TypedValue> scopeRootObjects;
+    private TypedValue[] scopeRootObjects;
+
+    // Local variables of all scopes, the innermost scope being on top. A scope
+    // starts at the index recorded for it in scopeStarts; the top-level scope,
+    // which is never exited, implicitly starts at 0.
+    private String[] localVariableNames;
+
+    private Object[] localVariableValues;
+
+    private int localVariableCount;
+
+    private int[] scopeStarts;
+
+    private int scopeDepth;
+
+    // Values of the sub-expressions shared by the expressions of a set, by slot,
+    // evaluated at most once against the root object
+    private TypedValue[] sharedValues;
+
+    private final boolean reusable;
+
+    private boolean inUse;
 
 
     public ExpressionState(EvaluationContext context) {
@@ -73,40 +106,193 @@ public class ExpressionState {
     }
 
     public ExpressionState(EvaluationContext context, TypedValue rootObject, SpelParserConfiguration configuration) {
+        this(context, rootObject, configuration, false);
+    }
+
+    private ExpressionState(EvaluationContext context, TypedValue rootObject,
+                            SpelParserConfiguration configuration, boolean reusable) {
+
         Assert.notNull(context, "EvaluationContext must not be null");
         Assert.notNull(configuration, "SpelParserConfiguration must not be null");
         this.relatedContext = context;
         this.rootObject = rootObject;
         this.configuration = configuration;
+        this.reusable = reusable;
+        this.inUse = reusable;
+    }
+
+
+    /**
+     * Obtain an expression state for a single evaluation on the current thread, reusing
+     * the state of an earlier evaluation if it has been released. A nested evaluation,
+     * started while the thread's state is still in use, gets a fresh state instead.
+     * <p>The returned state must be {@linkplain #release() released} once the evaluation
+     * is complete, and must not be referenced afterwards.
+     *
+     * @param context       the evaluation context
+     * @param rootObject    the root object
+     * @param configuration the parser configuration
+     * @return the expression state
+     * @since 5.2.9
+     */
+    public static ExpressionState obtain(EvaluationContext context, TypedValue rootObject,
+                                         SpelParserConfiguration configuration) {
+
+        ExpressionState state = reusableState.get();
+        if (state == null) {
+            state = new ExpressionState(context, rootObject, configuration, true);
+            reusableState.set(state);
+            return state;
+        }
+        if (state.inUse) {
+            return new ExpressionState(context, rootObject, configuration);
+        }
+        Assert.notNull(context, "EvaluationContext must not be null");
+        Assert.notNull(configuration, "SpelParserConfiguration must not be null");
+        state.relatedContext = context;
+        state.rootObject = rootObject;
+        state.configuration = configuration;
+        state.inUse = true;
+        return state;
+    }
+
+    /**
+     * Obtain an expression state for a single evaluation on the current thread,
+     * using the root object of the given context.
+     *
+     * @see #obtain(EvaluationContext, TypedValue, SpelParserConfiguration)
+     * @since 5.2.9
+     */
+    public static ExpressionState obtain(EvaluationContext context, SpelParserConfiguration configuration) {
+        return obtain(context, context.getRootObject(), configuration);
+    }
+
+    /**
+     * Release this state once the evaluation it was obtained for is complete, dropping
+     * all references it holds so that it can be reused by the next evaluation on the
+     * current thread. Has no effect on a state that was created through a constructor.
+     *
+     * @since 5.2.9
+     */
+    public void release() {
+        if (!this.reusable) {
+            return;
+        }
+        clearStacks();
+        this.sharedValues = null;
+        this.relatedContext = null;
+        this.rootObject = null;
+        this.configuration = null;
+        this.inUse = false;
+    }
+
+    /**
+     * Switch this state over to the given root object, for the evaluation of the next
+     * root object of a batch against the same context. Context objects, scopes and
+     * local variables left over from the previous evaluation are dropped.
+     *
+     * @param rootObject the root object
+     * @since 5.2.9
+     */
+    public void resetRootObject(TypedValue rootObject) {
+        clearStacks();
+        this.rootObject = rootObject;
+    }
+
+    private void clearStacks() {
+        if (this.contextObjectCount > 0) {
+            Arrays.fill(this.contextObjects, 0, this.contextObjectCount, null);
+            this.contextObjectCount = 0;
+        }
+        if (this.scopeDepth > 0) {
+            Arrays.fill(this.scopeRootObjects, 0, this.scopeDepth, null);
+            this.scopeDepth = 0;
+        }
+        if (this.localVariableCount > 0) {
+            Arrays.fill(this.localVariableNames, 0, this.localVariableCount, null);
+            Arrays.fill(this.localVariableValues, 0, this.localVariableCount, null);
+            this.localVariableCount = 0;
+        }
+    }
+
+    /**
+     * Return the values of the sub-expressions shared by the expressions of a set
+     * that is being evaluated against this state, or {@code null} if there is none.
+     *
+     * @since 5.2.9
+     * @see #setSharedValues(TypedValue[])
+     */
+    public TypedValue[] getSharedValues() {
+        return this.sharedValues;
     }
 
+    /**
+     * Set the slots that hold the values of the sub-expressions shared by the
+     * expressions of a set, so that each of them is evaluated at most once while
+     * all expressions are evaluated against the root object of this state. The
+     * slots are dropped when the state is released, and are not carried over to
+     * a {@linkplain #copy() copy}.
+     *
+     * @param sharedValues an array with one slot per shared sub-expression,
+     *                     or {@code null} to evaluate every sub-expression on its own
+     * @since 5.2.9
+     */
+    public void setSharedValues(TypedValue[] sharedValues) {
+        this.sharedValues = sharedValues;
+    }
+
+    /**
+     * Create an independent copy of this state, with the same context objects, scopes and
+     * local variables, for evaluation that continues outside of the current call: later on,
+     * such as when a lazy selection is iterated, or on another thread. The copy is never
+     * reused and does not need to be released.
+     *
+     * @return a copy of this state
+     * @since 5.2.9
+     */
+    public ExpressionState copy() {
+        ExpressionState copy = new ExpressionState(this.relatedContext, this.rootObject, this.configuration);
+        if (this.contextObjectCount > 0) {
+            copy.contextObjects = Arrays.copyOf(this.contextObjects, this.contextObjectCount);
+            copy.contextObjectCount = this.contextObjectCount;
+        }
+        if (this.scopeDepth > 0) {
+            copy.scopeStarts = Arrays.copyOf(this.scopeStarts, this.scopeDepth);
+            copy.scopeRootObjects = Arrays.copyOf(this.scopeRootObjects, this.scopeDepth);
+            copy.scopeDepth = this.scopeDepth;
+        }
+        if (this.localVariableCount > 0) {
+            copy.localVariableNames = Arrays.copyOf(this.localVariableNames, this.localVariableCount);
+            copy.localVariableValues = Arrays.copyOf(this.localVariableValues, this.localVariableCount);
+            copy.localVariableCount = this.localVariableCount;
+        }
+        return copy;
+    }
 
     /**
      * The active context object is what unqualified references to properties/etc are resolved against.
      */
     public TypedValue getActiveContextObject() {
-        if (CollectionUtils.isEmpty(this.contextObjects)) {
+        if (this.contextObjectCount == 0) {
             return this.rootObject;
         }
-        return this.contextObjects.element();
+        return this.contextObjects[this.contextObjectCount - 1];
     }
 
     public void pushActiveContextObject(TypedValue obj) {
         if (this.contextObjects == null) {
-            this.contextObjects = new ArrayDeque<>();
+            this.contextObjects = new TypedValue[INITIAL_STACK_CAPACITY];
+        } else if (this.contextObjectCount == this.contextObjects.length) {
+            this.contextObjects = Arrays.copyOf(this.contextObjects, this.contextObjectCount * 2);
         }
-        this.contextObjects.push(obj);
+        this.contextObjects[this.contextObjectCount++] = obj;
     }
 
     public void popActiveContextObject() {
-        if (this.contextObjects == null) {
-            this.contextObjects = new ArrayDeque<>();
-        }
-        try {
-            this.contextObjects.pop();
-        } catch (NoSuchElementException ex) {
+        if (this.contextObjectCount == 0) {
             throw new IllegalStateException("Cannot pop active context object: stack is empty");
         }
+        this.contextObjects[--this.contextObjectCount] = null;
     }
 
     public TypedValue getRootContextObject() {
@@ -114,10 +300,10 @@ public class ExpressionState {
     }
 
     public TypedValue getScopeRootContextObject() {
-        if (CollectionUtils.isEmpty(this.scopeRootObjects)) {
+        if (this.scopeDepth == 0) {
             return this.rootObject;
         }
-        return this.scopeRootObjects.element();
+        return this.scopeRootObjects[this.scopeDepth - 1];
     }
 
     public void setVariable(String name, Object value) {
@@ -160,52 +346,79 @@ public class ExpressionState {
      * A new scope is entered when a function is invoked.
      */
     public void enterScope(Map<String, Object> argMap) {
-        initVariableScopes().push(new VariableScope(argMap));
-        initScopeRootObjects().push(getActiveContextObject());
+        pushScope();
+        if (argMap != null) {
+            for (Map.Entry<String, Object> entry : argMap.entrySet()) {
+                setLocalVariable(entry.getKey(), entry.getValue());
+            }
+        }
     }
 
     public void enterScope() {
-        initVariableScopes().push(new VariableScope(Collections.emptyMap()));
-        initScopeRootObjects().push(getActiveContextObject());
+        pushScope();
     }
 
     public void enterScope(String name, Object value) {
-        initVariableScopes().push(new VariableScope(name, value));
-        initScopeRootObjects().push(getActiveContextObject());
+        pushScope();
+        setLocalVariable(name, value);
     }
 
     public void exitScope() {
-        initVariableScopes().pop();
-        initScopeRootObjects().pop();
+        if (this.scopeDepth == 0) {
+            throw new IllegalStateException("Cannot exit scope: no scope has been entered");
+        }
+        this.scopeDepth--;
+        this.scopeRootObjects[this.scopeDepth] = null;
+        int start = this.scopeStarts[this.scopeDepth];
+        if (start < this.localVariableCount) {
+            Arrays.fill(this.localVariableNames, start, this.localVariableCount, null);
+            Arrays.fill(this.localVariableValues, start, this.localVariableCount, null);
+            this.localVariableCount = start;
+        }
     }
 
     public void setLocalVariable(String name, Object value) {
-        initVariableScopes().element().setVariable(name, value);
+        int start = (this.scopeDepth > 0 ? this.scopeStarts[this.scopeDepth - 1] : 0);
+        for (int i = start; i < this.localVariableCount; i++) {
+            if (this.localVariableNames[i].equals(name)) {
+                this.localVariableValues[i] = value;
+                return;
+            }
+        }
+        if (this.localVariableNames == null) {
+            this.localVariableNames = new String[INITIAL_STACK_CAPACITY];
+            this.localVariableValues = new Object[INITIAL_STACK_CAPACITY];
+        } else if (this.localVariableCount == this.localVariableNames.length) {
+            this.localVariableNames = Arrays.copyOf(this.localVariableNames, this.localVariableCount * 2);
+            this.localVariableValues = Arrays.copyOf(this.localVariableValues, this.localVariableCount * 2);
+        }
+        this.localVariableNames[this.localVariableCount] = name;
+        this.localVariableValues[this.localVariableCount] = value;
+        this.localVariableCount++;
     }
 
     public Object lookupLocalVariable(String name) {
-        for (VariableScope scope : initVariableScopes()) {
-            if (scope.definesVariable(name)) {
-                return scope.lookupVariable(name);
+        // Innermost scope first: a variable hides those of the same name in outer scopes
+        for (int i = this.localVariableCount - 1; i >= 0; i--) {
+            if (this.localVariableNames[i].equals(name)) {
+                return this.localVariableValues[i];
             }
         }
         return null;
     }
 
-    private Deque<VariableScope> initVariableScopes() {
-        if (this.variableScopes == null) {
-            this.variableScopes = new ArrayDeque<>();
-            // top-level empty variable scope
-            this.variableScopes.add(new VariableScope());
+    private void pushScope() {
+        TypedValue scopeRootObject = getActiveContextObject();
+        if (this.scopeStarts == null) {
+            this.scopeStarts = new int[INITIAL_STACK_CAPACITY];
+            this.scopeRootObjects = new TypedValue[INITIAL_STACK_CAPACITY];
+        } else if (this.scopeDepth == this.scopeStarts.length) {
+            this.scopeStarts = Arrays.copyOf(this.scopeStarts, this.scopeDepth * 2);
+            this.scopeRootObjects = Arrays.copyOf(this.scopeRootObjects, this.scopeDepth * 2);
         }
-        return this.variableScopes;
-    }
-
-    private Deque<TypedValue> initScopeRootObjects() {
-        if (this.scopeRootObjects == null) {
-            this.scopeRootObjects = new ArrayDeque<>();
-        }
-        return this.scopeRootObjects;
+        this.scopeStarts[this.scopeDepth] = this.localVariableCount;
+        this.scopeRootObjects[this.scopeDepth] = scopeRootObject;
+        this.scopeDepth++;
     }
 
     public TypedValue operate(Operation op, Object left, Object right) throws EvaluationException {
@@ -232,42 +445,4 @@ public class ExpressionState {
         return this.configuration;
     }
 
-
-    /**
-     * A new scope is entered when a function is called and it is used to hold the
-     * parameters to the function call. If the names of the parameters clash with
-     * those in a higher level scope, those in the higher level scope will not be
-     * accessible whilst the function is executing. When the function returns,
-     * the scope is exited.
-     */
-    private static class VariableScope {
-
-        private final Map<String, Object> vars = new HashMap<>();
-
-        public VariableScope() {
-        }
-
-        public VariableScope(Map<String, Object> arguments) {
-            if (arguments != null) {
-                this.vars.putAll(arguments);
-            }
-        }
-
-        public VariableScope(String name, Object value) {
-            this.vars.put(name, value);
-        }
-
-        public Object lookupVariable(String name) {
-            return this.vars.get(name);
-        }
-
-        public void setVariable(String name, Object value) {
-            this.vars.put(name, value);
-        }
-
-        public boolean definesVariable(String name) {
-            return this.vars.containsKey(name);
-        }
-    }
-
 }
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.imsejin.expression.spel;
+
+import io.github.imsejin.expression.util.Assert;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Compiles hot expressions in the background rather than on the thread that happens
+ * to evaluate them once they become eligible for compilation.
+ *
+ * <p>When a {@link SpelParserConfiguration} holds a compilation executor, an expression
+ * that its {@link CompilationPolicy} considers hot is enqueued here, and callers keep
+ * interpreting it until its compiled form has been published. No caller ever blocks
+ * on compilation.
+ *
+ * <p>The backlog of pending compilations is bounded: once it is full, further
+ * expressions are rejected and enqueued again by a later evaluation.
+ * An executor can be shared by any number of parser configurations.
+ *
+ * @author imsejin
+ * @since 5.2.9
+ * @see SpelParserConfiguration#getCompilationExecutor()
+ */
+public class SpelCompilationExecutor {
+
+    /**
+     * The default maximum number of pending compilations.
+     */
+    public static final int DEFAULT_MAX_BACKLOG = 256;
+
+    private static final AtomicInteger threadCount = new AtomicInteger();
+
+
+    private final Executor executor;
+
+    private final int maxBacklog;
+
+    private final AtomicInteger backlog = new AtomicInteger();
+
+    private final AtomicLong submittedCount = new AtomicLong();
+
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    private final AtomicLong compiledCount = new AtomicLong();
+
+    private final AtomicLong failedCount = new AtomicLong();
+
+
+    /**
+     * Create a compilation executor backed by a single daemon thread,
+     * with a backlog of up to {@link #DEFAULT_MAX_BACKLOG} compilations.
+     */
+    public SpelCompilationExecutor() {
+        this(createDefaultExecutor(), DEFAULT_MAX_BACKLOG);
+    }
+
+    /**
+     * Create a compilation executor.
+     *
+     * @param executor   the executor to run compilations on
+     * @param maxBacklog the maximum number of pending compilations
+     */
+    public SpelCompilationExecutor(Executor executor, int maxBacklog) {
+        Assert.notNull(executor, "Executor must not be null");
+        Assert.isTrue(maxBacklog > 0, "Maximum backlog must be greater than 0");
+        this.executor = executor;
+        this.maxBacklog = maxBacklog;
+    }
+
+
+    /**
+     * Enqueue a compilation, unless the backlog is full or the underlying executor
+     * rejects it.
+     *
+     * @param compilation the compilation to run, returning whether it succeeded
+     * @return whether the compilation has been enqueued
+     */
+    public boolean submit(BooleanSupplier compilation) {
+        if (this.backlog.incrementAndGet() > this.maxBacklog) {
+            this.backlog.decrementAndGet();
+            this.rejectedCount.incrementAndGet();
+            return false;
+        }
+        try {
+            this.executor.execute(() -> run(compilation));
+        } catch (RejectedExecutionException ex) {
+            this.backlog.decrementAndGet();
+            this.rejectedCount.incrementAndGet();
+            return false;
+        }
+        this.submittedCount.incrementAndGet();
+        return true;
+    }
+
+    private void run(BooleanSupplier compilation) {
+        try {
+            if (compilation.getAsBoolean()) {
+                this.compiledCount.incrementAndGet();
+            } else {
+                this.failedCount.incrementAndGet();
+            }
+        } catch (Throwable ex) {
+            this.failedCount.incrementAndGet();
+        } finally {
+            this.backlog.decrementAndGet();
+        }
+    }
+
+    /**
+     * Return the maximum number of pending compilations.
+     */
+    public int getMaxBacklog() {
+        return this.maxBacklog;
+    }
+
+    /**
+     * Return the number of compilations that are currently enqueued or running.
+     */
+    public int getBacklog() {
+        return this.backlog.get();
+    }
+
+    /**
+     * Return the number of compilations that have been enqueued.
+     */
+    public long getSubmittedCount() {
+        return this.submittedCount.get();
+    }
+
+    /**
+     * Return the number of compilations that have been rejected because the backlog was full.
+     */
+    public long getRejectedCount() {
+        return this.rejectedCount.get();
+    }
+
+    /**
+     * Return the number of compilations that succeeded.
+     */
+    public long getCompiledCount() {
+        return this.compiledCount.get();
+    }
+
+    /**
+     * Return the number of compilations that failed.
+     */
+    public long getFailedCount() {
+        return this.failedCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return "SpelCompilationExecutor [backlog = " + getBacklog() + "/" + this.maxBacklog +
+                ", submitted = " + getSubmittedCount() + ", rejected = " + getRejectedCount() +
+                ", compiled = " + getCompiledCount() + ", failed = " + getFailedCount() + "]";
+    }
+
+
+    private static Executor createDefaultExecutor() {
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "spel-compiler-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        // The backlog is bounded by the compilation executor itself
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+}
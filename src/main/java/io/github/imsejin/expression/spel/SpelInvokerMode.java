@@ -0,0 +1,39 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.imsejin.expression.spel;
+
+/**
+ * Captures the possible strategies for invoking methods, getters and fields
+ * while interpreting an expression (compiled expressions call them directly).
+ *
+ * @author imsejin
+ * @since 5.2.9
+ */
+public enum SpelInvokerMode {
+
+	/**
+	 * Members are invoked through {@code java.lang.reflect}; this is the default.
+	 */
+	REFLECTION,
+
+	/**
+	 * A {@code MethodHandle} is created once per member and used for every invocation.
+	 * Falls back to reflection for members that cannot be unreflected.
+	 */
+	METHOD_HANDLE
+
+}
@@ -17,6 +17,7 @@
 package io.github.imsejin.expression.spel;
 
 import io.github.imsejin.expression.core.SpringProperties;
+import io.github.imsejin.expression.util.Assert;
 
 /**
  * Configuration object for the SpEL expression parser.
@@ -31,10 +32,15 @@ public class SpelParserConfiguration {
 
     private static final SpelCompilerMode defaultCompilerMode;
 
+    private static final SpelInvokerMode defaultInvokerMode;
+
     static {
         String compilerMode = SpringProperties.getProperty("spring.expression.compiler.mode");
         defaultCompilerMode = (compilerMode != null ?
                 SpelCompilerMode.valueOf(compilerMode.toUpperCase()) : SpelCompilerMode.OFF);
+        String invokerMode = SpringProperties.getProperty("spring.expression.invoker.mode");
+        defaultInvokerMode = (invokerMode != null ?
+                SpelInvokerMode.valueOf(invokerMode.toUpperCase()) : SpelInvokerMode.REFLECTION);
     }
 
 
@@ -48,6 +54,18 @@ public class SpelParserConfiguration {
 
     private final int maximumAutoGrowSize;
 
+    private final SpelInvokerMode invokerMode;
+
+    private final SpelCompilationExecutor compilationExecutor;
+
+    private final CompilationPolicy compilationPolicy;
+
+    private final boolean lazySelectionAndProjection;
+
+    private final int parallelThreshold;
+
+    private final boolean constantFolding;
+
 
     /**
      * Create a new {@code SpelParserConfiguration} instance with default settings.
@@ -100,11 +118,101 @@ public class SpelParserConfiguration {
     public SpelParserConfiguration(SpelCompilerMode compilerMode, ClassLoader compilerClassLoader,
                                    boolean autoGrowNullReferences, boolean autoGrowCollections, int maximumAutoGrowSize) {
 
-        this.compilerMode = (compilerMode != null ? compilerMode : defaultCompilerMode);
-        this.compilerClassLoader = compilerClassLoader;
-        this.autoGrowNullReferences = autoGrowNullReferences;
-        this.autoGrowCollections = autoGrowCollections;
-        this.maximumAutoGrowSize = maximumAutoGrowSize;
+        this(compilerMode, compilerClassLoader, autoGrowNullReferences, autoGrowCollections, maximumAutoGrowSize, null);
+    }
+
+    /**
+     * Create a new {@code SpelParserConfiguration} instance.
+     *
+     * @param compilerMode           the compiler mode that parsers using this configuration object should use
+     * @param compilerClassLoader    the ClassLoader to use as the basis for expression compilation
+     * @param autoGrowNullReferences if null references should automatically grow
+     * @param autoGrowCollections    if collections should automatically grow
+     * @param maximumAutoGrowSize    the maximum size that the collection can auto grow
+     * @param invokerMode            the strategy for invoking methods, getters and fields
+     *                               while interpreting expressions
+     * @since 5.2.9
+     */
+    public SpelParserConfiguration(SpelCompilerMode compilerMode, ClassLoader compilerClassLoader,
+                                   boolean autoGrowNullReferences, boolean autoGrowCollections, int maximumAutoGrowSize,
+                                   SpelInvokerMode invokerMode) {
+
+        this(compilerMode, compilerClassLoader, autoGrowNullReferences, autoGrowCollections, maximumAutoGrowSize,
+                invokerMode, null);
+    }
+
+    /**
+     * Create a new {@code SpelParserConfiguration} instance.
+     *
+     * @param compilerMode           the compiler mode that parsers using this configuration object should use
+     * @param compilerClassLoader    the ClassLoader to use as the basis for expression compilation
+     * @param autoGrowNullReferences if null references should automatically grow
+     * @param autoGrowCollections    if collections should automatically grow
+     * @param maximumAutoGrowSize    the maximum size that the collection can auto grow
+     * @param invokerMode            the strategy for invoking methods, getters and fields
+     *                               while interpreting expressions
+     * @param compilationExecutor    the executor to compile hot expressions in the background,
+     *                               or {@code null} to compile them on the evaluating thread
+     * @since 5.2.9
+     */
+    public SpelParserConfiguration(SpelCompilerMode compilerMode, ClassLoader compilerClassLoader,
+                                   boolean autoGrowNullReferences, boolean autoGrowCollections, int maximumAutoGrowSize,
+                                   SpelInvokerMode invokerMode, SpelCompilationExecutor compilationExecutor) {
+
+        this(compilerMode, compilerClassLoader, autoGrowNullReferences, autoGrowCollections, maximumAutoGrowSize,
+                invokerMode, compilationExecutor, null);
+    }
+
+    /**
+     * Create a new {@code SpelParserConfiguration} instance.
+     *
+     * @param compilerMode           the compiler mode that parsers using this configuration object should use
+     * @param compilerClassLoader    the ClassLoader to use as the basis for expression compilation
+     * @param autoGrowNullReferences if null references should automatically grow
+     * @param autoGrowCollections    if collections should automatically grow
+     * @param maximumAutoGrowSize    the maximum size that the collection can auto grow
+     * @param invokerMode            the strategy for invoking methods, getters and fields
+     *                               while interpreting expressions
+     * @param compilationExecutor    the executor to compile hot expressions in the background,
+     *                               or {@code null} to compile them on the evaluating thread
+     * @param compilationPolicy      the policy deciding when expressions get compiled,
+     *                               or {@code null} for the standard thresholds
+     * @since 5.2.9
+     */
+    public SpelParserConfiguration(SpelCompilerMode compilerMode, ClassLoader compilerClassLoader,
+                                   boolean autoGrowNullReferences, boolean autoGrowCollections, int maximumAutoGrowSize,
+                                   SpelInvokerMode invokerMode, SpelCompilationExecutor compilationExecutor,
+                                   CompilationPolicy compilationPolicy) {
+
+        this(builder().compilerMode(compilerMode).compilerClassLoader(compilerClassLoader)
+                .autoGrowNullReferences(autoGrowNullReferences).autoGrowCollections(autoGrowCollections)
+                .maximumAutoGrowSize(maximumAutoGrowSize).invokerMode(invokerMode)
+                .compilationExecutor(compilationExecutor).compilationPolicy(compilationPolicy));
+    }
+
+    private SpelParserConfiguration(Builder builder) {
+        this.compilerMode = (builder.compilerMode != null ? builder.compilerMode : defaultCompilerMode);
+        this.compilerClassLoader = builder.compilerClassLoader;
+        this.autoGrowNullReferences = builder.autoGrowNullReferences;
+        this.autoGrowCollections = builder.autoGrowCollections;
+        this.maximumAutoGrowSize = builder.maximumAutoGrowSize;
+        this.invokerMode = (builder.invokerMode != null ? builder.invokerMode : defaultInvokerMode);
+        this.compilationExecutor = builder.compilationExecutor;
+        this.compilationPolicy = builder.compilationPolicy;
+        this.lazySelectionAndProjection = builder.lazySelectionAndProjection;
+        this.parallelThreshold = builder.parallelThreshold;
+        this.constantFolding = builder.constantFolding;
+    }
+
+
+    /**
+     * Return a builder for a {@code SpelParserConfiguration}, starting from the
+     * default settings.
+     *
+     * @since 5.2.9
+     */
+    public static Builder builder() {
+        return new Builder();
     }
 
 
@@ -143,4 +251,217 @@ public class SpelParserConfiguration {
         return this.maximumAutoGrowSize;
     }
 
+    /**
+     * Return the strategy for invoking methods, getters and fields while interpreting expressions.
+     *
+     * @since 5.2.9
+     */
+    public SpelInvokerMode getInvokerMode() {
+        return this.invokerMode;
+    }
+
+    /**
+     * Return the executor to compile hot expressions in the background,
+     * or {@code null} if they are compiled on the evaluating thread.
+     *
+     * @since 5.2.9
+     */
+    public SpelCompilationExecutor getCompilationExecutor() {
+        return this.compilationExecutor;
+    }
+
+    /**
+     * Return the policy deciding when expressions get compiled, or {@code null}
+     * if the standard thresholds apply.
+     *
+     * @since 5.2.9
+     * @see io.github.imsejin.expression.spel.support.StandardCompilationPolicy
+     */
+    public CompilationPolicy getCompilationPolicy() {
+        return this.compilationPolicy;
+    }
+
+    /**
+     * Return {@code true} if selection ({@code ?[]}) and projection ({@code ![]}) over
+     * collections and arrays yield lazily evaluated views rather than new collections.
+     * Chained selections and projections are then evaluated in a single pass, as the
+     * view is iterated.
+     *
+     * @since 5.2.9
+     */
+    public boolean isLazySelectionAndProjection() {
+        return this.lazySelectionAndProjection;
+    }
+
+    /**
+     * Return the minimum number of elements of a list or an array for selection
+     * ({@code ?[]}) and projection ({@code ![]}), and of the root objects of a
+     * {@linkplain io.github.imsejin.expression.spel.standard.SpelExpression#evaluateAll
+     * batch evaluation}, to be evaluated in parallel, on the common
+     * {@link java.util.concurrent.ForkJoinPool}. Parallel evaluation is disabled
+     * by default, as it requires the evaluation context, and anything the evaluated
+     * expression accesses, to be safe for concurrent use.
+     *
+     * @since 5.2.9
+     */
+    public int getParallelThreshold() {
+        return this.parallelThreshold;
+    }
+
+    /**
+     * Return {@code true} if constant sub-expressions, such as {@code 60 * 60 * 24}, are
+     * computed once when an expression is parsed. Inline lists and maps that turn out to
+     * be constant are then unmodifiable, as literal-only ones always are.
+     *
+     * @since 5.2.9
+     * @see io.github.imsejin.expression.spel.ast.ConstantFolder
+     */
+    public boolean isConstantFolding() {
+        return this.constantFolding;
+    }
+
+
+
+    /**
+     * Builder for a {@code SpelParserConfiguration}. Every setting left unset keeps its
+     * default, as with {@link #SpelParserConfiguration()}.
+     *
+     * @since 5.2.9
+     */
+    public static final class Builder {
+
+        private SpelCompilerMode compilerMode;
+
+        private ClassLoader compilerClassLoader;
+
+        private boolean autoGrowNullReferences;
+
+        private boolean autoGrowCollections;
+
+        private int maximumAutoGrowSize = Integer.MAX_VALUE;
+
+        private SpelInvokerMode invokerMode;
+
+        private SpelCompilationExecutor compilationExecutor;
+
+        private CompilationPolicy compilationPolicy;
+
+        private boolean lazySelectionAndProjection;
+
+        private int parallelThreshold = Integer.MAX_VALUE;
+
+        private boolean constantFolding;
+
+        private Builder() {
+        }
+
+        /**
+         * Set the compiler mode, or {@code null} for the default one.
+         */
+        public Builder compilerMode(SpelCompilerMode compilerMode) {
+            this.compilerMode = compilerMode;
+            return this;
+        }
+
+        /**
+         * Set the ClassLoader to use as the basis for expression compilation.
+         */
+        public Builder compilerClassLoader(ClassLoader compilerClassLoader) {
+            this.compilerClassLoader = compilerClassLoader;
+            return this;
+        }
+
+        /**
+         * Set whether {@code null} references should automatically grow.
+         */
+        public Builder autoGrowNullReferences(boolean autoGrowNullReferences) {
+            this.autoGrowNullReferences = autoGrowNullReferences;
+            return this;
+        }
+
+        /**
+         * Set whether collections should automatically grow.
+         */
+        public Builder autoGrowCollections(boolean autoGrowCollections) {
+            this.autoGrowCollections = autoGrowCollections;
+            return this;
+        }
+
+        /**
+         * Set the maximum size that a collection can auto grow.
+         */
+        public Builder maximumAutoGrowSize(int maximumAutoGrowSize) {
+            this.maximumAutoGrowSize = maximumAutoGrowSize;
+            return this;
+        }
+
+        /**
+         * Set the strategy for invoking methods, getters and fields while interpreting
+         * expressions, or {@code null} for the default one.
+         */
+        public Builder invokerMode(SpelInvokerMode invokerMode) {
+            this.invokerMode = invokerMode;
+            return this;
+        }
+
+        /**
+         * Set the executor to compile hot expressions in the background,
+         * or {@code null} to compile them on the evaluating thread.
+         */
+        public Builder compilationExecutor(SpelCompilationExecutor compilationExecutor) {
+            this.compilationExecutor = compilationExecutor;
+            return this;
+        }
+
+        /**
+         * Set the policy deciding when expressions get compiled,
+         * or {@code null} for the standard thresholds.
+         */
+        public Builder compilationPolicy(CompilationPolicy compilationPolicy) {
+            this.compilationPolicy = compilationPolicy;
+            return this;
+        }
+
+        /**
+         * Set whether selection ({@code ?[]}) and projection ({@code ![]}) over
+         * collections and arrays should yield lazily evaluated views.
+         *
+         * @see SpelParserConfiguration#isLazySelectionAndProjection()
+         */
+        public Builder lazySelectionAndProjection(boolean lazySelectionAndProjection) {
+            this.lazySelectionAndProjection = lazySelectionAndProjection;
+            return this;
+        }
+
+        /**
+         * Set the minimum number of elements of a list or an array for selection and
+         * projection, and of a batch of root objects, to be evaluated in parallel.
+         *
+         * @see SpelParserConfiguration#getParallelThreshold()
+         */
+        public Builder parallelThreshold(int parallelThreshold) {
+            Assert.isTrue(parallelThreshold > 0, "Parallel threshold must be greater than 0");
+            this.parallelThreshold = parallelThreshold;
+            return this;
+        }
+
+        /**
+         * Set whether constant sub-expressions should be computed once, when an
+         * expression is parsed.
+         *
+         * @see SpelParserConfiguration#isConstantFolding()
+         */
+        public Builder constantFolding(boolean constantFolding) {
+            this.constantFolding = constantFolding;
+            return this;
+        }
+
+        /**
+         * Create the configuration.
+         */
+        public SpelParserConfiguration build() {
+            return new SpelParserConfiguration(this);
+        }
+    }
+
 }
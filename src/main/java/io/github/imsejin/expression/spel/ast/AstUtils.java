@@ -71,4 +71,20 @@ public abstract class AstUtils {
         return resolvers;
     }
 
+    /**
+     * Determine whether evaluating the given node itself, not counting its children,
+     * may have side effects or yield a different value each time: invoking a method,
+     * function or constructor, looking up a bean, or assigning, incrementing or
+     * decrementing a value. Reading a property is considered free of side effects.
+     *
+     * @param node the node to check
+     * @return {@code true} if the node may have side effects
+     * @since 5.2.9
+     */
+    static boolean hasSideEffects(SpelNodeImpl node) {
+        return (node instanceof MethodReference || node instanceof FunctionReference ||
+                node instanceof ConstructorReference || node instanceof BeanReference ||
+                node instanceof Assign || node instanceof OpInc || node instanceof OpDec);
+    }
+
 }
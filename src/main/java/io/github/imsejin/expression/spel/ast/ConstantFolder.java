@@ -0,0 +1,228 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.imsejin.expression.spel.ast;
+
+import io.github.imsejin.expression.BeanResolver;
+import io.github.imsejin.expression.ConstructorResolver;
+import io.github.imsejin.expression.EvaluationContext;
+import io.github.imsejin.expression.MethodResolver;
+import io.github.imsejin.expression.OperatorOverloader;
+import io.github.imsejin.expression.PropertyAccessor;
+import io.github.imsejin.expression.TypeComparator;
+import io.github.imsejin.expression.TypeConverter;
+import io.github.imsejin.expression.TypeLocator;
+import io.github.imsejin.expression.TypedValue;
+import io.github.imsejin.expression.core.convert.TypeDescriptor;
+import io.github.imsejin.expression.spel.ExpressionState;
+import io.github.imsejin.expression.spel.SpelParserConfiguration;
+import io.github.imsejin.expression.util.ClassUtils;
+import io.github.imsejin.expression.util.StringUtils;
+
+import java.util.List;
+
+/**
+ * Simplifies a parsed AST by replacing constant sub-expressions with {@link FoldedLiteral}
+ * nodes: operators whose operands are all literals, {@code and}/{@code or} whose left
+ * operand decides the result, and ternary and Elvis operators whose condition is a
+ * literal and whose selected operand is a literal. Inline lists and maps that become
+ * constant through folding are turned into constants as well.
+ *
+ * <p>A candidate is folded by evaluating it against an evaluation context that refuses
+ * every operation which could depend on it, such as comparing, converting (other than a
+ * value to its own type) or overloading operators. Anything that touches the context, or
+ * fails, is left as is, to be evaluated - and to fail - exactly as it would have been.
+ *
+ * @author imsejin
+ * @since 5.2.9
+ */
+public final class ConstantFolder {
+
+    private final ExpressionState state;
+
+    private ConstantFolder(SpelParserConfiguration configuration) {
+        this.state = new ExpressionState(new ConstantEvaluationContext(), TypedValue.NULL, configuration);
+    }
+
+
+    /**
+     * Fold the constant sub-expressions of the given AST.
+     *
+     * @param ast           the AST to simplify, which may be modified in place
+     * @param configuration the parser configuration
+     * @return the simplified AST, which may be a different node than the given one
+     */
+    public static SpelNodeImpl fold(SpelNodeImpl ast, SpelParserConfiguration configuration) {
+        return new ConstantFolder(configuration).fold(ast, true);
+    }
+
+    private SpelNodeImpl fold(SpelNodeImpl node, boolean replaceable) {
+        // The target of an assignment, increment or decrement must stay in place
+        boolean assigning = (node instanceof Assign || node instanceof OpInc || node instanceof OpDec);
+        for (int i = 0; i < node.children.length; i++) {
+            SpelNodeImpl child = node.children[i];
+            SpelNodeImpl folded = fold(child, !(assigning && i == 0));
+            if (folded != child) {
+                node.replaceChild(i, folded);
+            }
+        }
+        if (node instanceof InlineList) {
+            ((InlineList) node).checkIfConstant();
+        } else if (node instanceof InlineMap) {
+            ((InlineMap) node).checkIfConstant();
+        }
+        if (replaceable && isFoldable(node)) {
+            try {
+                TypedValue value = node.getValueInternal(this.state);
+                if (FoldedLiteral.canHold(value.getValue())) {
+                    return new FoldedLiteral(node, value);
+                }
+            } catch (RuntimeException ex) {
+                // Not a constant, or one that fails: leave it to evaluation
+            }
+        }
+        return node;
+    }
+
+    private static boolean isFoldable(SpelNodeImpl node) {
+        SpelNodeImpl[] children = node.children;
+        if (node instanceof OpAnd || node instanceof OpOr) {
+            if (!(children[0] instanceof Literal)) {
+                return false;
+            }
+            // The left operand alone decides 'false and x' and 'true or x'
+            Object left = literalValue(children[0]);
+            return (children[1] instanceof Literal || (node instanceof OpAnd ? Boolean.FALSE : Boolean.TRUE).equals(left));
+        }
+        if (node instanceof Ternary) {
+            Object condition = (children[0] instanceof Literal ? literalValue(children[0]) : null);
+            return (condition instanceof Boolean && children[(Boolean) condition ? 1 : 2] instanceof Literal);
+        }
+        if (node instanceof Elvis) {
+            if (!(children[0] instanceof Literal)) {
+                return false;
+            }
+            return (!StringUtils.isEmpty(literalValue(children[0])) || children[1] instanceof Literal);
+        }
+        if (node instanceof Operator || node instanceof OperatorNot) {
+            for (SpelNodeImpl child : children) {
+                if (!(child instanceof Literal)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static Object literalValue(SpelNodeImpl literal) {
+        return ((Literal) literal).getLiteralValue().getValue();
+    }
+
+
+    /**
+     * Thrown by the {@link ConstantEvaluationContext} when a sub-expression turns out not
+     * to be constant.
+     */
+    @SuppressWarnings("serial")
+    private static final class NotConstantException extends RuntimeException {
+
+        static final NotConstantException INSTANCE = new NotConstantException();
+
+        private NotConstantException() {
+            super("Not a constant", null, false, false);
+        }
+    }
+
+
+    /**
+     * Evaluation context that refuses everything but converting values to their own type.
+     */
+    private static final class ConstantEvaluationContext implements EvaluationContext, TypeConverter {
+
+        @Override
+        public TypedValue getRootObject() {
+            throw NotConstantException.INSTANCE;
+        }
+
+        @Override
+        public List<PropertyAccessor> getPropertyAccessors() {
+            throw NotConstantException.INSTANCE;
+        }
+
+        @Override
+        public List<ConstructorResolver> getConstructorResolvers() {
+            throw NotConstantException.INSTANCE;
+        }
+
+        @Override
+        public List<MethodResolver> getMethodResolvers() {
+            throw NotConstantException.INSTANCE;
+        }
+
+        @Override
+        public BeanResolver getBeanResolver() {
+            throw NotConstantException.INSTANCE;
+        }
+
+        @Override
+        public TypeLocator getTypeLocator() {
+            throw NotConstantException.INSTANCE;
+        }
+
+        @Override
+        public TypeConverter getTypeConverter() {
+            return this;
+        }
+
+        @Override
+        public TypeComparator getTypeComparator() {
+            throw NotConstantException.INSTANCE;
+        }
+
+        @Override
+        public OperatorOverloader getOperatorOverloader() {
+            throw NotConstantException.INSTANCE;
+        }
+
+        @Override
+        public void setVariable(String name, Object value) {
+            throw NotConstantException.INSTANCE;
+        }
+
+        @Override
+        public Object lookupVariable(String name) {
+            throw NotConstantException.INSTANCE;
+        }
+
+        @Override
+        public boolean canConvert(TypeDescriptor sourceType, TypeDescriptor targetType) {
+            if (sourceType == null || !ClassUtils.isAssignable(targetType.getType(), sourceType.getType())) {
+                throw NotConstantException.INSTANCE;
+            }
+            return true;
+        }
+
+        @Override
+        public Object convertValue(Object value, TypeDescriptor sourceType, TypeDescriptor targetType) {
+            if (value == null || !ClassUtils.isAssignableValue(targetType.getType(), value)) {
+                throw NotConstantException.INSTANCE;
+            }
+            return value;
+        }
+    }
+
+}
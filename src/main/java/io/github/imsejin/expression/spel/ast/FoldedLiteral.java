@@ -0,0 +1,126 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.imsejin.expression.spel.ast;
+
+import io.github.imsejin.expression.TypedValue;
+import io.github.imsejin.expression.asm.MethodVisitor;
+import io.github.imsejin.expression.spel.CodeFlow;
+
+/**
+ * Expression language AST node that holds the value of a constant sub-expression,
+ * computed once when the expression was parsed. It renders as the sub-expression
+ * it replaces.
+ *
+ * @author imsejin
+ * @since 5.2.9
+ * @see ConstantFolder
+ */
+public class FoldedLiteral extends Literal {
+
+    private final TypedValue value;
+
+    private final String expressionString;
+
+
+    public FoldedLiteral(SpelNodeImpl folded, TypedValue value) {
+        super(null, folded.getStartPosition(), folded.getEndPosition());
+        this.value = value;
+        this.expressionString = folded.toStringAST();
+        this.exitTypeDescriptor = exitTypeDescriptorFor(value.getValue());
+    }
+
+
+    @Override
+    public TypedValue getLiteralValue() {
+        return this.value;
+    }
+
+    @Override
+    public String toStringAST() {
+        return this.expressionString;
+    }
+
+    @Override
+    public boolean isCompilable() {
+        return true;
+    }
+
+    @Override
+    public void generateCode(MethodVisitor mv, CodeFlow cf) {
+        Object value = this.value.getValue();
+        if (value == null) {
+            mv.visitInsn(ACONST_NULL);
+        }
+        else if (value instanceof Boolean) {
+            mv.visitInsn((Boolean) value ? ICONST_1 : ICONST_0);
+        }
+        else if (value instanceof Integer) {
+            int intValue = (Integer) value;
+            if (intValue >= -1 && intValue <= 5) {
+                mv.visitInsn(ICONST_0 + intValue);
+            }
+            else if (intValue >= Byte.MIN_VALUE && intValue <= Byte.MAX_VALUE) {
+                mv.visitIntInsn(BIPUSH, intValue);
+            }
+            else if (intValue >= Short.MIN_VALUE && intValue <= Short.MAX_VALUE) {
+                mv.visitIntInsn(SIPUSH, intValue);
+            }
+            else {
+                mv.visitLdcInsn(intValue);
+            }
+        }
+        else {
+            // String, Long, Float or Double
+            mv.visitLdcInsn(value);
+        }
+        cf.pushDescriptor(this.exitTypeDescriptor);
+    }
+
+    /**
+     * Determine whether the given value can be held by a folded literal: {@code null},
+     * or a value of one of the types that literals and operators on them produce.
+     */
+    static boolean canHold(Object value) {
+        return (exitTypeDescriptorFor(value) != null);
+    }
+
+    private static String exitTypeDescriptorFor(Object value) {
+        if (value == null) {
+            return "Ljava/lang/Object";
+        }
+        if (value instanceof String) {
+            return "Ljava/lang/String";
+        }
+        if (value instanceof Boolean) {
+            return "Z";
+        }
+        if (value instanceof Integer) {
+            return "I";
+        }
+        if (value instanceof Long) {
+            return "J";
+        }
+        if (value instanceof Float) {
+            return "F";
+        }
+        if (value instanceof Double) {
+            return "D";
+        }
+        return null;
+    }
+
+}
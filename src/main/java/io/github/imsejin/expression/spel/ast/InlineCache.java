@@ -0,0 +1,169 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.imsejin.expression.spel.ast;
+
+import io.github.imsejin.expression.util.ConcurrentReferenceHashMap;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded polymorphic inline cache for an AST node, keyed by receiver type.
+ *
+ * <p>Up to {@link #DEFAULT_MAX_ENTRIES} receiver types are held in a small array that
+ * is scanned by identity. Once a node has seen more receiver types than that it is
+ * considered megamorphic: the inline entries are kept, and any further receiver types
+ * are held in a table keyed by class instead.
+ *
+ * <p>Like the inline entries, the table belongs to the node: it only holds the receiver
+ * types the node has seen, and its values are checked against the node's evaluation
+ * context on every hit. Resolution itself is cached across nodes by the accessors and
+ * method resolvers, so a miss on one node for a type resolved by another is cheap.
+ *
+ * <p>Lookups are lock-free; updates only happen on a cache miss and are synchronized.
+ * Receivers that are a {@code Class} (i.e. static access such as {@code T(Foo).bar})
+ * are kept apart from instances of that class and are only held inline.
+ *
+ * @param <V> the type of the cached value
+ * @author imsejin
+ * @since 5.2.9
+ */
+final class InlineCache<V> {
+
+    static final int DEFAULT_MAX_ENTRIES = 4;
+
+    private static final Entry<?>[] NO_ENTRIES = new Entry<?>[0];
+
+
+    private final int maxEntries;
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    @SuppressWarnings("unchecked")
+    private volatile Entry<V>[] entries = (Entry<V>[]) NO_ENTRIES;
+
+    // Values for the receiver types beyond the inline entries, created once megamorphic
+    private volatile Map<Class<?>, V> megamorphicTable;
+
+
+    InlineCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    InlineCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+
+    /**
+     * Return the cached value for the given receiver type, or {@code null} if none.
+     *
+     * @param type         the receiver type
+     * @param staticTarget whether the receiver is the type itself rather than an instance of it
+     */
+    public V get(Class<?> type, boolean staticTarget) {
+        for (Entry<V> entry : this.entries) {
+            if (entry.type == type && entry.staticTarget == staticTarget) {
+                return entry.value;
+            }
+        }
+        Map<Class<?>, V> table = this.megamorphicTable;
+        return (table != null && !staticTarget ? table.get(type) : null);
+    }
+
+    /**
+     * Cache the value resolved after a miss for the given receiver type,
+     * replacing any previous value for that type.
+     */
+    public synchronized void put(Class<?> type, boolean staticTarget, V value) {
+        this.missCount.incrementAndGet();
+        Entry<V>[] entries = this.entries;
+        for (int i = 0; i < entries.length; i++) {
+            if (entries[i].type == type && entries[i].staticTarget == staticTarget) {
+                Entry<V>[] newEntries = entries.clone();
+                newEntries[i] = new Entry<>(type, staticTarget, value);
+                this.entries = newEntries;
+                return;
+            }
+        }
+        if (entries.length < this.maxEntries) {
+            Entry<V>[] newEntries = Arrays.copyOf(entries, entries.length + 1);
+            newEntries[entries.length] = new Entry<>(type, staticTarget, value);
+            this.entries = newEntries;
+        } else if (!staticTarget) {
+            Map<Class<?>, V> table = this.megamorphicTable;
+            if (table == null) {
+                table = new ConcurrentReferenceHashMap<>(16);
+                this.megamorphicTable = table;
+            }
+            table.put(type, value);
+        }
+    }
+
+    /**
+     * Remove the cached value for the given receiver type, if it is still the given one.
+     */
+    public synchronized void remove(Class<?> type, boolean staticTarget, V value) {
+        Entry<V>[] entries = this.entries;
+        for (int i = 0; i < entries.length; i++) {
+            if (entries[i].type == type && entries[i].staticTarget == staticTarget) {
+                if (entries[i].value == value) {
+                    Entry<V>[] newEntries = Arrays.copyOf(entries, entries.length - 1);
+                    System.arraycopy(entries, i + 1, newEntries, i, entries.length - i - 1);
+                    this.entries = newEntries;
+                }
+                return;
+            }
+        }
+        Map<Class<?>, V> table = this.megamorphicTable;
+        if (table != null && !staticTarget) {
+            table.remove(type, value);
+        }
+    }
+
+    /**
+     * Return whether more receiver types have been seen than can be held inline.
+     */
+    public boolean isMegamorphic() {
+        return (this.megamorphicTable != null);
+    }
+
+    /**
+     * Return the number of misses, i.e. how often a value had to be resolved.
+     */
+    public long getMissCount() {
+        return this.missCount.get();
+    }
+
+
+    private static final class Entry<V> {
+
+        final Class<?> type;
+
+        final boolean staticTarget;
+
+        final V value;
+
+        Entry(Class<?> type, boolean staticTarget, V value) {
+            this.type = type;
+            this.staticTarget = staticTarget;
+            this.value = value;
+        }
+    }
+
+}
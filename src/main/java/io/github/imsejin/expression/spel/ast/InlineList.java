@@ -22,23 +22,27 @@ import io.github.imsejin.expression.asm.MethodVisitor;
 import io.github.imsejin.expression.spel.CodeFlow;
 import io.github.imsejin.expression.spel.ExpressionState;
 import io.github.imsejin.expression.spel.SpelNode;
+import io.github.imsejin.expression.spel.support.ConstantList;
 import io.github.imsejin.expression.util.Assert;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.StringJoiner;
 
 /**
  * Represent a list in an expression, e.g. '{1,2,3}'
  *
+ * <p>The value of a constant list is an immutable {@link ConstantList}, which compiled
+ * expressions hold in a static field.
+ *
  * @author Andy Clement
+ * @author imsejin
  * @since 3.0.4
  */
 public class InlineList extends SpelNodeImpl {
 
     // If the list is purely literals, it is a constant value and can be computed and cached
-    private TypedValue constant;  // TODO must be immutable list
+    private TypedValue constant;
 
     public InlineList(int startPos, int endPos, SpelNodeImpl... args) {
         super(startPos, endPos, args);
@@ -50,7 +54,7 @@ public class InlineList extends SpelNodeImpl {
      * can be built to represent this node. This will speed up later getValue calls and reduce the amount of garbage
      * created.
      */
-    private void checkIfConstant() {
+    void checkIfConstant() {
         boolean isConstant = true;
         for (int c = 0, max = getChildCount(); c < max; c++) {
             SpelNode child = getChild(c);
@@ -76,7 +80,7 @@ public class InlineList extends SpelNodeImpl {
                     constantList.add(((InlineList) child).getConstantValue());
                 }
             }
-            this.constant = new TypedValue(Collections.unmodifiableList(constantList));
+            this.constant = new TypedValue(new ConstantList(constantList.toArray()));
         }
     }
 
@@ -131,41 +135,51 @@ public class InlineList extends SpelNodeImpl {
         codeflow.registerNewField((cw, cflow) ->
                 cw.visitField(ACC_PRIVATE | ACC_STATIC | ACC_FINAL, constantFieldName, "Ljava/util/List;", null, null));
 
-        codeflow.registerNewClinit((mVisitor, cflow) ->
-                generateClinitCode(className, constantFieldName, mVisitor, cflow, false));
+        codeflow.registerNewClinit((mVisitor, cflow) -> {
+            generateConstantCode(mVisitor, cflow);
+            mVisitor.visitFieldInsn(PUTSTATIC, className, constantFieldName, "Ljava/util/List;");
+        });
 
         mv.visitFieldInsn(GETSTATIC, className, constantFieldName, "Ljava/util/List;");
         codeflow.pushDescriptor("Ljava/util/List");
     }
 
-    void generateClinitCode(String clazzname, String constantFieldName, MethodVisitor mv, CodeFlow codeflow, boolean nested) {
-        mv.visitTypeInsn(NEW, "java/util/ArrayList");
+    /**
+     * Generate code that leaves a new {@link ConstantList} of the elements on the stack.
+     * Nested lists are built directly, rather than calling back into
+     * {@link #generateCode}, which would register another static field.
+     */
+    void generateConstantCode(MethodVisitor mv, CodeFlow codeflow) {
+        String listType = "io/github/imsejin/expression/spel/support/ConstantList";
+        mv.visitTypeInsn(NEW, listType);
         mv.visitInsn(DUP);
-        mv.visitMethodInsn(INVOKESPECIAL, "java/util/ArrayList", "<init>", "()V", false);
-        if (!nested) {
-            mv.visitFieldInsn(PUTSTATIC, clazzname, constantFieldName, "Ljava/util/List;");
-        }
-        int childCount = getChildCount();
-        for (int c = 0; c < childCount; c++) {
-            if (!nested) {
-                mv.visitFieldInsn(GETSTATIC, clazzname, constantFieldName, "Ljava/util/List;");
-            } else {
-                mv.visitInsn(DUP);
-            }
-            // The children might be further lists if they are not constants. In this
-            // situation do not call back into generateCode() because it will register another clinit adder.
-            // Instead, directly build the list here:
-            if (this.children[c] instanceof InlineList) {
-                ((InlineList) this.children[c]).generateClinitCode(clazzname, constantFieldName, mv, codeflow, true);
+        generateConstantArrayCode(mv, codeflow, this.children, 0, 1);
+        mv.visitMethodInsn(INVOKESPECIAL, listType, "<init>", "([Ljava/lang/Object;)V", false);
+    }
+
+    /**
+     * Generate code that leaves a new {@code Object[]} on the stack, holding the boxed
+     * constant values of every {@code step}th of the given nodes, starting at {@code from}.
+     */
+    static void generateConstantArrayCode(MethodVisitor mv, CodeFlow codeflow, SpelNodeImpl[] nodes, int from, int step) {
+        CodeFlow.insertOptimalLoad(mv, (nodes.length - from + step - 1) / step);
+        mv.visitTypeInsn(ANEWARRAY, "java/lang/Object");
+        for (int c = from, index = 0; c < nodes.length; c += step, index++) {
+            mv.visitInsn(DUP);
+            CodeFlow.insertOptimalLoad(mv, index);
+            SpelNodeImpl node = nodes[c];
+            if (node instanceof InlineList) {
+                ((InlineList) node).generateConstantCode(mv, codeflow);
+            } else if (node instanceof InlineMap) {
+                ((InlineMap) node).generateConstantCode(mv, codeflow);
+            } else if (node instanceof PropertyOrFieldReference) {
+                // An unquoted map key
+                mv.visitLdcInsn(((PropertyOrFieldReference) node).getName());
             } else {
-                this.children[c].generateCode(mv, codeflow);
-                String lastDesc = codeflow.lastDescriptor();
-                if (CodeFlow.isPrimitive(lastDesc)) {
-                    CodeFlow.insertBoxIfNecessary(mv, lastDesc.charAt(0));
-                }
+                node.generateCode(mv, codeflow);
+                CodeFlow.insertBoxIfNecessary(mv, codeflow.lastDescriptor());
             }
-            mv.visitMethodInsn(INVOKEINTERFACE, "java/util/List", "add", "(Ljava/lang/Object;)Z", true);
-            mv.visitInsn(POP);
+            mv.visitInsn(AASTORE);
         }
     }
 
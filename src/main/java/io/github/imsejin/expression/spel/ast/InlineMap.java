@@ -18,18 +18,26 @@ package io.github.imsejin.expression.spel.ast;
 
 import io.github.imsejin.expression.EvaluationException;
 import io.github.imsejin.expression.TypedValue;
+import io.github.imsejin.expression.asm.MethodVisitor;
+import io.github.imsejin.expression.spel.CodeFlow;
 import io.github.imsejin.expression.spel.ExpressionState;
 import io.github.imsejin.expression.spel.SpelNode;
+import io.github.imsejin.expression.spel.support.ConstantMap;
 import io.github.imsejin.expression.util.Assert;
 
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * Represent a map in an expression, e.g. '{name:'foo',age:12}'
  *
+ * <p>The value of a constant map is an immutable, hash-indexed {@link ConstantMap},
+ * which compiled expressions hold in a static field.
+ *
  * @author Andy Clement
+ * @author imsejin
  * @since 4.1
  */
 public class InlineMap extends SpelNodeImpl {
@@ -47,7 +55,7 @@ public class InlineMap extends SpelNodeImpl {
      * contain constants, then a constant list can be built to represent this node.
      * This will speed up later getValue calls and reduce the amount of garbage created.
      */
-    private void checkIfConstant() {
+    void checkIfConstant() {
         boolean isConstant = true;
         for (int c = 0, max = getChildCount(); c < max; c++) {
             SpelNode child = getChild(c);
@@ -71,7 +79,8 @@ public class InlineMap extends SpelNodeImpl {
             }
         }
         if (isConstant) {
-            Map<Object, Object> constantMap = new LinkedHashMap<>();
+            List<Object> keys = new ArrayList<>();
+            List<Object> values = new ArrayList<>();
             int childCount = getChildCount();
             for (int c = 0; c < childCount; c++) {
                 SpelNode keyChild = getChild(c++);
@@ -92,9 +101,10 @@ public class InlineMap extends SpelNodeImpl {
                 } else if (valueChild instanceof InlineMap) {
                     value = ((InlineMap) valueChild).getConstantValue();
                 }
-                constantMap.put(key, value);
+                keys.add(key);
+                values.add(value);
             }
-            this.constant = new TypedValue(Collections.unmodifiableMap(constantMap));
+            this.constant = new TypedValue(new ConstantMap(keys.toArray(), values.toArray()));
         }
     }
 
@@ -151,4 +161,38 @@ public class InlineMap extends SpelNodeImpl {
         return (Map<Object, Object>) this.constant.getValue();
     }
 
+    @Override
+    public boolean isCompilable() {
+        return isConstant();
+    }
+
+    @Override
+    public void generateCode(MethodVisitor mv, CodeFlow codeflow) {
+        final String constantFieldName = "inlineMap$" + codeflow.nextFieldId();
+        final String className = codeflow.getClassName();
+
+        codeflow.registerNewField((cw, cflow) ->
+                cw.visitField(ACC_PRIVATE | ACC_STATIC | ACC_FINAL, constantFieldName, "Ljava/util/Map;", null, null));
+
+        codeflow.registerNewClinit((mVisitor, cflow) -> {
+            generateConstantCode(mVisitor, cflow);
+            mVisitor.visitFieldInsn(PUTSTATIC, className, constantFieldName, "Ljava/util/Map;");
+        });
+
+        mv.visitFieldInsn(GETSTATIC, className, constantFieldName, "Ljava/util/Map;");
+        codeflow.pushDescriptor("Ljava/util/Map");
+    }
+
+    /**
+     * Generate code that leaves a new {@link ConstantMap} of the entries on the stack.
+     */
+    void generateConstantCode(MethodVisitor mv, CodeFlow codeflow) {
+        String mapType = "io/github/imsejin/expression/spel/support/ConstantMap";
+        mv.visitTypeInsn(NEW, mapType);
+        mv.visitInsn(DUP);
+        InlineList.generateConstantArrayCode(mv, codeflow, this.children, 0, 2);
+        InlineList.generateConstantArrayCode(mv, codeflow, this.children, 1, 2);
+        mv.visitMethodInsn(INVOKESPECIAL, mapType, "<init>", "([Ljava/lang/Object;[Ljava/lang/Object;)V", false);
+    }
+
 }
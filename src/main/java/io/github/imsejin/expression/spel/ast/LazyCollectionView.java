@@ -0,0 +1,200 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.imsejin.expression.spel.ast;
+
+import io.github.imsejin.expression.spel.ExpressionState;
+
+import java.lang.reflect.Array;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Base class for the lazily evaluated results of {@link Selection} and {@link Projection}.
+ * Nothing is evaluated until the view is iterated, and each iteration makes a single pass
+ * over the source, so that chained selections and projections over a view are fused.
+ *
+ * <p>Every iterator evaluates against its own copy of the expression state captured when
+ * the view was created. A view that is iterated more than once evaluates its elements
+ * again each time.
+ *
+ * @author imsejin
+ * @since 5.2.9
+ */
+abstract class LazyCollectionView extends AbstractCollection<Object> {
+
+    /**
+     * Returned by {@link #evaluate} for source elements that are not part of the view.
+     */
+    static final Object SKIP = new Object();
+
+
+    private final Object source;
+
+    private final ExpressionState state;
+
+    /**
+     * Create a view over the given source.
+     *
+     * @param source the source {@link Iterable} or array
+     * @param state  the state to take a copy of
+     */
+    LazyCollectionView(Object source, ExpressionState state) {
+        this.source = source;
+        this.state = state.copy();
+    }
+
+
+    /**
+     * Evaluate the view's element for the given source element.
+     *
+     * @param state   the expression state of the current iteration
+     * @param element the source element
+     * @param index   the index of the source element
+     * @return the element of the view, or {@link #SKIP} if there is none
+     */
+    abstract Object evaluate(ExpressionState state, Object element, int index);
+
+    /**
+     * Return the size of the source if it is known without iterating it, else -1.
+     */
+    int getSourceSize() {
+        if (this.source instanceof Collection) {
+            return ((Collection<?>) this.source).size();
+        }
+        if (this.source.getClass().isArray()) {
+            return Array.getLength(this.source);
+        }
+        return -1;
+    }
+
+    @Override
+    public Iterator<Object> iterator() {
+        return new ViewIterator(elementIterator(this.source), this.state.copy());
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Iterator<Object> it = iterator(); it.hasNext(); it.next()) {
+            size++;
+        }
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return !iterator().hasNext();
+    }
+
+    @Override
+    public Object[] toArray() {
+        return toList().toArray();
+    }
+
+    @Override
+    public <T> T[] toArray(T[] a) {
+        return toList().toArray(a);
+    }
+
+    /**
+     * Copy the elements in a single pass, rather than sizing the copy upfront.
+     */
+    private List<Object> toList() {
+        List<Object> list = new ArrayList<>();
+        for (Object element : this) {
+            list.add(element);
+        }
+        return list;
+    }
+
+
+    /**
+     * Iterate over the given {@link Iterable} or array, reading array elements one by one
+     * rather than boxing the whole array upfront.
+     */
+    static Iterator<?> elementIterator(Object source) {
+        if (source instanceof Iterable) {
+            return ((Iterable<?>) source).iterator();
+        }
+        return new Iterator<Object>() {
+
+            private final int length = Array.getLength(source);
+
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return (this.index < this.length);
+            }
+
+            @Override
+            public Object next() {
+                if (this.index >= this.length) {
+                    throw new NoSuchElementException();
+                }
+                return arrayElement(source, this.index++);
+            }
+        };
+    }
+
+    /**
+     * Return the element at the given index of the given array, boxing it if necessary.
+     */
+    static Object arrayElement(Object array, int index) {
+        return (array instanceof Object[] ? ((Object[]) array)[index] : Array.get(array, index));
+    }
+
+
+    private final class ViewIterator implements Iterator<Object> {
+
+        private final Iterator<?> elements;
+
+        private final ExpressionState state;
+
+        private int index;
+
+        private Object next = SKIP;
+
+        ViewIterator(Iterator<?> elements, ExpressionState state) {
+            this.elements = elements;
+            this.state = state;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (this.next == SKIP && this.elements.hasNext()) {
+                this.next = evaluate(this.state, this.elements.next(), this.index++);
+            }
+            return (this.next != SKIP);
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Object result = this.next;
+            this.next = SKIP;
+            return result;
+        }
+    }
+
+}
@@ -23,6 +23,7 @@ import io.github.imsejin.expression.core.convert.TypeDescriptor;
 import io.github.imsejin.expression.spel.CodeFlow;
 import io.github.imsejin.expression.spel.ExpressionState;
 import io.github.imsejin.expression.spel.SpelEvaluationException;
+import io.github.imsejin.expression.spel.SpelInvokerMode;
 import io.github.imsejin.expression.spel.SpelMessage;
 import io.github.imsejin.expression.spel.support.ReflectiveMethodExecutor;
 import io.github.imsejin.expression.spel.support.ReflectiveMethodResolver;
@@ -53,6 +54,10 @@ public class MethodReference extends SpelNodeImpl {
 
     private String originalPrimitiveExitTypeDescriptor;
 
+    // Method executors per receiver type
+    private final InlineCache<CachedMethodExecutor> executorCache = new InlineCache<>();
+
+    // The method executor used most recently, which drives compilation
     private volatile CachedMethodExecutor cachedExecutor;
 
 
@@ -67,6 +72,25 @@ public class MethodReference extends SpelNodeImpl {
         return this.name;
     }
 
+    /**
+     * Return whether this node has invoked the method on more receiver types than
+     * its inline cache holds, falling back to a per-class table of method executors.
+     *
+     * @since 5.2.9
+     */
+    public boolean isMegamorphic() {
+        return this.executorCache.isMegamorphic();
+    }
+
+    /**
+     * Return how often this node had to resolve a method executor for a receiver type.
+     *
+     * @since 5.2.9
+     */
+    public long getCacheMissCount() {
+        return this.executorCache.getMissCount();
+    }
+
     @Override
     protected ValueRef getValueRef(ExpressionState state) throws EvaluationException {
         Object[] arguments = getArguments(state);
@@ -83,13 +107,14 @@ public class MethodReference extends SpelNodeImpl {
         Object value = state.getActiveContextObject().getValue();
         TypeDescriptor targetType = state.getActiveContextObject().getTypeDescriptor();
         Object[] arguments = getArguments(state);
-        TypedValue result = getValueInternal(evaluationContext, value, targetType, arguments);
+        TypedValue result = getValueInternal(evaluationContext, value, targetType, arguments,
+                state.getConfiguration().getInvokerMode());
         updateExitTypeDescriptor();
         return result;
     }
 
-    private TypedValue getValueInternal(EvaluationContext evaluationContext,
-                                        Object value, TypeDescriptor targetType, Object[] arguments) {
+    private TypedValue getValueInternal(EvaluationContext evaluationContext, Object value,
+                                        TypeDescriptor targetType, Object[] arguments, SpelInvokerMode invokerMode) {
 
         List<TypeDescriptor> argumentTypes = getArgumentTypes(arguments);
         if (value == null) {
@@ -97,10 +122,14 @@ public class MethodReference extends SpelNodeImpl {
             return TypedValue.NULL;
         }
 
-        MethodExecutor executorToUse = getCachedExecutor(evaluationContext, value, targetType, argumentTypes);
+        boolean staticTarget = (value instanceof Class);
+        Class<?> receiverType = (staticTarget ? (Class<?>) value : value.getClass());
+        CachedMethodExecutor cachedExecutor =
+                getCachedExecutor(evaluationContext, value, receiverType, targetType, argumentTypes);
+        MethodExecutor executorToUse = (cachedExecutor != null ? cachedExecutor.get() : null);
         if (executorToUse != null) {
             try {
-                return executorToUse.execute(evaluationContext, value, arguments);
+                return execute(executorToUse, evaluationContext, value, arguments, invokerMode);
             } catch (AccessException ex) {
                 // Two reasons this can occur:
                 // 1. the method invoked actually threw a real exception
@@ -117,16 +146,19 @@ public class MethodReference extends SpelNodeImpl {
 
                 // At this point we know it wasn't a user problem so worth a retry if a
                 // better candidate can be found.
+                this.executorCache.remove(receiverType, staticTarget, cachedExecutor);
                 this.cachedExecutor = null;
             }
         }
 
         // either there was no accessor or it no longer existed
         executorToUse = findAccessorForMethod(argumentTypes, value, evaluationContext);
-        this.cachedExecutor = new CachedMethodExecutor(
-                executorToUse, (value instanceof Class ? (Class<?>) value : null), targetType, argumentTypes);
+        cachedExecutor = new CachedMethodExecutor(
+                executorToUse, (staticTarget ? receiverType : null), targetType, argumentTypes);
+        this.executorCache.put(receiverType, staticTarget, cachedExecutor);
+        this.cachedExecutor = cachedExecutor;
         try {
-            return executorToUse.execute(evaluationContext, value, arguments);
+            return execute(executorToUse, evaluationContext, value, arguments, invokerMode);
         } catch (AccessException ex) {
             // Same unwrapping exception handling as above in above catch block
             throwSimpleExceptionIfPossible(value, ex);
@@ -136,6 +168,15 @@ public class MethodReference extends SpelNodeImpl {
         }
     }
 
+    private TypedValue execute(MethodExecutor executor, EvaluationContext evaluationContext, Object value,
+                               Object[] arguments, SpelInvokerMode invokerMode) throws AccessException {
+
+        if (executor instanceof ReflectiveMethodExecutor) {
+            return ((ReflectiveMethodExecutor) executor).execute(evaluationContext, value, invokerMode, arguments);
+        }
+        return executor.execute(evaluationContext, value, arguments);
+    }
+
     private void throwIfNotNullSafe(List<TypeDescriptor> argumentTypes) {
         if (!this.nullSafe) {
             throw new SpelEvaluationException(getStartPosition(),
@@ -166,8 +207,9 @@ public class MethodReference extends SpelNodeImpl {
         return Collections.unmodifiableList(descriptors);
     }
 
-    private MethodExecutor getCachedExecutor(EvaluationContext evaluationContext, Object value,
-                                             TypeDescriptor target, List<TypeDescriptor> argumentTypes) {
+    private CachedMethodExecutor getCachedExecutor(EvaluationContext evaluationContext, Object value,
+                                                   Class<?> receiverType, TypeDescriptor target,
+                                                   List<TypeDescriptor> argumentTypes) {
 
         List<MethodResolver> methodResolvers = evaluationContext.getMethodResolvers();
         if (methodResolvers.size() != 1 || !(methodResolvers.get(0) instanceof ReflectiveMethodResolver)) {
@@ -175,11 +217,13 @@ public class MethodReference extends SpelNodeImpl {
             return null;
         }
 
-        CachedMethodExecutor executorToCheck = this.cachedExecutor;
+        CachedMethodExecutor executorToCheck = this.executorCache.get(receiverType, value instanceof Class);
         if (executorToCheck != null && executorToCheck.isSuitable(value, target, argumentTypes)) {
-            return executorToCheck.get();
+            if (this.cachedExecutor != executorToCheck) {
+                this.cachedExecutor = executorToCheck;
+            }
+            return executorToCheck;
         }
-        this.cachedExecutor = null;
         return null;
     }
 
@@ -384,17 +428,20 @@ public class MethodReference extends SpelNodeImpl {
 
         private final Object[] arguments;
 
+        private final SpelInvokerMode invokerMode;
+
         public MethodValueRef(ExpressionState state, Object[] arguments) {
             this.evaluationContext = state.getEvaluationContext();
             this.value = state.getActiveContextObject().getValue();
             this.targetType = state.getActiveContextObject().getTypeDescriptor();
             this.arguments = arguments;
+            this.invokerMode = state.getConfiguration().getInvokerMode();
         }
 
         @Override
         public TypedValue getValue() {
             TypedValue result = MethodReference.this.getValueInternal(
-                    this.evaluationContext, this.value, this.targetType, this.arguments);
+                    this.evaluationContext, this.value, this.targetType, this.arguments, this.invokerMode);
             updateExitTypeDescriptor();
             return result;
         }
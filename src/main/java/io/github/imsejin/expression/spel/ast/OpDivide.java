@@ -35,6 +35,7 @@ import io.github.imsejin.expression.util.NumberUtils;
  * @author Andy Clement
  * @author Juergen Hoeller
  * @author Giovanni Dall'Oglio Risso
+ * @author imsejin
  * @since 3.0
  */
 public class OpDivide extends Operator {
@@ -49,6 +50,17 @@ public class OpDivide extends Operator {
 		Object leftOperand = getLeftOperand().getValueInternal(state).getValue();
 		Object rightOperand = getRightOperand().getValueInternal(state).getValue();
 
+		switch (specialize(leftOperand, rightOperand)) {
+			case INT:
+				return typedValueOf((Integer) leftOperand / (Integer) rightOperand);
+			case LONG:
+				return typedValueOf((Long) leftOperand / (Long) rightOperand);
+			case DOUBLE:
+				return new TypedValue((Double) leftOperand / (Double) rightOperand);
+			default:
+				break;
+		}
+
 		if (leftOperand instanceof Number && rightOperand instanceof Number) {
 			Number leftNumber = (Number) leftOperand;
 			Number rightNumber = (Number) rightOperand;
@@ -27,6 +27,7 @@ import io.github.imsejin.expression.spel.support.BooleanTypedValue;
  * Implements the equality operator.
  *
  * @author Andy Clement
+ * @author imsejin
  * @since 3.0
  */
 public class OpEQ extends Operator {
@@ -41,6 +42,18 @@ public class OpEQ extends Operator {
 	public BooleanTypedValue getValueInternal(ExpressionState state) throws EvaluationException {
 		Object left = getLeftOperand().getValueInternal(state).getValue();
 		Object right = getRightOperand().getValueInternal(state).getValue();
+
+		switch (specialize(left, right)) {
+			case INT:
+				return BooleanTypedValue.forValue(((Integer) left).intValue() == ((Integer) right).intValue());
+			case LONG:
+				return BooleanTypedValue.forValue(((Long) left).longValue() == ((Long) right).longValue());
+			case DOUBLE:
+				return BooleanTypedValue.forValue(((Double) left).doubleValue() == ((Double) right).doubleValue());
+			default:
+				break;
+		}
+
 		this.leftActualDescriptor = CodeFlow.toDescriptorFromObject(left);
 		this.rightActualDescriptor = CodeFlow.toDescriptorFromObject(right);
 		return BooleanTypedValue.forValue(equalityCheck(state.getEvaluationContext(), left, right));
@@ -32,6 +32,7 @@ import io.github.imsejin.expression.util.NumberUtils;
  * @author Andy Clement
  * @author Juergen Hoeller
  * @author Giovanni Dall'Oglio Risso
+ * @author imsejin
  * @since 3.0
  */
 public class OpGE extends Operator {
@@ -47,6 +48,17 @@ public class OpGE extends Operator {
 		Object left = getLeftOperand().getValueInternal(state).getValue();
 		Object right = getRightOperand().getValueInternal(state).getValue();
 
+		switch (specialize(left, right)) {
+			case INT:
+				return BooleanTypedValue.forValue(((Integer) left).intValue() >= ((Integer) right).intValue());
+			case LONG:
+				return BooleanTypedValue.forValue(((Long) left).longValue() >= ((Long) right).longValue());
+			case DOUBLE:
+				return BooleanTypedValue.forValue(((Double) left).doubleValue() >= ((Double) right).doubleValue());
+			default:
+				break;
+		}
+
 		this.leftActualDescriptor = CodeFlow.toDescriptorFromObject(left);
 		this.rightActualDescriptor = CodeFlow.toDescriptorFromObject(right);
 
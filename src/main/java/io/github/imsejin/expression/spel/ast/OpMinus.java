@@ -43,6 +43,7 @@ import io.github.imsejin.expression.util.NumberUtils;
  * @author Andy Clement
  * @author Juergen Hoeller
  * @author Giovanni Dall'Oglio Risso
+ * @author imsejin
  * @since 3.0
  */
 public class OpMinus extends Operator {
@@ -98,6 +99,17 @@ public class OpMinus extends Operator {
 		Object left = leftOp.getValueInternal(state).getValue();
 		Object right = getRightOperand().getValueInternal(state).getValue();
 
+		switch (specialize(left, right)) {
+			case INT:
+				return typedValueOf((Integer) left - (Integer) right);
+			case LONG:
+				return typedValueOf((Long) left - (Long) right);
+			case DOUBLE:
+				return new TypedValue((Double) left - (Double) right);
+			default:
+				break;
+		}
+
 		if (left instanceof Number && right instanceof Number) {
 			Number leftNumber = (Number) left;
 			Number rightNumber = (Number) right;
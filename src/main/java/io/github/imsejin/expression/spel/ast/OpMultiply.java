@@ -48,6 +48,7 @@ import io.github.imsejin.expression.util.NumberUtils;
  * @author Juergen Hoeller
  * @author Sam Brannen
  * @author Giovanni Dall'Oglio Risso
+ * @author imsejin
  * @since 3.0
  */
 public class OpMultiply extends Operator {
@@ -72,6 +73,17 @@ public class OpMultiply extends Operator {
 		Object leftOperand = getLeftOperand().getValueInternal(state).getValue();
 		Object rightOperand = getRightOperand().getValueInternal(state).getValue();
 
+		switch (specialize(leftOperand, rightOperand)) {
+			case INT:
+				return typedValueOf((Integer) leftOperand * (Integer) rightOperand);
+			case LONG:
+				return typedValueOf((Long) leftOperand * (Long) rightOperand);
+			case DOUBLE:
+				return new TypedValue((Double) leftOperand * (Double) rightOperand);
+			default:
+				break;
+		}
+
 		if (leftOperand instanceof Number && rightOperand instanceof Number) {
 			Number leftNumber = (Number) leftOperand;
 			Number rightNumber = (Number) rightOperand;
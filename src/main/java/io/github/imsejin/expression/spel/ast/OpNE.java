@@ -28,6 +28,7 @@ import io.github.imsejin.expression.spel.support.BooleanTypedValue;
  * Implements the not-equal operator.
  *
  * @author Andy Clement
+ * @author imsejin
  * @since 3.0
  */
 public class OpNE extends Operator {
@@ -42,6 +43,19 @@ public class OpNE extends Operator {
 	public BooleanTypedValue getValueInternal(ExpressionState state) throws EvaluationException {
 		Object leftValue = getLeftOperand().getValueInternal(state).getValue();
 		Object rightValue = getRightOperand().getValueInternal(state).getValue();
+
+		switch (specialize(leftValue, rightValue)) {
+			case INT:
+				return BooleanTypedValue.forValue(((Integer) leftValue).intValue() != ((Integer) rightValue).intValue());
+			case LONG:
+				return BooleanTypedValue.forValue(((Long) leftValue).longValue() != ((Long) rightValue).longValue());
+			case DOUBLE:
+				return BooleanTypedValue.forValue(
+						((Double) leftValue).doubleValue() != ((Double) rightValue).doubleValue());
+			default:
+				break;
+		}
+
 		this.leftActualDescriptor = CodeFlow.toDescriptorFromObject(leftValue);
 		this.rightActualDescriptor = CodeFlow.toDescriptorFromObject(rightValue);
 		return BooleanTypedValue.forValue(!equalityCheck(state.getEvaluationContext(), leftValue, rightValue));
@@ -45,6 +45,7 @@ import java.math.BigInteger;
  * @author Juergen Hoeller
  * @author Ivo Smid
  * @author Giovanni Dall'Oglio Risso
+ * @author imsejin
  * @since 3.0
  */
 public class OpPlus extends Operator {
@@ -98,6 +99,17 @@ public class OpPlus extends Operator {
         TypedValue operandTwoValue = getRightOperand().getValueInternal(state);
         Object rightOperand = operandTwoValue.getValue();
 
+        switch (specialize(leftOperand, rightOperand)) {
+            case INT:
+                return typedValueOf((Integer) leftOperand + (Integer) rightOperand);
+            case LONG:
+                return typedValueOf((Long) leftOperand + (Long) rightOperand);
+            case DOUBLE:
+                return new TypedValue((Double) leftOperand + (Double) rightOperand);
+            default:
+                break;
+        }
+
         if (leftOperand instanceof Number && rightOperand instanceof Number) {
             Number leftNumber = (Number) leftOperand;
             Number rightNumber = (Number) rightOperand;
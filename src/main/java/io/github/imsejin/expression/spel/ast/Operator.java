@@ -17,8 +17,10 @@
 package io.github.imsejin.expression.spel.ast;
 
 import io.github.imsejin.expression.EvaluationContext;
+import io.github.imsejin.expression.TypedValue;
 import io.github.imsejin.expression.asm.Label;
 import io.github.imsejin.expression.asm.MethodVisitor;
+import io.github.imsejin.expression.core.convert.TypeDescriptor;
 import io.github.imsejin.expression.spel.CodeFlow;
 import io.github.imsejin.expression.util.ClassUtils;
 import io.github.imsejin.expression.util.NumberUtils;
@@ -35,12 +37,35 @@ import java.math.BigInteger;
  * @author Andy Clement
  * @author Juergen Hoeller
  * @author Giovanni Dall'Oglio Risso
+ * @author imsejin
  * @since 3.0
  */
 public abstract class Operator extends SpelNodeImpl {
 
+    // Results in this range are served from shared TypedValue instances
+    private static final int CACHE_LOW = -128;
+
+    private static final int CACHE_HIGH = 1023;
+
+    private static final TypedValue[] intValueCache = new TypedValue[CACHE_HIGH - CACHE_LOW + 1];
+
+    private static final TypedValue[] longValueCache = new TypedValue[CACHE_HIGH - CACHE_LOW + 1];
+
+    static {
+        TypeDescriptor intType = TypeDescriptor.valueOf(Integer.class);
+        TypeDescriptor longType = TypeDescriptor.valueOf(Long.class);
+        for (int i = 0; i < intValueCache.length; i++) {
+            intValueCache[i] = new TypedValue(i + CACHE_LOW, intType);
+            longValueCache[i] = new TypedValue((long) (i + CACHE_LOW), longType);
+        }
+    }
+
+
     private final String operatorName;
 
+    // The operand types this operator has specialized on, see specialize(Object, Object)
+    private Specialization specialization = Specialization.UNINITIALIZED;
+
     // The descriptors of the runtime operand values are used if the discovered declared
     // descriptors are not providing enough information (for example a generic type
     // whose accessors seem to only be returning 'Object' - the actual descriptors may
@@ -118,6 +143,56 @@ public abstract class Operator extends SpelNodeImpl {
         return false;
     }
 
+    /**
+     * Return a {@link TypedValue} for the given result of an int operation.
+     */
+    protected static TypedValue typedValueOf(int value) {
+        if (value >= CACHE_LOW && value <= CACHE_HIGH) {
+            return intValueCache[value - CACHE_LOW];
+        }
+        return new TypedValue(value);
+    }
+
+    /**
+     * Return a {@link TypedValue} for the given result of a long operation.
+     */
+    protected static TypedValue typedValueOf(long value) {
+        if (value >= CACHE_LOW && value <= CACHE_HIGH) {
+            return longValueCache[(int) value - CACHE_LOW];
+        }
+        return new TypedValue(value);
+    }
+
+    /**
+     * Check the operand values of a binary operator against the operand types it has
+     * specialized on, so that the operator can take a fast path for them rather than
+     * going through its generic handling of all kinds of numbers.
+     * <p>The first evaluation only records the types: it returns
+     * {@link Specialization#GENERIC} so that the generic path also records whatever
+     * compilation needs. Thereafter, operand values of other types deoptimize the
+     * operator to the generic path for good.
+     *
+     * @param left  the left-hand operand value
+     * @param right the right-hand operand value
+     * @return the specialization to take for these operand values
+     */
+    protected final Specialization specialize(Object left, Object right) {
+        Specialization specialization = this.specialization;
+        if (specialization.matches(left, right)) {
+            return specialization;
+        }
+        this.specialization = (specialization == Specialization.UNINITIALIZED ?
+                Specialization.forOperands(left, right) : Specialization.GENERIC);
+        return Specialization.GENERIC;
+    }
+
+    /**
+     * Return the operand types this operator has specialized on.
+     */
+    Specialization getSpecialization() {
+        return this.specialization;
+    }
+
     public SpelNodeImpl getLeftOperand() {
         return this.children[0];
     }
@@ -302,6 +377,61 @@ public abstract class Operator extends SpelNodeImpl {
         cf.pushDescriptor("Z");
     }
 
+    /**
+     * The operand types a binary operator may specialize on. Both operand values must
+     * be of exactly that type for the specialized path to be taken.
+     */
+    protected enum Specialization {
+
+        /**
+         * No operand values have been observed yet.
+         */
+        UNINITIALIZED(null),
+
+        /**
+         * Both operand values are {@link Integer Integers}.
+         */
+        INT(Integer.class),
+
+        /**
+         * Both operand values are {@link Long Longs}.
+         */
+        LONG(Long.class),
+
+        /**
+         * Both operand values are {@link Double Doubles}.
+         */
+        DOUBLE(Double.class),
+
+        /**
+         * Operand values of any types, handled by the generic path.
+         */
+        GENERIC(null);
+
+        private final Class<?> operandType;
+
+        Specialization(Class<?> operandType) {
+            this.operandType = operandType;
+        }
+
+        boolean matches(Object left, Object right) {
+            if (this.operandType == null) {
+                return (this == GENERIC);
+            }
+            return (left != null && left.getClass() == this.operandType &&
+                    right != null && right.getClass() == this.operandType);
+        }
+
+        static Specialization forOperands(Object left, Object right) {
+            for (Specialization specialization : values()) {
+                if (specialization.operandType != null && specialization.matches(left, right)) {
+                    return specialization;
+                }
+            }
+            return GENERIC;
+        }
+    }
+
     /**
      * A descriptor comparison encapsulates the result of comparing descriptor
      * for two operands and describes at what level they are compatible.
@@ -16,17 +16,17 @@
 
 package io.github.imsejin.expression.spel.ast;
 
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
 import io.github.imsejin.expression.EvaluationException;
+import io.github.imsejin.expression.asm.MethodVisitor;
+import io.github.imsejin.expression.spel.CodeFlow;
 import io.github.imsejin.expression.spel.ExpressionState;
 import io.github.imsejin.expression.spel.SpelEvaluationException;
 import io.github.imsejin.expression.spel.SpelMessage;
 import io.github.imsejin.expression.spel.support.BooleanTypedValue;
+import io.github.imsejin.expression.spel.support.PatternCache;
 
 /**
  * Implements the matches operator. Matches takes two operands:
@@ -34,19 +34,25 @@ import io.github.imsejin.expression.spel.support.BooleanTypedValue;
  * It will return {@code true} when {@link #getValue} is called
  * if the first operand matches the regex.
  *
+ * <p>A regex given as a string literal is compiled once, when the expression is
+ * parsed, and makes the operator compilable. Any other regex is looked up in the
+ * bounded {@linkplain PatternCache#getSharedInstance() shared pattern cache}.
+ *
  * @author Andy Clement
  * @author Juergen Hoeller
+ * @author imsejin
  * @since 3.0
  */
 public class OperatorMatches extends Operator {
 
 	private static final int PATTERN_ACCESS_THRESHOLD = 1000000;
 
-	private final ConcurrentMap<String, Pattern> patternCache = new ConcurrentHashMap<>();
+	private final Pattern literalPattern;
 
 
 	public OperatorMatches(int startPos, int endPos, SpelNodeImpl... operands) {
 		super("matches", startPos, endPos, operands);
+		this.literalPattern = compileLiteralPattern(getRightOperand());
 	}
 
 
@@ -63,70 +69,134 @@ public class OperatorMatches extends Operator {
 		SpelNodeImpl leftOp = getLeftOperand();
 		SpelNodeImpl rightOp = getRightOperand();
 		String left = leftOp.getValue(state, String.class);
-		Object right = getRightOperand().getValue(state);
+		Object right = (this.literalPattern != null ? null : rightOp.getValue(state));
 
 		if (left == null) {
 			throw new SpelEvaluationException(leftOp.getStartPosition(),
 					SpelMessage.INVALID_FIRST_OPERAND_FOR_MATCHES_OPERATOR, (Object) null);
 		}
-		if (!(right instanceof String)) {
+		if (this.literalPattern == null && !(right instanceof String)) {
 			throw new SpelEvaluationException(rightOp.getStartPosition(),
 					SpelMessage.INVALID_SECOND_OPERAND_FOR_MATCHES_OPERATOR, right);
 		}
 
 		try {
-			String rightString = (String) right;
-			Pattern pattern = this.patternCache.get(rightString);
-			if (pattern == null) {
-				pattern = Pattern.compile(rightString);
-				this.patternCache.putIfAbsent(rightString, pattern);
+			Pattern pattern = (this.literalPattern != null ? this.literalPattern :
+					PatternCache.getSharedInstance().getPattern((String) right));
+			boolean result = pattern.matcher(new MatcherInput(left)).matches();
+			if (this.literalPattern != null && "Ljava/lang/String".equals(leftOp.exitTypeDescriptor)) {
+				this.exitTypeDescriptor = "Z";
 			}
-			Matcher matcher = pattern.matcher(new MatcherInput(left, new AccessCount()));
-			return BooleanTypedValue.forValue(matcher.matches());
+			return BooleanTypedValue.forValue(result);
 		}
 		catch (PatternSyntaxException ex) {
 			throw new SpelEvaluationException(
 					rightOp.getStartPosition(), ex, SpelMessage.INVALID_PATTERN, right);
 		}
 		catch (IllegalStateException ex) {
-			throw new SpelEvaluationException(
-					rightOp.getStartPosition(), ex, SpelMessage.FLAWED_PATTERN, right);
+			throw new SpelEvaluationException(rightOp.getStartPosition(), ex, SpelMessage.FLAWED_PATTERN,
+					(this.literalPattern != null ? this.literalPattern.pattern() : right));
 		}
 	}
 
+	@Override
+	public boolean isCompilable() {
+		return (this.literalPattern != null && this.exitTypeDescriptor != null &&
+				getLeftOperand().isCompilable());
+	}
 
-	private static class AccessCount {
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow cf) {
+		String className = cf.getClassName();
+		String fieldName = "pattern$" + cf.nextFieldId();
+		String regex = this.literalPattern.pattern();
+		cf.registerNewField((cw, codeflow) ->
+				cw.visitField(ACC_PRIVATE | ACC_STATIC | ACC_FINAL, fieldName, "Ljava/util/regex/Pattern;", null, null));
+		cf.registerNewClinit((mVisitor, codeflow) -> {
+			mVisitor.visitLdcInsn(regex);
+			mVisitor.visitMethodInsn(INVOKESTATIC, "java/util/regex/Pattern", "compile",
+					"(Ljava/lang/String;)Ljava/util/regex/Pattern;", false);
+			mVisitor.visitFieldInsn(PUTSTATIC, className, fieldName, "Ljava/util/regex/Pattern;");
+		});
+
+		mv.visitFieldInsn(GETSTATIC, className, fieldName, "Ljava/util/regex/Pattern;");
+		cf.enterCompilationScope();
+		getLeftOperand().generateCode(mv, cf);
+		cf.exitCompilationScope();
+		mv.visitMethodInsn(INVOKESTATIC, "io/github/imsejin/expression/spel/ast/OperatorMatches", "matches",
+				"(Ljava/util/regex/Pattern;Ljava/lang/String;)Z", false);
+		cf.pushDescriptor(this.exitTypeDescriptor);
+	}
 
-		private int count;
 
-		public void check() throws IllegalStateException {
-			if (this.count++ > PATTERN_ACCESS_THRESHOLD) {
-				throw new IllegalStateException("Pattern access threshold exceeded");
+	/**
+	 * Check whether the given input matches the given pattern, guarding against
+	 * catastrophic backtracking. Called by compiled expressions.
+	 * @param pattern the pattern to match against
+	 * @param input the input to match
+	 * @return {@code true} if the input matches the pattern
+	 * @throws SpelEvaluationException if the input is {@code null} or the pattern
+	 * takes too many steps to match
+	 * @since 5.2.9
+	 */
+	public static boolean matches(Pattern pattern, String input) throws SpelEvaluationException {
+		if (input == null) {
+			throw new SpelEvaluationException(
+					SpelMessage.INVALID_FIRST_OPERAND_FOR_MATCHES_OPERATOR, (Object) null);
+		}
+		try {
+			return pattern.matcher(new MatcherInput(input)).matches();
+		}
+		catch (IllegalStateException ex) {
+			throw new SpelEvaluationException(ex, SpelMessage.FLAWED_PATTERN, pattern.pattern());
+		}
+	}
+
+	private static Pattern compileLiteralPattern(SpelNodeImpl operand) {
+		if (operand instanceof StringLiteral) {
+			try {
+				return Pattern.compile((String) ((StringLiteral) operand).getLiteralValue().getValue());
+			}
+			catch (PatternSyntaxException ex) {
+				// Reported when the expression is evaluated
 			}
 		}
+		return null;
 	}
 
 
+	/**
+	 * Input that counts character accesses across all of its sub-sequences.
+	 */
 	private static class MatcherInput implements CharSequence {
 
 		private final CharSequence value;
 
-		private final AccessCount access;
+		private final MatcherInput root;
 
-		public MatcherInput(CharSequence value, AccessCount access) {
+		private int accessCount;
+
+		public MatcherInput(CharSequence value) {
+			this.value = value;
+			this.root = this;
+		}
+
+		private MatcherInput(CharSequence value, MatcherInput root) {
 			this.value = value;
-			this.access = access;
+			this.root = root;
 		}
 
 		@Override
 		public char charAt(int index) {
-			this.access.check();
+			if (this.root.accessCount++ > PATTERN_ACCESS_THRESHOLD) {
+				throw new IllegalStateException("Pattern access threshold exceeded");
+			}
 			return this.value.charAt(index);
 		}
 
 		@Override
 		public CharSequence subSequence(int start, int end) {
-			return new MatcherInput(this.value.subSequence(start, end), this.access);
+			return new MatcherInput(this.value.subSequence(start, end), this.root);
 		}
 
 		@Override
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.imsejin.expression.spel.ast;
+
+import io.github.imsejin.expression.spel.ExpressionState;
+
+import java.lang.reflect.Array;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Evaluates an operation against every element of a large list or array on the common
+ * {@link ForkJoinPool}, for {@link Selection} and {@link Projection}, and for the batch
+ * evaluation of an expression against many root objects. The source is split into
+ * chunks, each of which is evaluated against its own copy of the expression state;
+ * the results are returned in source order.
+ *
+ * <p>If the operation fails, the exception for the lowest failing index is rethrown on
+ * the calling thread, as it would have been thrown by a sequential evaluation.
+ *
+ * @author imsejin
+ * @since 5.2.9
+ * @see io.github.imsejin.expression.spel.SpelParserConfiguration#getParallelThreshold()
+ */
+public final class ParallelEvaluation {
+
+    // Number of chunks per worker thread, so that uneven chunks can be balanced
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private ParallelEvaluation() {
+    }
+
+
+    /**
+     * Determine whether the given source is to be evaluated in parallel: a list with
+     * random access or an array, with at least as many elements as the configured threshold.
+     */
+    public static boolean isApplicable(Object source, ExpressionState state) {
+        int size;
+        if (source instanceof List && source instanceof RandomAccess) {
+            size = ((List<?>) source).size();
+        } else if (source != null && source.getClass().isArray()) {
+            size = Array.getLength(source);
+        } else {
+            return false;
+        }
+        return (size >= state.getConfiguration().getParallelThreshold() && size > 1);
+    }
+
+    /**
+     * Evaluate the given operation against every element of the given source.
+     *
+     * @param source    a list with random access or an array
+     * @param state     the state to take a copy of for every chunk
+     * @param evaluator the operation to evaluate
+     * @return the results, indexed like the source
+     */
+    public static Object[] evaluate(Object source, ExpressionState state, ElementEvaluator evaluator) {
+        int size = (source instanceof List ? ((List<?>) source).size() : Array.getLength(source));
+        Object[] results = new Object[size];
+        evaluate(source, state, evaluator, results);
+        return results;
+    }
+
+    /**
+     * Evaluate the given operation against every element of the given source, writing
+     * the results into the given array.
+     *
+     * @param source    a list with random access or an array
+     * @param state     the state to take a copy of for every chunk
+     * @param evaluator the operation to evaluate
+     * @param results   the array to write the results to, indexed like the source
+     */
+    public static void evaluate(Object source, ExpressionState state, ElementEvaluator evaluator, Object[] results) {
+        int size = (source instanceof List ? ((List<?>) source).size() : Array.getLength(source));
+        int chunkSize = Math.max(1, size / (ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_THREAD));
+        Failure failure = new Failure();
+        ForkJoinPool.commonPool().invoke(
+                new EvaluationTask(source, state, evaluator, results, 0, size, chunkSize, failure));
+        failure.rethrow();
+    }
+
+
+    /**
+     * An operation on a single element.
+     */
+    public interface ElementEvaluator {
+
+        /**
+         * Evaluate the operation against the given element.
+         *
+         * @param state   the expression state of the current chunk
+         * @param element the source element
+         * @param index   the index of the source element
+         * @return the result for the element
+         */
+        Object evaluate(ExpressionState state, Object element, int index);
+    }
+
+
+    @SuppressWarnings("serial")
+    private static final class EvaluationTask extends RecursiveAction {
+
+        private final Object source;
+
+        private final ExpressionState state;
+
+        private final ElementEvaluator evaluator;
+
+        private final Object[] results;
+
+        private final int from;
+
+        private final int to;
+
+        private final int chunkSize;
+
+        private final Failure failure;
+
+        EvaluationTask(Object source, ExpressionState state, ElementEvaluator evaluator,
+                       Object[] results, int from, int to, int chunkSize, Failure failure) {
+
+            this.source = source;
+            this.state = state;
+            this.evaluator = evaluator;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+            this.failure = failure;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from > this.chunkSize) {
+                int middle = (this.from + this.to) >>> 1;
+                invokeAll(new EvaluationTask(this.source, this.state, this.evaluator, this.results,
+                                this.from, middle, this.chunkSize, this.failure),
+                        new EvaluationTask(this.source, this.state, this.evaluator, this.results,
+                                middle, this.to, this.chunkSize, this.failure));
+                return;
+            }
+            if (this.failure.precedes(this.from)) {
+                // A sequential evaluation would not have got this far
+                return;
+            }
+            ExpressionState chunkState = this.state.copy();
+            List<?> list = (this.source instanceof List ? (List<?>) this.source : null);
+            int i = this.from;
+            try {
+                for (; i < this.to; i++) {
+                    Object element = (list != null ? list.get(i) : LazyCollectionView.arrayElement(this.source, i));
+                    this.results[i] = this.evaluator.evaluate(chunkState, element, i);
+                }
+            } catch (Throwable ex) {
+                // Rethrown by the calling thread, rather than wrapped by the pool
+                this.failure.record(i, ex);
+            }
+        }
+    }
+
+
+    /**
+     * The exception for the lowest failing index across all chunks.
+     */
+    private static final class Failure {
+
+        private int index = Integer.MAX_VALUE;
+
+        private Throwable exception;
+
+        synchronized void record(int index, Throwable exception) {
+            if (index < this.index) {
+                this.index = index;
+                this.exception = exception;
+            }
+        }
+
+        synchronized boolean precedes(int index) {
+            return (this.index < index);
+        }
+
+        synchronized void rethrow() {
+            if (this.exception instanceof RuntimeException) {
+                throw (RuntimeException) this.exception;
+            }
+            if (this.exception instanceof Error) {
+                throw (Error) this.exception;
+            }
+            if (this.exception != null) {
+                throw new IllegalStateException(this.exception);
+            }
+        }
+    }
+
+}
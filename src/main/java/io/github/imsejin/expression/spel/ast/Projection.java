@@ -26,7 +26,9 @@ import io.github.imsejin.expression.util.ObjectUtils;
 
 import java.lang.reflect.Array;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -35,9 +37,16 @@ import java.util.Map;
  * input sequence, returning a new sequence of the same size. For example:
  * "{1,2,3,4,5,6,7,8,9,10}.!{#isEven(#this)}" returns "[n, y, n, y, n, y, n, y, n, y]"
  *
+ * <p>If {@linkplain io.github.imsejin.expression.spel.SpelParserConfiguration#isLazySelectionAndProjection()
+ * configured}, the result is a lazily evaluated view rather than a new list or array.
+ * Projection over a large list or array can also be
+ * {@linkplain io.github.imsejin.expression.spel.SpelParserConfiguration#getParallelThreshold()
+ * evaluated in parallel}.
+ *
  * @author Andy Clement
  * @author Mark Fisher
  * @author Juergen Hoeller
+ * @author imsejin
  * @since 3.0
  */
 public class Projection extends SpelNodeImpl {
@@ -69,40 +78,46 @@ public class Projection extends SpelNodeImpl {
         // has two fields 'key' and 'value' that refer to the map entries key
         // and value, and they can be referenced in the operation
         // eg. {'a':'y','b':'n'}.![value=='y'?key:null]" == ['a', null]
+        boolean lazy = state.getConfiguration().isLazySelectionAndProjection();
         if (operand instanceof Map) {
             Map<?, ?> mapData = (Map<?, ?>) operand;
-            List<Object> result = new ArrayList<>();
+            if (lazy) {
+                return new ValueRef.TypedValueHolderValueRef(
+                        new TypedValue(new ProjectionView(mapData.entrySet(), state, false)), this);
+            }
+            List<Object> result = new ArrayList<>(mapData.size());
             for (Map.Entry<?, ?> entry : mapData.entrySet()) {
-                try {
-                    state.pushActiveContextObject(new TypedValue(entry));
-                    state.enterScope();
-                    result.add(this.children[0].getValueInternal(state).getValue());
-                } finally {
-                    state.popActiveContextObject();
-                    state.exitScope();
-                }
+                result.add(project(state, entry, -1));
             }
             return new ValueRef.TypedValueHolderValueRef(new TypedValue(result), this);  // TODO unable to build correct type descriptor
         }
 
         if (operand instanceof Iterable || operandIsArray) {
-            Iterable<?> data = (operand instanceof Iterable ?
-                    (Iterable<?>) operand : Arrays.asList(ObjectUtils.toObjectArray(operand)));
+            if (lazy) {
+                return new ValueRef.TypedValueHolderValueRef(
+                        new TypedValue(new ProjectionView(operand, state, true)), this);
+            }
 
-            List<Object> result = new ArrayList<>();
+            List<Object> result = (operand instanceof Collection ?
+                    new ArrayList<>(((Collection<?>) operand).size()) : new ArrayList<>());
             Class<?> arrayElementType = null;
-            for (Object element : data) {
-                try {
-                    state.pushActiveContextObject(new TypedValue(element));
-                    state.enterScope("index", result.size());
-                    Object value = this.children[0].getValueInternal(state).getValue();
+            if (ParallelEvaluation.isApplicable(operand, state)) {
+                Collections.addAll(result, ParallelEvaluation.evaluate(operand, state, this::project));
+                if (operandIsArray) {
+                    for (Object value : result) {
+                        if (value != null) {
+                            arrayElementType = determineCommonType(arrayElementType, value.getClass());
+                        }
+                    }
+                }
+            } else {
+                Iterator<?> elements = LazyCollectionView.elementIterator(operand);
+                while (elements.hasNext()) {
+                    Object value = project(state, elements.next(), result.size());
                     if (value != null && operandIsArray) {
                         arrayElementType = determineCommonType(arrayElementType, value.getClass());
                     }
                     result.add(value);
-                } finally {
-                    state.exitScope();
-                    state.popActiveContextObject();
                 }
             }
 
@@ -134,6 +149,24 @@ public class Projection extends SpelNodeImpl {
         return "![" + getChild(0).toStringAST() + "]";
     }
 
+    /**
+     * Evaluate the projection against the given element, a map entry if the index is negative.
+     */
+    private Object project(ExpressionState state, Object element, int index) {
+        try {
+            state.pushActiveContextObject(new TypedValue(element));
+            if (index < 0) {
+                state.enterScope();
+            } else {
+                state.enterScope("index", index);
+            }
+            return this.children[0].getValueInternal(state).getValue();
+        } finally {
+            state.exitScope();
+            state.popActiveContextObject();
+        }
+    }
+
     private Class<?> determineCommonType(Class<?> oldType, Class<?> newType) {
         if (oldType == null) {
             return newType;
@@ -156,4 +189,30 @@ public class Projection extends SpelNodeImpl {
         return Object.class;
     }
 
+
+    /**
+     * Lazily evaluated result of a projection.
+     */
+    private final class ProjectionView extends LazyCollectionView {
+
+        private final boolean indexed;
+
+        ProjectionView(Object source, ExpressionState state, boolean indexed) {
+            super(source, state);
+            this.indexed = indexed;
+        }
+
+        @Override
+        Object evaluate(ExpressionState state, Object element, int index) {
+            return project(state, element, (this.indexed ? index : -1));
+        }
+
+        @Override
+        public int size() {
+            // A projection has exactly one element per source element
+            int size = getSourceSize();
+            return (size >= 0 ? size : super.size());
+        }
+    }
+
 }
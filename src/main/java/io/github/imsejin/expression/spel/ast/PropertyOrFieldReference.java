@@ -37,6 +37,7 @@ import java.util.Map;
  * @author Andy Clement
  * @author Juergen Hoeller
  * @author Clark Duplichien
+ * @author imsejin
  * @since 3.0
  */
 public class PropertyOrFieldReference extends SpelNodeImpl {
@@ -47,9 +48,13 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 
     private String originalPrimitiveExitTypeDescriptor;
 
+    // Read accessors per receiver type
+    private final InlineCache<CachedAccessor> readAccessorCache = new InlineCache<>();
+
+    // The read accessor used most recently, which drives compilation
     private volatile PropertyAccessor cachedReadAccessor;
 
-    private volatile PropertyAccessor cachedWriteAccessor;
+    private volatile CachedAccessor cachedWriteAccessor;
 
 
     public PropertyOrFieldReference(boolean nullSafe, String propertyOrFieldName, int startPos, int endPos) {
@@ -67,17 +72,36 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
         return this.name;
     }
 
+    /**
+     * Return whether this node has read the property from more receiver types than
+     * its inline cache holds, falling back to a per-class table of read accessors.
+     *
+     * @since 5.2.9
+     */
+    public boolean isMegamorphic() {
+        return this.readAccessorCache.isMegamorphic();
+    }
+
+    /**
+     * Return how often this node had to resolve a read accessor for a receiver type.
+     *
+     * @since 5.2.9
+     */
+    public long getCacheMissCount() {
+        return this.readAccessorCache.getMissCount();
+    }
+
 
     @Override
     public ValueRef getValueRef(ExpressionState state) throws EvaluationException {
         return new AccessorLValue(this, state.getActiveContextObject(), state.getEvaluationContext(),
-                state.getConfiguration().isAutoGrowNullReferences());
+                state.getConfiguration().isAutoGrowNullReferences(), state.getConfiguration().getInvokerMode());
     }
 
     @Override
     public TypedValue getValueInternal(ExpressionState state) throws EvaluationException {
         TypedValue tv = getValueInternal(state.getActiveContextObject(), state.getEvaluationContext(),
-                state.getConfiguration().isAutoGrowNullReferences());
+                state.getConfiguration().isAutoGrowNullReferences(), state.getConfiguration().getInvokerMode());
         PropertyAccessor accessorToUse = this.cachedReadAccessor;
         if (accessorToUse instanceof CompilablePropertyAccessor) {
             CompilablePropertyAccessor accessor = (CompilablePropertyAccessor) accessorToUse;
@@ -87,9 +111,10 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
     }
 
     private TypedValue getValueInternal(TypedValue contextObject, EvaluationContext evalContext,
-                                        boolean isAutoGrowNullReferences) throws EvaluationException {
+                                        boolean isAutoGrowNullReferences, SpelInvokerMode invokerMode)
+            throws EvaluationException {
 
-        TypedValue result = readProperty(contextObject, evalContext, this.name);
+        TypedValue result = readProperty(contextObject, evalContext, this.name, invokerMode);
 
         // Dynamically create the objects if the user has requested that optional behavior
         if (result.getValue() == null && isAutoGrowNullReferences &&
@@ -101,13 +126,13 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
                 if (isWritableProperty(this.name, contextObject, evalContext)) {
                     List<?> newList = new ArrayList<>();
                     writeProperty(contextObject, evalContext, this.name, newList);
-                    result = readProperty(contextObject, evalContext, this.name);
+                    result = readProperty(contextObject, evalContext, this.name, invokerMode);
                 }
             } else if (Map.class == resultDescriptor.getType()) {
                 if (isWritableProperty(this.name, contextObject, evalContext)) {
                     Map<?, ?> newMap = new HashMap<>();
                     writeProperty(contextObject, evalContext, this.name, newMap);
-                    result = readProperty(contextObject, evalContext, this.name);
+                    result = readProperty(contextObject, evalContext, this.name, invokerMode);
                 }
             } else {
                 // 'simple' object
@@ -116,7 +141,7 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
                         Class<?> clazz = result.getTypeDescriptor().getType();
                         Object newObject = ReflectionUtils.accessibleConstructor(clazz).newInstance();
                         writeProperty(contextObject, evalContext, this.name, newObject);
-                        result = readProperty(contextObject, evalContext, this.name);
+                        result = readProperty(contextObject, evalContext, this.name, invokerMode);
                     }
                 } catch (InvocationTargetException ex) {
                     throw new SpelEvaluationException(getStartPosition(), ex.getTargetException(),
@@ -151,38 +176,52 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
      * @return the value of the property
      * @throws EvaluationException if any problem accessing the property or it cannot be found
      */
-    private TypedValue readProperty(TypedValue contextObject, EvaluationContext evalContext, String name)
-            throws EvaluationException {
+    private TypedValue readProperty(TypedValue contextObject, EvaluationContext evalContext, String name,
+                                    SpelInvokerMode invokerMode) throws EvaluationException {
 
         Object targetObject = contextObject.getValue();
         if (targetObject == null && this.nullSafe) {
             return TypedValue.NULL;
         }
 
-        PropertyAccessor accessorToUse = this.cachedReadAccessor;
-        if (accessorToUse != null) {
-            if (evalContext.getPropertyAccessors().contains(accessorToUse)) {
-                try {
-                    return accessorToUse.read(evalContext, contextObject.getValue(), name);
-                } catch (Exception ex) {
-                    // This is OK - it may have gone stale due to a class change,
-                    // let's try to get a new one and call it before giving up...
+        Class<?> targetType = null;
+        boolean staticTarget = (targetObject instanceof Class);
+        if (targetObject != null) {
+            targetType = (staticTarget ? (Class<?>) targetObject : targetObject.getClass());
+            CachedAccessor cachedAccessor = this.readAccessorCache.get(targetType, staticTarget);
+            if (cachedAccessor != null) {
+                if (cachedAccessor.isApplicable(evalContext.getPropertyAccessors())) {
+                    try {
+                        TypedValue result = cachedAccessor.accessor.read(evalContext, targetObject, name);
+                        if (this.cachedReadAccessor != cachedAccessor.accessor) {
+                            this.cachedReadAccessor = cachedAccessor.accessor;
+                        }
+                        return result;
+                    } catch (Exception ex) {
+                        // This is OK - it may have gone stale due to a class change,
+                        // let's try to get a new one and call it before giving up...
+                    }
                 }
+                this.readAccessorCache.remove(targetType, staticTarget, cachedAccessor);
             }
-            this.cachedReadAccessor = null;
         }
 
-        List<PropertyAccessor> accessorsToTry =
-                getPropertyAccessorsToTry(contextObject.getValue(), evalContext.getPropertyAccessors());
+        List<PropertyAccessor> propertyAccessors = evalContext.getPropertyAccessors();
+        List<PropertyAccessor> accessorsToTry = getPropertyAccessorsToTry(contextObject.getValue(), propertyAccessors);
         // Go through the accessors that may be able to resolve it. If they are a cacheable accessor then
         // get the accessor and use it. If they are not cacheable but report they can read the property
         // then ask them to read it
         try {
             for (PropertyAccessor accessor : accessorsToTry) {
                 if (accessor.canRead(evalContext, contextObject.getValue(), name)) {
+                    PropertyAccessor origin = accessor;
                     if (accessor instanceof ReflectivePropertyAccessor) {
                         accessor = ((ReflectivePropertyAccessor) accessor).createOptimalAccessor(
-                                evalContext, contextObject.getValue(), name);
+                                evalContext, contextObject.getValue(), name, invokerMode);
+                    }
+                    if (targetType != null) {
+                        this.readAccessorCache.put(targetType, staticTarget,
+                                new CachedAccessor(accessor, origin, propertyAccessors));
                     }
                     this.cachedReadAccessor = accessor;
                     return accessor.read(evalContext, contextObject.getValue(), name);
@@ -211,11 +250,11 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
             throw new SpelEvaluationException(getStartPosition(), SpelMessage.PROPERTY_OR_FIELD_NOT_WRITABLE_ON_NULL, name);
         }
 
-        PropertyAccessor accessorToUse = this.cachedWriteAccessor;
+        CachedAccessor accessorToUse = this.cachedWriteAccessor;
         if (accessorToUse != null) {
-            if (evalContext.getPropertyAccessors().contains(accessorToUse)) {
+            if (accessorToUse.isApplicable(evalContext.getPropertyAccessors())) {
                 try {
-                    accessorToUse.write(evalContext, contextObject.getValue(), name, newValue);
+                    accessorToUse.accessor.write(evalContext, contextObject.getValue(), name, newValue);
                     return;
                 } catch (Exception ex) {
                     // This is OK - it may have gone stale due to a class change,
@@ -225,12 +264,12 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
             this.cachedWriteAccessor = null;
         }
 
-        List<PropertyAccessor> accessorsToTry =
-                getPropertyAccessorsToTry(contextObject.getValue(), evalContext.getPropertyAccessors());
+        List<PropertyAccessor> propertyAccessors = evalContext.getPropertyAccessors();
+        List<PropertyAccessor> accessorsToTry = getPropertyAccessorsToTry(contextObject.getValue(), propertyAccessors);
         try {
             for (PropertyAccessor accessor : accessorsToTry) {
                 if (accessor.canWrite(evalContext, contextObject.getValue(), name)) {
-                    this.cachedWriteAccessor = accessor;
+                    this.cachedWriteAccessor = new CachedAccessor(accessor, accessor, propertyAccessors);
                     accessor.write(evalContext, contextObject.getValue(), name, newValue);
                     return;
                 }
@@ -368,19 +407,24 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 
         private final boolean autoGrowNullReferences;
 
+        private final SpelInvokerMode invokerMode;
+
         public AccessorLValue(PropertyOrFieldReference propertyOrFieldReference, TypedValue activeContextObject,
-                              EvaluationContext evalContext, boolean autoGrowNullReferences) {
+                              EvaluationContext evalContext, boolean autoGrowNullReferences,
+                              SpelInvokerMode invokerMode) {
 
             this.ref = propertyOrFieldReference;
             this.contextObject = activeContextObject;
             this.evalContext = evalContext;
             this.autoGrowNullReferences = autoGrowNullReferences;
+            this.invokerMode = invokerMode;
         }
 
         @Override
         public TypedValue getValue() {
             TypedValue value =
-                    this.ref.getValueInternal(this.contextObject, this.evalContext, this.autoGrowNullReferences);
+                    this.ref.getValueInternal(this.contextObject, this.evalContext, this.autoGrowNullReferences,
+                            this.invokerMode);
             PropertyAccessor accessorToUse = this.ref.cachedReadAccessor;
             if (accessorToUse instanceof CompilablePropertyAccessor) {
                 this.ref.setExitTypeDescriptor(CodeFlow.toDescriptor(((CompilablePropertyAccessor) accessorToUse).getPropertyType()));
@@ -399,4 +443,60 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
         }
     }
 
+
+
+    /**
+     * A cached accessor along with the accessor of the evaluation context it has been
+     * obtained from, and the position of the latter in the context's accessors.
+     *
+     * <p>Whether the cached accessor still applies is checked by identity at that
+     * position rather than by searching the context's accessors. An optimal accessor
+     * created by the default {@link ReflectivePropertyAccessor} also applies to any
+     * other context that just has a default one, which is the case for every fresh
+     * {@code StandardEvaluationContext}.
+     */
+    private static class CachedAccessor {
+
+        private final PropertyAccessor accessor;
+
+        private final PropertyAccessor origin;
+
+        private final int originIndex;
+
+        private final boolean defaultOrigin;
+
+        public CachedAccessor(PropertyAccessor accessor, PropertyAccessor origin,
+                              List<PropertyAccessor> propertyAccessors) {
+
+            this.accessor = accessor;
+            this.origin = origin;
+            this.originIndex = indexOf(propertyAccessors, origin);
+            this.defaultOrigin = (accessor != origin && propertyAccessors.size() == 1 && isDefault(origin));
+        }
+
+        public boolean isApplicable(List<PropertyAccessor> propertyAccessors) {
+            int size = propertyAccessors.size();
+            if (this.originIndex >= size) {
+                return false;
+            }
+            PropertyAccessor candidate = propertyAccessors.get(this.originIndex);
+            return (candidate == this.origin || (this.defaultOrigin && size == 1 && isDefault(candidate)));
+        }
+
+        private static int indexOf(List<PropertyAccessor> propertyAccessors, PropertyAccessor origin) {
+            for (int i = 0; i < propertyAccessors.size(); i++) {
+                if (propertyAccessors.get(i) == origin) {
+                    return i;
+                }
+            }
+            // Not obtained from the context: never applies
+            return Integer.MAX_VALUE;
+        }
+
+        private static boolean isDefault(PropertyAccessor accessor) {
+            // Subclasses, e.g. DataBindingPropertyAccessor, may restrict what they access
+            return (accessor.getClass() == ReflectivePropertyAccessor.class);
+        }
+    }
+
 }
@@ -18,10 +18,11 @@ package io.github.imsejin.expression.spel.ast;
 
 import java.lang.reflect.Array;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.RandomAccess;
 
 import io.github.imsejin.expression.core.convert.TypeDescriptor;
 import io.github.imsejin.expression.EvaluationException;
@@ -31,7 +32,6 @@ import io.github.imsejin.expression.spel.SpelEvaluationException;
 import io.github.imsejin.expression.spel.SpelMessage;
 import io.github.imsejin.expression.util.Assert;
 import io.github.imsejin.expression.util.ClassUtils;
-import io.github.imsejin.expression.util.CollectionUtils;
 import io.github.imsejin.expression.util.ObjectUtils;
 
 /**
@@ -41,10 +41,18 @@ import io.github.imsejin.expression.util.ObjectUtils;
  * <p>Basically a subset of the input data is returned based on the
  * evaluation of the expression supplied as selection criteria.
  *
+ * <p>A last-item selection ({@code $[]}) over a list or an array is searched backwards.
+ * If {@linkplain io.github.imsejin.expression.spel.SpelParserConfiguration#isLazySelectionAndProjection()
+ * configured}, selecting all items of a collection or an array yields a lazily
+ * evaluated view; selecting all items of a large list or array can also be
+ * {@linkplain io.github.imsejin.expression.spel.SpelParserConfiguration#getParallelThreshold()
+ * evaluated in parallel}.
+ *
  * @author Andy Clement
  * @author Mark Fisher
  * @author Sam Brannen
  * @author Juergen Hoeller
+ * @author imsejin
  * @since 3.0
  */
 public class Selection extends SpelNodeImpl {
@@ -68,6 +76,9 @@ public class Selection extends SpelNodeImpl {
 
 	private final boolean nullSafe;
 
+	// Whether the criteria are free of side effects, so that $[...] may search backwards
+	private Boolean sideEffectFree;
+
 
 	public Selection(boolean nullSafe, int variant, int startPos, int endPos, SpelNodeImpl expression) {
 		super(startPos, endPos, expression);
@@ -135,42 +146,34 @@ public class Selection extends SpelNodeImpl {
 		}
 
 		if (operand instanceof Iterable || ObjectUtils.isArray(operand)) {
-			Iterable<?> data = (operand instanceof Iterable ?
-					(Iterable<?>) operand : Arrays.asList(ObjectUtils.toObjectArray(operand)));
+			if (this.variant == FIRST) {
+				return selectFirst(state, operand);
+			}
+			if (this.variant == LAST) {
+				return selectLast(state, operand);
+			}
+			if (state.getConfiguration().isLazySelectionAndProjection()) {
+				return new ValueRef.TypedValueHolderValueRef(new TypedValue(new SelectionView(operand, state)), this);
+			}
 
 			List<Object> result = new ArrayList<>();
-			int index = 0;
-			for (Object element : data) {
-				try {
-					state.pushActiveContextObject(new TypedValue(element));
-					state.enterScope("index", index);
-					Object val = selectionCriteria.getValueInternal(state).getValue();
-					if (val instanceof Boolean) {
-						if ((Boolean) val) {
-							if (this.variant == FIRST) {
-								return new ValueRef.TypedValueHolderValueRef(new TypedValue(element), this);
-							}
-							result.add(element);
-						}
+			if (ParallelEvaluation.isApplicable(operand, state)) {
+				Object[] selected = ParallelEvaluation.evaluate(operand, state, (chunkState, element, index) ->
+						(isSelected(chunkState, element, index) ? element : LazyCollectionView.SKIP));
+				for (Object element : selected) {
+					if (element != LazyCollectionView.SKIP) {
+						result.add(element);
 					}
-					else {
-						throw new SpelEvaluationException(selectionCriteria.getStartPosition(),
-								SpelMessage.RESULT_OF_SELECTION_CRITERIA_IS_NOT_BOOLEAN);
-					}
-					index++;
-				}
-				finally {
-					state.exitScope();
-					state.popActiveContextObject();
 				}
 			}
-
-			if ((this.variant == FIRST || this.variant == LAST) && result.isEmpty()) {
-				return ValueRef.NullValueRef.INSTANCE;
-			}
-
-			if (this.variant == LAST) {
-				return new ValueRef.TypedValueHolderValueRef(new TypedValue(CollectionUtils.lastElement(result)), this);
+			else {
+				Iterator<?> elements = LazyCollectionView.elementIterator(operand);
+				for (int index = 0; elements.hasNext(); index++) {
+					Object element = elements.next();
+					if (isSelected(state, element, index)) {
+						result.add(element);
+					}
+				}
 			}
 
 			if (operand instanceof Iterable) {
@@ -203,6 +206,106 @@ public class Selection extends SpelNodeImpl {
 				operand.getClass().getName());
 	}
 
+	private ValueRef selectFirst(ExpressionState state, Object operand) {
+		Iterator<?> elements = LazyCollectionView.elementIterator(operand);
+		for (int index = 0; elements.hasNext(); index++) {
+			Object element = elements.next();
+			if (isSelected(state, element, index)) {
+				return new ValueRef.TypedValueHolderValueRef(new TypedValue(element), this);
+			}
+		}
+		return ValueRef.NullValueRef.INSTANCE;
+	}
+
+	/**
+	 * Select the last matching element. Where elements can be accessed by index and the
+	 * criteria are free of side effects, the elements are searched backwards, and the
+	 * criteria are not evaluated against the elements before the last match; an error
+	 * they would raise for such an element is not raised either.
+	 */
+	private ValueRef selectLast(ExpressionState state, Object operand) {
+		if (!isSideEffectFree()) {
+			return selectLastForwards(state, operand);
+		}
+		if (ObjectUtils.isArray(operand)) {
+			for (int index = Array.getLength(operand) - 1; index >= 0; index--) {
+				Object element = LazyCollectionView.arrayElement(operand, index);
+				if (isSelected(state, element, index)) {
+					return new ValueRef.TypedValueHolderValueRef(new TypedValue(element), this);
+				}
+			}
+			return ValueRef.NullValueRef.INSTANCE;
+		}
+		if (operand instanceof List && operand instanceof RandomAccess) {
+			List<?> list = (List<?>) operand;
+			for (int index = list.size() - 1; index >= 0; index--) {
+				Object element = list.get(index);
+				if (isSelected(state, element, index)) {
+					return new ValueRef.TypedValueHolderValueRef(new TypedValue(element), this);
+				}
+			}
+			return ValueRef.NullValueRef.INSTANCE;
+		}
+		return selectLastForwards(state, operand);
+	}
+
+	private ValueRef selectLastForwards(ExpressionState state, Object operand) {
+		boolean found = false;
+		Object last = null;
+		Iterator<?> elements = LazyCollectionView.elementIterator(operand);
+		for (int index = 0; elements.hasNext(); index++) {
+			Object element = elements.next();
+			if (isSelected(state, element, index)) {
+				found = true;
+				last = element;
+			}
+		}
+		return (found ? new ValueRef.TypedValueHolderValueRef(new TypedValue(last), this) :
+				ValueRef.NullValueRef.INSTANCE);
+	}
+
+	private boolean isSideEffectFree() {
+		Boolean sideEffectFree = this.sideEffectFree;
+		if (sideEffectFree == null) {
+			sideEffectFree = isSideEffectFree(this.children[0]);
+			this.sideEffectFree = sideEffectFree;
+		}
+		return sideEffectFree;
+	}
+
+	private static boolean isSideEffectFree(SpelNodeImpl node) {
+		if (AstUtils.hasSideEffects(node)) {
+			return false;
+		}
+		for (SpelNodeImpl child : node.children) {
+			if (!isSideEffectFree(child)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Evaluate the selection criteria against the given element.
+	 */
+	private boolean isSelected(ExpressionState state, Object element, int index) {
+		SpelNodeImpl selectionCriteria = this.children[0];
+		try {
+			state.pushActiveContextObject(new TypedValue(element));
+			state.enterScope("index", index);
+			Object val = selectionCriteria.getValueInternal(state).getValue();
+			if (val instanceof Boolean) {
+				return (Boolean) val;
+			}
+			throw new SpelEvaluationException(selectionCriteria.getStartPosition(),
+					SpelMessage.RESULT_OF_SELECTION_CRITERIA_IS_NOT_BOOLEAN);
+		}
+		finally {
+			state.exitScope();
+			state.popActiveContextObject();
+		}
+	}
+
 	@Override
 	public String toStringAST() {
 		return prefix() + getChild(0).toStringAST() + "]";
@@ -217,4 +320,20 @@ public class Selection extends SpelNodeImpl {
 		return "";
 	}
 
+
+	/**
+	 * Lazily evaluated result of an {@code ?[]} selection.
+	 */
+	private final class SelectionView extends LazyCollectionView {
+
+		SelectionView(Object source, ExpressionState state) {
+			super(source, state);
+		}
+
+		@Override
+		Object evaluate(ExpressionState state, Object element, int index) {
+			return (isSelected(state, element, index) ? element : SKIP);
+		}
+	}
+
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.imsejin.expression.spel.ast;
+
+import io.github.imsejin.expression.EvaluationException;
+import io.github.imsejin.expression.TypedValue;
+import io.github.imsejin.expression.asm.MethodVisitor;
+import io.github.imsejin.expression.spel.CodeFlow;
+import io.github.imsejin.expression.spel.ExpressionState;
+
+/**
+ * Expression language AST node that stands in for a sub-expression which several
+ * expressions of a set have in common. While the set is evaluated, the value of the
+ * sub-expression is kept in the {@linkplain ExpressionState#getSharedValues() shared
+ * value} slot of this node, so that it is evaluated at most once per root object;
+ * otherwise the sub-expression is evaluated as usual. It renders as the sub-expression
+ * it stands in for.
+ *
+ * @author imsejin
+ * @since 5.2.9
+ * @see SubExpressionEliminator
+ */
+public class SharedSubExpression extends SpelNodeImpl {
+
+    private final int slot;
+
+
+    public SharedSubExpression(SpelNodeImpl shared, int slot) {
+        super(shared.getStartPosition(), shared.getEndPosition(), shared);
+        this.slot = slot;
+    }
+
+
+    /**
+     * Return the index of the shared value slot of this node.
+     */
+    public int getSlot() {
+        return this.slot;
+    }
+
+    @Override
+    public TypedValue getValueInternal(ExpressionState state) throws EvaluationException {
+        TypedValue[] sharedValues = state.getSharedValues();
+        if (sharedValues == null) {
+            return evaluateShared(state);
+        }
+        TypedValue value = sharedValues[this.slot];
+        if (value == null) {
+            value = evaluateShared(state);
+            sharedValues[this.slot] = value;
+        }
+        return value;
+    }
+
+    private TypedValue evaluateShared(ExpressionState state) {
+        TypedValue value = this.children[0].getValueInternal(state);
+        this.exitTypeDescriptor = this.children[0].exitTypeDescriptor;
+        return value;
+    }
+
+    @Override
+    protected ValueRef getValueRef(ExpressionState state) throws EvaluationException {
+        return this.children[0].getValueRef(state);
+    }
+
+    @Override
+    public boolean isWritable(ExpressionState state) throws EvaluationException {
+        return this.children[0].isWritable(state);
+    }
+
+    @Override
+    public void setValue(ExpressionState state, Object value) throws EvaluationException {
+        this.children[0].setValue(state, value);
+    }
+
+    @Override
+    public String toStringAST() {
+        return this.children[0].toStringAST();
+    }
+
+    @Override
+    public boolean isCompilable() {
+        // Compiled code evaluates the sub-expression itself
+        return (this.exitTypeDescriptor != null && this.children[0].isCompilable());
+    }
+
+    @Override
+    public void generateCode(MethodVisitor mv, CodeFlow cf) {
+        this.children[0].generateCode(mv, cf);
+        cf.pushDescriptor(this.exitTypeDescriptor);
+    }
+
+}
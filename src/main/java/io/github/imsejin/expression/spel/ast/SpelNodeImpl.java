@@ -200,6 +200,19 @@ public abstract class SpelNodeImpl implements SpelNode, Opcodes {
         throw new SpelEvaluationException(getStartPosition(), SpelMessage.SETVALUE_NOT_SUPPORTED, getClass());
     }
 
+    /**
+     * Replace the child at the given index, such as with a folded constant.
+     *
+     * @param index the index of the child to replace
+     * @param child the new child
+     * @since 5.2.9
+     */
+    void replaceChild(int index, SpelNodeImpl child) {
+        Assert.notNull(child, "Child must not be null");
+        this.children[index] = child;
+        child.parent = this;
+    }
+
     @Override
     public SpelNode getChild(int index) {
         return this.children[index];
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.imsejin.expression.spel.ast;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Finds the sub-expressions that several ASTs, or several places in one AST, have in
+ * common, and replaces each occurrence with a {@link SharedSubExpression}, so that
+ * the sub-expression is evaluated once when all ASTs are evaluated against the same
+ * root object. Sub-expressions are considered identical if they render the same
+ * {@linkplain SpelNodeImpl#toStringAST() string}. Leading parts of compound
+ * expressions are shared as well: {@code order.customer.tier} and
+ * {@code order.customer.name} share {@code order.customer}.
+ *
+ * <p>Only sub-expressions that are evaluated against the root object, rather than
+ * against an element of a selection or projection or the result of a preceding part of
+ * a compound expression, are shared. They must not invoke methods, functions,
+ * constructors or beans, whose results may differ from one call to the next; and no
+ * sub-expression is shared if any of the ASTs assigns, increments or decrements a value.
+ *
+ * @author imsejin
+ * @since 5.2.9
+ */
+public final class SubExpressionEliminator {
+
+    private final Map<SpelNodeImpl, Boolean> pureNodes = new IdentityHashMap<>();
+
+    private final Map<String, Integer> occurrences = new HashMap<>();
+
+    private final Map<String, Integer> slots = new HashMap<>();
+
+    private SubExpressionEliminator() {
+    }
+
+
+    /**
+     * Replace the sub-expressions that occur more than once in the given ASTs with
+     * {@link SharedSubExpression} nodes. The ASTs are modified in place; their root
+     * nodes are never replaced.
+     *
+     * @param asts the ASTs to be evaluated against the same root objects
+     * @return the number of shared value slots the shared sub-expressions refer to
+     */
+    public static int eliminate(SpelNodeImpl... asts) {
+        for (SpelNodeImpl ast : asts) {
+            if (containsWrite(ast)) {
+                return 0;
+            }
+        }
+        SubExpressionEliminator eliminator = new SubExpressionEliminator();
+        for (SpelNodeImpl ast : asts) {
+            eliminator.countChildren(ast, true);
+        }
+        for (SpelNodeImpl ast : asts) {
+            eliminator.rewriteChildren(ast, true);
+        }
+        return eliminator.slots.size();
+    }
+
+    private static boolean containsWrite(SpelNodeImpl node) {
+        if (node instanceof Assign || node instanceof OpInc || node instanceof OpDec) {
+            return true;
+        }
+        for (SpelNodeImpl child : node.children) {
+            if (containsWrite(child)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Count the occurrences of the given node and, for a compound expression, of its
+     * leading parts, if it is evaluated against the root object.
+     */
+    private void count(SpelNodeImpl node, boolean rootScoped) {
+        if (rootScoped) {
+            if (isShareable(node)) {
+                this.occurrences.merge(node.toStringAST(), 1, Integer::sum);
+            }
+            if (node instanceof CompoundExpression && isPure(node.children[0])) {
+                // Leading parts up to the first impure one, such as a method invocation
+                for (int length = 2; length < node.children.length && isPure(node.children[length - 1]); length++) {
+                    this.occurrences.merge(toStringAST(node.children, length), 1, Integer::sum);
+                }
+            }
+        }
+        countChildren(node, rootScoped);
+    }
+
+    private void countChildren(SpelNodeImpl node, boolean rootScoped) {
+        if (node instanceof Selection || node instanceof Projection) {
+            return;
+        }
+        for (int i = 0; i < node.children.length; i++) {
+            count(node.children[i], isRootScoped(node, rootScoped, i));
+        }
+    }
+
+    /**
+     * Replace the given node with a shared sub-expression if it occurs more than once,
+     * after sharing what it has in common with other nodes.
+     */
+    private SpelNodeImpl rewrite(SpelNodeImpl node, boolean rootScoped) {
+        rewriteChildren(node, rootScoped);
+        if (!rootScoped) {
+            return node;
+        }
+        if (node instanceof CompoundExpression) {
+            node = rewriteLeadingParts((CompoundExpression) node);
+        }
+        String key = node.toStringAST();
+        if (this.occurrences.getOrDefault(key, 0) < 2 || !isShareable(node)) {
+            return node;
+        }
+        return new SharedSubExpression(node, slotFor(key));
+    }
+
+    private void rewriteChildren(SpelNodeImpl node, boolean rootScoped) {
+        if (node instanceof Selection || node instanceof Projection) {
+            return;
+        }
+        for (int i = 0; i < node.children.length; i++) {
+            SpelNodeImpl child = node.children[i];
+            SpelNodeImpl rewritten = rewrite(child, isRootScoped(node, rootScoped, i));
+            if (rewritten != child) {
+                node.replaceChild(i, rewritten);
+            }
+        }
+    }
+
+    /**
+     * Replace the longest leading part of the given compound expression that occurs
+     * more than once with a shared sub-expression.
+     */
+    private SpelNodeImpl rewriteLeadingParts(CompoundExpression node) {
+        SpelNodeImpl[] children = node.children;
+        int pureLength = 0;
+        while (pureLength < children.length - 1 && isPure(children[pureLength])) {
+            pureLength++;
+        }
+        for (int length = pureLength; length >= 2; length--) {
+            String key = toStringAST(children, length);
+            if (this.occurrences.getOrDefault(key, 0) < 2) {
+                continue;
+            }
+            SpelNodeImpl[] leadingParts = new SpelNodeImpl[length];
+            System.arraycopy(children, 0, leadingParts, 0, length);
+            CompoundExpression leading = new CompoundExpression(
+                    children[0].getStartPosition(), children[length - 1].getEndPosition(), leadingParts);
+            SpelNodeImpl[] parts = new SpelNodeImpl[children.length - length + 1];
+            parts[0] = new SharedSubExpression(rewriteLeadingParts(leading), slotFor(key));
+            System.arraycopy(children, length, parts, 1, children.length - length);
+            return new CompoundExpression(node.getStartPosition(), node.getEndPosition(), parts);
+        }
+        return node;
+    }
+
+    private int slotFor(String key) {
+        return this.slots.computeIfAbsent(key, k -> this.slots.size());
+    }
+
+    /**
+     * Determine whether the child at the given index of the given node is evaluated
+     * against the root object. Arguments of methods and indexes are evaluated against
+     * the root object of the top-level scope even when their method or indexer is not,
+     * except for a property name used as an index or as a map key, which is not
+     * evaluated at all. The parts of a compound expression but the first are evaluated
+     * against the part before them. The children of any other node, such as the
+     * arguments of a function, are evaluated against what the node itself is.
+     */
+    private static boolean isRootScoped(SpelNodeImpl node, boolean rootScoped, int childIndex) {
+        if (node instanceof Indexer || node instanceof InlineMap) {
+            // A property name as an index or a map key is a name rather than a reference
+            SpelNodeImpl child = node.children[childIndex];
+            if (child instanceof PropertyOrFieldReference && (node instanceof Indexer || childIndex % 2 == 0)) {
+                return false;
+            }
+            return (node instanceof Indexer || rootScoped);
+        }
+        if (node instanceof MethodReference) {
+            return true;
+        }
+        if (node instanceof CompoundExpression) {
+            return (rootScoped && childIndex == 0);
+        }
+        return rootScoped;
+    }
+
+    private boolean isShareable(SpelNodeImpl node) {
+        // Literals, variables and names are no cheaper to look up in a shared value slot
+        return (!(node instanceof Literal) && !(node instanceof VariableReference) &&
+                !(node instanceof Identifier) && !(node instanceof QualifiedIdentifier) && isPure(node));
+    }
+
+    /**
+     * Determine whether the given node yields the same value every time it is evaluated
+     * against the same root object.
+     */
+    private boolean isPure(SpelNodeImpl node) {
+        Boolean pure = this.pureNodes.get(node);
+        if (pure == null) {
+            pure = !AstUtils.hasSideEffects(node);
+            for (int i = 0; pure && i < node.children.length; i++) {
+                pure = isPure(node.children[i]);
+            }
+            this.pureNodes.put(node, pure);
+        }
+        return pure;
+    }
+
+    private static String toStringAST(SpelNodeImpl[] parts, int length) {
+        StringJoiner sj = new StringJoiner(".");
+        for (int i = 0; i < length; i++) {
+            sj.add(parts[i].toStringAST());
+        }
+        return sj.toString();
+    }
+
+}
@@ -112,7 +112,7 @@ public class VariableReference extends SpelNodeImpl {
         } else {
             mv.visitVarInsn(ALOAD, 2);
             mv.visitLdcInsn(this.name);
-            mv.visitMethodInsn(INVOKEINTERFACE, "org/springframework/expression/EvaluationContext", "lookupVariable", "(Ljava/lang/String;)Ljava/lang/Object;", true);
+            mv.visitMethodInsn(INVOKEINTERFACE, "io/github/imsejin/expression/EvaluationContext", "lookupVariable", "(Ljava/lang/String;)Ljava/lang/Object;", true);
         }
         CodeFlow.insertCheckCast(mv, this.exitTypeDescriptor);
         cf.pushDescriptor(this.exitTypeDescriptor);
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.imsejin.expression.spel.standard;
+
+import io.github.imsejin.expression.spel.CompilationPolicy;
+import io.github.imsejin.expression.spel.SpelCompilationExecutor;
+import io.github.imsejin.expression.spel.SpelCompilerMode;
+import io.github.imsejin.expression.spel.SpelParserConfiguration;
+import io.github.imsejin.expression.spel.support.StandardCompilationPolicy;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decides when an expression or a template gets compiled. Counts how often it has been
+ * interpreted, how often its compilation failed and how often its compiled form has been
+ * discarded, and compiles it, or enqueues it on the configured
+ * {@link SpelCompilationExecutor}, once the {@link CompilationPolicy} considers it hot.
+ *
+ * <p>The owner holds the compiled form itself, and tells the tracker whether there is
+ * one and how to create it.
+ *
+ * @author imsejin
+ * @since 5.2.9
+ * @see SpelExpression
+ * @see SpelTemplateExpression
+ */
+abstract class CompilationTracker {
+
+    // Decides when to compile unless the configuration specifies a policy
+    private static final CompilationPolicy defaultCompilationPolicy = new StandardCompilationPolicy();
+
+
+    private final SpelParserConfiguration configuration;
+    // Count of how many times the owner has been interpreted - can trigger compilation
+    // when certain limit reached
+    private final AtomicInteger interpretedCount = new AtomicInteger(0);
+    // The number of times compilation was attempted and failed - enables us to eventually
+    // give up trying to compile it when it just doesn't seem to be possible.
+    private final AtomicInteger failedAttempts = new AtomicInteger(0);
+    // The number of times the compiled form has been discarded after failing at runtime
+    private final AtomicInteger deoptimizationCount = new AtomicInteger(0);
+    // Whether the owner is currently enqueued for background compilation
+    private final AtomicBoolean compilationScheduled = new AtomicBoolean();
+
+
+    CompilationTracker(SpelParserConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+
+    /**
+     * Return whether the owner currently has a compiled form.
+     */
+    protected abstract boolean hasCompiledForm();
+
+    /**
+     * Compile the owner with the given compiler and publish the compiled form.
+     *
+     * @param compiler the compiler for the class loader of the configuration
+     * @return whether the owner has been successfully compiled
+     */
+    protected abstract boolean createCompiledForm(SpelCompiler compiler);
+
+    /**
+     * Record an interpreted evaluation, and compile the owner if the
+     * {@link CompilationPolicy} considers it hot. If a {@link SpelCompilationExecutor}
+     * is configured, the owner is enqueued for compilation in the background instead.
+     */
+    void checkCompile() {
+        int interpretedCount = this.interpretedCount.incrementAndGet();
+        SpelCompilerMode compilerMode = this.configuration.getCompilerMode();
+        if (compilerMode != SpelCompilerMode.OFF &&
+                getCompilationPolicy().shouldCompile(compilerMode, interpretedCount, this.deoptimizationCount.get())) {
+            SpelCompilationExecutor compilationExecutor = this.configuration.getCompilationExecutor();
+            if (compilationExecutor != null) {
+                scheduleCompilation(compilationExecutor);
+            } else {
+                compile();
+            }
+        }
+    }
+
+    /**
+     * Enqueue the owner for compilation on the given executor, unless it has been
+     * compiled, has been given up on, or is already enqueued. Callers keep interpreting
+     * until the compiled form has been published.
+     */
+    private void scheduleCompilation(SpelCompilationExecutor compilationExecutor) {
+        if (hasCompiledForm() || !getCompilationPolicy().shouldRetryCompilation(this.failedAttempts.get()) ||
+                !this.compilationScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        boolean submitted = compilationExecutor.submit(() -> {
+            try {
+                return compile();
+            } finally {
+                this.compilationScheduled.set(false);
+            }
+        });
+        if (!submitted) {
+            // Backlog full: a later evaluation will try again
+            this.compilationScheduled.set(false);
+        }
+    }
+
+    /**
+     * Compile the owner, unless it has been compiled already. If the compilation has
+     * failed more often than the {@link CompilationPolicy} allows, or the compiler has
+     * used up its budget of classes, the owner is no longer compiled.
+     *
+     * @return whether the owner has been successfully compiled
+     */
+    boolean compile() {
+        if (hasCompiledForm()) {
+            // Previously compiled
+            return true;
+        }
+        CompilationPolicy compilationPolicy = getCompilationPolicy();
+        if (!compilationPolicy.shouldRetryCompilation(this.failedAttempts.get())) {
+            // Don't try again
+            return false;
+        }
+
+        synchronized (this) {
+            if (hasCompiledForm()) {
+                // Compiled by another thread before this thread got into the sync block
+                return true;
+            }
+            SpelCompiler compiler = SpelCompiler.getCompiler(this.configuration.getCompilerClassLoader());
+            int maxClassesDefined = compilationPolicy.getMaxClassesDefined();
+            if (maxClassesDefined != -1 && compiler.getClassesDefinedCount() >= maxClassesDefined) {
+                // Budget of the compiler used up: keep interpreting
+                return false;
+            }
+            if (createCompiledForm(compiler)) {
+                return true;
+            }
+            // Failed to compile
+            this.failedAttempts.incrementAndGet();
+            return false;
+        }
+    }
+
+    /**
+     * Record that the owner has discarded its compiled form after it failed in
+     * {@code MIXED} mode, so that it is interpreted until the {@link CompilationPolicy}
+     * recompiles it.
+     */
+    void deoptimized() {
+        this.interpretedCount.set(0);
+        this.deoptimizationCount.incrementAndGet();
+    }
+
+    /**
+     * Reset the interpretation, compilation attempt failure and deoptimization counts,
+     * after the owner has reverted to being interpreted.
+     */
+    void reset() {
+        this.interpretedCount.set(0);
+        this.failedAttempts.set(0);
+        this.deoptimizationCount.set(0);
+    }
+
+    private CompilationPolicy getCompilationPolicy() {
+        CompilationPolicy compilationPolicy = this.configuration.getCompilationPolicy();
+        return (compilationPolicy != null ? compilationPolicy : defaultCompilationPolicy);
+    }
+
+}
@@ -89,6 +89,9 @@ class InternalSpelExpressionParser extends TemplateAwareExpressionParser {
                 throw new SpelParseException(t.startPos, SpelMessage.MORE_INPUT, toString(nextToken()));
             }
             Assert.isTrue(this.constructedNodes.isEmpty(), "At least one node expected");
+            if (this.configuration.isConstantFolding()) {
+                ast = ConstantFolder.fold(ast, this.configuration);
+            }
             return new SpelExpression(expressionString, ast, this.configuration);
         } catch (InternalParseException ex) {
             throw ex.getCause();
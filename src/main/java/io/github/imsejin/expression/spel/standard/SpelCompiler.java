@@ -20,8 +20,12 @@ import io.github.imsejin.expression.Expression;
 import io.github.imsejin.expression.asm.ClassWriter;
 import io.github.imsejin.expression.asm.MethodVisitor;
 import io.github.imsejin.expression.asm.Opcodes;
+import io.github.imsejin.expression.asm.Type;
+import io.github.imsejin.expression.core.SpringProperties;
 import io.github.imsejin.expression.spel.CodeFlow;
+import io.github.imsejin.expression.common.LiteralExpression;
 import io.github.imsejin.expression.spel.CompiledExpression;
+import io.github.imsejin.expression.spel.CompiledTemplate;
 import io.github.imsejin.expression.spel.SpelParserConfiguration;
 import io.github.imsejin.expression.spel.ast.SpelNodeImpl;
 import io.github.imsejin.expression.util.ClassUtils;
@@ -29,6 +33,10 @@ import io.github.imsejin.expression.util.ConcurrentReferenceHashMap;
 import io.github.imsejin.expression.util.ReflectionUtils;
 import io.github.imsejin.expression.util.StringUtils;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.Map;
@@ -56,26 +64,75 @@ import java.util.concurrent.atomic.AtomicInteger;
  * for an associated SpelExpressionParser (through the {@link SpelParserConfiguration}
  * object), it is not on by default.
  *
+ * <p>On JDK 15 and later, compiled expressions are defined as hidden classes, so that
+ * each of them can be unloaded as soon as its expression has been garbage collected.
+ * On earlier JDKs, or if the {@code spring.expression.compiler.hidden-classes} property
+ * is set to {@code false}, they are defined by a child class loader which is replaced
+ * after every 100 classes.
+ *
  * <p>Individual expressions can be compiled by calling {@code SpelCompiler.compile(expression)}.
+ * Template expressions, as parsed into a {@link SpelTemplateExpression}, are compiled
+ * into a single class that appends all parts of the template.
  *
  * @author Andy Clement
+ * @author imsejin
  * @since 4.1
  */
 public final class SpelCompiler implements Opcodes {
 
     private static final int CLASSES_DEFINED_LIMIT = 100;
 
+    // Longest literal text that is certain to fit into a constant pool entry
+    private static final int MAX_CONSTANT_LENGTH = 65535 / 3;
+
+    // Name of the class that hidden expression classes are defined against
+    private static final String HOST_CLASS_NAME = "spel/CompiledExpressionHost";
+
+    private static final boolean hiddenClassesEnabled =
+            !"false".equalsIgnoreCase(SpringProperties.getProperty("spring.expression.compiler.hidden-classes"));
+
+    // Lookup.defineHiddenClass(byte[], boolean, ClassOption...), if running on JDK 15 or later
+    private static final Method defineHiddenClassMethod;
+
+    private static final Object noClassOptions;
+
+    static {
+        Method method = null;
+        Object classOptions = null;
+        try {
+            Class<?> classOptionType = ClassUtils.forName(
+                    "java.lang.invoke.MethodHandles$Lookup$ClassOption", SpelCompiler.class.getClassLoader());
+            classOptions = Array.newInstance(classOptionType, 0);
+            method = MethodHandles.Lookup.class.getMethod(
+                    "defineHiddenClass", byte[].class, boolean.class, classOptions.getClass());
+        } catch (Throwable ex) {
+            // Hidden classes not supported: define expression classes through the ChildClassLoader
+        }
+        defineHiddenClassMethod = method;
+        noClassOptions = classOptions;
+    }
+
     // A compiler is created for each classloader, it manages a child class loader of that
     // classloader and the child is used to load the compiled expressions.
     private static final Map<ClassLoader, SpelCompiler> compilers = new ConcurrentReferenceHashMap<>();
     // Counter suffix for generated classes within this SpelCompiler instance
     private final AtomicInteger suffixId = new AtomicInteger(1);
+    // Number of expression classes defined by this SpelCompiler instance
+    private final AtomicInteger classesDefinedCount = new AtomicInteger();
     // The child ClassLoader used to load the compiled expression classes
-    private ChildClassLoader ccl;
+    private volatile ChildClassLoader ccl;
+    // Lookup on a host class in the child ClassLoader to define hidden classes with,
+    // or null if expression classes are defined by the child ClassLoader itself
+    private final MethodHandles.Lookup hostLookup;
 
 
     private SpelCompiler(ClassLoader classloader) {
+        this(classloader, hiddenClassesEnabled);
+    }
+
+    SpelCompiler(ClassLoader classloader, boolean useHiddenClasses) {
         this.ccl = new ChildClassLoader(classloader);
+        this.hostLookup = (useHiddenClasses && defineHiddenClassMethod != null ? createHostLookup(this.ccl) : null);
     }
 
     /**
@@ -88,14 +145,15 @@ public final class SpelCompiler implements Opcodes {
      */
     public static SpelCompiler getCompiler(ClassLoader classLoader) {
         ClassLoader clToUse = (classLoader != null ? classLoader : ClassUtils.getDefaultClassLoader());
-        synchronized (compilers) {
-            SpelCompiler compiler = compilers.get(clToUse);
+        SpelCompiler compiler = compilers.get(clToUse);
+        if (compiler == null) {
+            SpelCompiler newCompiler = new SpelCompiler(clToUse);
+            compiler = compilers.putIfAbsent(clToUse, newCompiler);
             if (compiler == null) {
-                compiler = new SpelCompiler(clToUse);
-                compilers.put(clToUse, compiler);
+                compiler = newCompiler;
             }
-            return compiler;
         }
+        return compiler;
     }
 
     /**
@@ -106,6 +164,9 @@ public final class SpelCompiler implements Opcodes {
      * @return true if the expression was successfully compiled
      */
     public static boolean compile(Expression expression) {
+        if (expression instanceof SpelTemplateExpression) {
+            return ((SpelTemplateExpression) expression).compileExpression();
+        }
         return (expression instanceof SpelExpression && ((SpelExpression) expression).compileExpression());
     }
 
@@ -118,6 +179,8 @@ public final class SpelCompiler implements Opcodes {
     public static void revertToInterpreted(Expression expression) {
         if (expression instanceof SpelExpression) {
             ((SpelExpression) expression).revertToInterpreted();
+        } else if (expression instanceof SpelTemplateExpression) {
+            ((SpelTemplateExpression) expression).revertToInterpreted();
         }
     }
 
@@ -134,10 +197,10 @@ public final class SpelCompiler implements Opcodes {
     public CompiledExpression compile(SpelNodeImpl expression) {
         if (expression.isCompilable()) {
             System.out.println("SpEL: compiling " + expression.toStringAST());
-            Class<? extends CompiledExpression> clazz = createExpressionClass(expression);
+            Class<?> clazz = createExpressionClass(expression);
             if (clazz != null) {
                 try {
-                    return ReflectionUtils.accessibleConstructor(clazz).newInstance();
+                    return (CompiledExpression) ReflectionUtils.accessibleConstructor(clazz).newInstance();
                 } catch (Throwable ex) {
                     throw new IllegalStateException("Failed to instantiate CompiledExpression", ex);
                 }
@@ -148,6 +211,57 @@ public final class SpelCompiler implements Opcodes {
         return null;
     }
 
+    /**
+     * Attempt compilation of the supplied template parts into a single class. Every
+     * part must either be a {@link LiteralExpression} or a {@link SpelExpression} whose
+     * AST is compilable.
+     *
+     * @param expressions the parts of the template
+     * @return an instance of the class implementing the compiled template,
+     * or {@code null} if compilation is not possible
+     * @since 5.2.9
+     */
+    public CompiledTemplate compileTemplate(Expression[] expressions) {
+        for (Expression expression : expressions) {
+            if (expression instanceof LiteralExpression) {
+                if (expression.getExpressionString().length() > MAX_CONSTANT_LENGTH) {
+                    return null;
+                }
+            } else if (!(expression instanceof SpelExpression) ||
+                    !((SpelNodeImpl) ((SpelExpression) expression).getAST()).isCompilable()) {
+                return null;
+            }
+        }
+        Class<?> clazz = createTemplateClass(expressions);
+        if (clazz == null) {
+            return null;
+        }
+        try {
+            return (CompiledTemplate) ReflectionUtils.accessibleConstructor(clazz).newInstance();
+        } catch (Throwable ex) {
+            throw new IllegalStateException("Failed to instantiate CompiledTemplate", ex);
+        }
+    }
+
+    /**
+     * Return the number of expression classes this compiler has defined so far,
+     * across all of its child class loaders.
+     *
+     * @since 5.2.9
+     */
+    public int getClassesDefinedCount() {
+        return this.classesDefinedCount.get();
+    }
+
+    /**
+     * Return whether this compiler defines expression classes as hidden classes.
+     *
+     * @since 5.2.9
+     */
+    public boolean isUsingHiddenClasses() {
+        return (this.hostLookup != null);
+    }
+
     private int getNextSuffix() {
         return this.suffixId.incrementAndGet();
     }
@@ -160,26 +274,39 @@ public final class SpelCompiler implements Opcodes {
      * @return the expression call, or {@code null} if the decision was to opt out of
      * compilation during code generation
      */
-    private Class<? extends CompiledExpression> createExpressionClass(SpelNodeImpl expressionToCompile) {
+    private Class<?> createExpressionClass(SpelNodeImpl expressionToCompile) {
         // Create class outline 'spel/ExNNN extends io.github.imsejin.expression.spel.CompiledExpression'
         String className = "spel/Ex" + getNextSuffix();
-        ClassWriter cw = new ExpressionClassWriter();
-        cw.visit(V1_5, ACC_PUBLIC, className, null, "org/springframework/expression/spel/CompiledExpression", null);
+        byte[] data = null;
+        String resultDescriptor = expressionToCompile.getExitDescriptor();
+        if (getPrimitiveValueMethodName(resultDescriptor) != null) {
+            data = generatePrimitiveExpressionClass(className, expressionToCompile, resultDescriptor);
+        }
+        if (data == null) {
+            data = generateExpressionClass(className, expressionToCompile);
+        }
+        if (data == null) {
+            return null;
+        }
+        // TODO need to make this conditionally occur based on a debug flag
+        // dump(expressionToCompile.toStringAST(), clazzName, data);
+        return loadClass(StringUtils.replace(className, "/", "."), data);
+    }
 
-        // Create default constructor
-        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
-        mv.visitCode();
-        mv.visitVarInsn(ALOAD, 0);
-        mv.visitMethodInsn(INVOKESPECIAL, "org/springframework/expression/spel/CompiledExpression",
-                "<init>", "()V", false);
-        mv.visitInsn(RETURN);
-        mv.visitMaxs(1, 1);
-        mv.visitEnd();
+    /**
+     * Generate a class whose {@code getValue()} method evaluates the expression.
+     *
+     * @return the bytecode of the class, or {@code null} if the decision was to opt
+     * out of compilation during code generation
+     */
+    private byte[] generateExpressionClass(String className, SpelNodeImpl expressionToCompile) {
+        ClassWriter cw = new ExpressionClassWriter();
+        visitExpressionClass(cw, className);
 
         // Create getValue() method
-        mv = cw.visitMethod(ACC_PUBLIC, "getValue",
-                "(Ljava/lang/Object;Lorg/springframework/expression/EvaluationContext;)Ljava/lang/Object;", null,
-                new String[]{"org/springframework/expression/EvaluationException"});
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "getValue",
+                "(Ljava/lang/Object;Lio/github/imsejin/expression/EvaluationContext;)Ljava/lang/Object;", null,
+                new String[]{"io/github/imsejin/expression/EvaluationException"});
         mv.visitCode();
 
         CodeFlow cf = new CodeFlow(className, cw);
@@ -203,30 +330,246 @@ public final class SpelCompiler implements Opcodes {
         mv.visitEnd();
         cw.visitEnd();
 
+        cf.finish();
+        return cw.toByteArray();
+    }
+
+    /**
+     * Generate a class for an expression with a primitive {@code boolean}, {@code int},
+     * {@code long} or {@code double} result: the expression is evaluated by the
+     * matching {@code getXxxValue()} method, which does not box the result, and
+     * {@code getValue()} boxes what that method returns. The code for the expression
+     * is generated once, so that its static fields are registered once.
+     *
+     * @return the bytecode of the class, or {@code null} if the code generated for the
+     * expression does not leave a value of the given descriptor on the stack, in which
+     * case a regular class is to be generated instead
+     */
+    private byte[] generatePrimitiveExpressionClass(String className, SpelNodeImpl expressionToCompile,
+                                                    String resultDescriptor) {
+
+        ClassWriter cw = new ExpressionClassWriter();
+        visitExpressionClass(cw, className);
+
+        // Create getXxxValue() method
+        String methodName = getPrimitiveValueMethodName(resultDescriptor);
+        String methodDescriptor =
+                "(Ljava/lang/Object;Lio/github/imsejin/expression/EvaluationContext;)" + resultDescriptor;
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, methodName, methodDescriptor, null,
+                new String[]{"io/github/imsejin/expression/EvaluationException"});
+        mv.visitCode();
+
+        CodeFlow cf = new CodeFlow(className, cw);
+        try {
+            expressionToCompile.generateCode(mv, cf);
+        } catch (IllegalStateException ex) {
+            // Reported when generating the regular class
+            return null;
+        }
+        if (!resultDescriptor.equals(cf.lastDescriptor())) {
+            return null;
+        }
+        mv.visitInsn(Type.getType(resultDescriptor).getOpcode(IRETURN));
+        mv.visitMaxs(0, 0);  // not supplied due to COMPUTE_MAXS
+        mv.visitEnd();
+
+        // Create getValue() method, boxing the result of getXxxValue()
+        mv = cw.visitMethod(ACC_PUBLIC, "getValue",
+                "(Ljava/lang/Object;Lio/github/imsejin/expression/EvaluationContext;)Ljava/lang/Object;", null,
+                new String[]{"io/github/imsejin/expression/EvaluationException"});
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitVarInsn(ALOAD, 2);
+        mv.visitMethodInsn(INVOKEVIRTUAL, className, methodName, methodDescriptor, false);
+        CodeFlow.insertBoxIfNecessary(mv, resultDescriptor);
+        mv.visitInsn(ARETURN);
+        mv.visitMaxs(0, 0);  // not supplied due to COMPUTE_MAXS
+        mv.visitEnd();
+
+        // Create getPrimitiveResultDescriptor() method
+        mv = cw.visitMethod(ACC_PUBLIC, "getPrimitiveResultDescriptor", "()Ljava/lang/String;", null, null);
+        mv.visitCode();
+        mv.visitLdcInsn(resultDescriptor);
+        mv.visitInsn(ARETURN);
+        mv.visitMaxs(0, 0);  // not supplied due to COMPUTE_MAXS
+        mv.visitEnd();
+        cw.visitEnd();
+
+        cf.finish();
+        return cw.toByteArray();
+    }
+
+    /**
+     * Start the given class as a subclass of {@link CompiledExpression} with a
+     * default constructor.
+     */
+    private void visitExpressionClass(ClassWriter cw, String className) {
+        cw.visit(V1_5, ACC_PUBLIC, className, null, "io/github/imsejin/expression/spel/CompiledExpression", null);
+
+        // Create default constructor
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitMethodInsn(INVOKESPECIAL, "io/github/imsejin/expression/spel/CompiledExpression",
+                "<init>", "()V", false);
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(1, 1);
+        mv.visitEnd();
+    }
+
+    /**
+     * Return the name of the {@link CompiledExpression} method that returns a result
+     * of the given primitive type without boxing it, if any.
+     */
+    private static String getPrimitiveValueMethodName(String resultDescriptor) {
+        if (resultDescriptor == null || resultDescriptor.length() != 1) {
+            return null;
+        }
+        switch (resultDescriptor.charAt(0)) {
+            case 'Z':
+                return "getBooleanValue";
+            case 'I':
+                return "getIntValue";
+            case 'J':
+                return "getLongValue";
+            case 'D':
+                return "getDoubleValue";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Generate the class that appends the parts of a template and define it.
+     * The generated class will be a subtype of CompiledTemplate.
+     *
+     * @param expressions the parts of the template to be compiled
+     * @return the template class, or {@code null} if the decision was to opt out of
+     * compilation during code generation
+     */
+    private Class<?> createTemplateClass(Expression[] expressions) {
+        // Create class outline 'spel/TmNNN extends io.github.imsejin.expression.spel.CompiledTemplate'
+        String className = "spel/Tm" + getNextSuffix();
+        ClassWriter cw = new ExpressionClassWriter();
+        cw.visit(V1_5, ACC_PUBLIC, className, null, "io/github/imsejin/expression/spel/CompiledTemplate", null);
+
+        // Create default constructor
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitMethodInsn(INVOKESPECIAL, "io/github/imsejin/expression/spel/CompiledTemplate",
+                "<init>", "()V", false);
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(1, 1);
+        mv.visitEnd();
+
+        // Create appendTo() method, with the Appendable in local variable 3
+        mv = cw.visitMethod(ACC_PUBLIC, "appendTo",
+                "(Ljava/lang/Object;Lio/github/imsejin/expression/EvaluationContext;Ljava/lang/Appendable;)V", null,
+                new String[]{"java/io/IOException", "io/github/imsejin/expression/EvaluationException"});
+        mv.visitCode();
+
+        CodeFlow cf = new CodeFlow(className, cw);
+
+        for (Expression expression : expressions) {
+            if (expression instanceof LiteralExpression) {
+                mv.visitVarInsn(ALOAD, 3);
+                mv.visitLdcInsn(expression.getExpressionString());
+                mv.visitMethodInsn(INVOKEINTERFACE, "java/lang/Appendable", "append",
+                        "(Ljava/lang/CharSequence;)Ljava/lang/Appendable;", true);
+                mv.visitInsn(POP);
+                continue;
+            }
+            SpelNodeImpl ast = (SpelNodeImpl) ((SpelExpression) expression).getAST();
+            cf.enterCompilationScope();
+            try {
+                ast.generateCode(mv, cf);
+            } catch (IllegalStateException ex) {
+                return null;
+            }
+            CodeFlow.insertBoxIfNecessary(mv, cf.lastDescriptor());
+            if ("V".equals(cf.lastDescriptor())) {
+                mv.visitInsn(ACONST_NULL);
+            }
+            cf.exitCompilationScope();
+            mv.visitVarInsn(ALOAD, 2);
+            mv.visitVarInsn(ALOAD, 3);
+            mv.visitMethodInsn(INVOKESTATIC, "io/github/imsejin/expression/spel/CompiledTemplate", "appendValue",
+                    "(Ljava/lang/Object;Lio/github/imsejin/expression/EvaluationContext;Ljava/lang/Appendable;)V", false);
+        }
+        mv.visitInsn(RETURN);
+
+        mv.visitMaxs(0, 0);  // not supplied due to COMPUTE_MAXS
+        mv.visitEnd();
+        cw.visitEnd();
+
         cf.finish();
 
         byte[] data = cw.toByteArray();
-        // TODO need to make this conditionally occur based on a debug flag
-        // dump(expressionToCompile.toStringAST(), clazzName, data);
         return loadClass(StringUtils.replace(className, "/", "."), data);
     }
 
     /**
-     * Load a compiled expression class. Makes sure the classloaders aren't used too much
-     * because they anchor compiled classes in memory and prevent GC.  If you have expressions
-     * continually recompiling over time then by replacing the classloader periodically
-     * at least some of the older variants can be garbage collected.
+     * Load a compiled expression class. If hidden classes are not in use, makes sure the
+     * classloaders aren't used too much because they anchor compiled classes in memory and
+     * prevent GC. If you have expressions continually recompiling over time then by
+     * replacing the classloader periodically at least some of the older variants can be
+     * garbage collected.
      *
      * @param name  the name of the class
      * @param bytes the bytecode for the class
      * @return the Class object for the compiled expression
      */
-    @SuppressWarnings("unchecked")
-    private Class<? extends CompiledExpression> loadClass(String name, byte[] bytes) {
-        if (this.ccl.getClassesDefinedCount() > CLASSES_DEFINED_LIMIT) {
-            this.ccl = new ChildClassLoader(this.ccl.getParent());
+    private Class<?> loadClass(String name, byte[] bytes) {
+        Class<?> clazz;
+        if (this.hostLookup != null) {
+            try {
+                MethodHandles.Lookup lookup =
+                        (MethodHandles.Lookup) defineHiddenClassMethod.invoke(this.hostLookup, bytes, true, noClassOptions);
+                clazz = lookup.lookupClass();
+            } catch (InvocationTargetException ex) {
+                throw new IllegalStateException("Failed to define hidden class " + name, ex.getTargetException());
+            } catch (IllegalAccessException ex) {
+                throw new IllegalStateException("Failed to define hidden class " + name, ex);
+            }
+        } else {
+            synchronized (this) {
+                if (this.ccl.getClassesDefinedCount() > CLASSES_DEFINED_LIMIT) {
+                    this.ccl = new ChildClassLoader(this.ccl.getParent());
+                }
+                clazz = this.ccl.defineClass(name, bytes);
+            }
+        }
+        this.classesDefinedCount.incrementAndGet();
+        return clazz;
+    }
+
+    /**
+     * Define a host class in the given child class loader and return a lookup on it,
+     * which can define hidden classes in its package that resolve types through the
+     * child class loader.
+     *
+     * @return the lookup, or {@code null} if it could not be obtained
+     */
+    private static MethodHandles.Lookup createHostLookup(ChildClassLoader ccl) {
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(V1_8, ACC_PUBLIC | ACC_FINAL | ACC_SUPER, HOST_CLASS_NAME, null, "java/lang/Object", null);
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC | ACC_STATIC, "lookup",
+                "()Ljava/lang/invoke/MethodHandles$Lookup;", null, null);
+        mv.visitCode();
+        mv.visitMethodInsn(INVOKESTATIC, "java/lang/invoke/MethodHandles", "lookup",
+                "()Ljava/lang/invoke/MethodHandles$Lookup;", false);
+        mv.visitInsn(ARETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+        cw.visitEnd();
+        try {
+            Class<?> hostClass = ccl.defineClass(StringUtils.replace(HOST_CLASS_NAME, "/", "."), cw.toByteArray());
+            return (MethodHandles.Lookup) hostClass.getMethod("lookup").invoke(null);
+        } catch (Throwable ex) {
+            return null;
         }
-        return (Class<? extends CompiledExpression>) this.ccl.defineClass(name, bytes);
     }
 
     /**
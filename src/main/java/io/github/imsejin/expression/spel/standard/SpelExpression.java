@@ -23,11 +23,13 @@ import io.github.imsejin.expression.TypedValue;
 import io.github.imsejin.expression.common.ExpressionUtils;
 import io.github.imsejin.expression.core.convert.TypeDescriptor;
 import io.github.imsejin.expression.spel.*;
+import io.github.imsejin.expression.spel.ast.ParallelEvaluation;
 import io.github.imsejin.expression.spel.ast.SpelNodeImpl;
 import io.github.imsejin.expression.spel.support.StandardEvaluationContext;
 import io.github.imsejin.expression.util.Assert;
 
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Consumer;
 
 /**
  * A {@code SpelExpression} represents a parsed (valid) expression that is ready to be
@@ -37,15 +39,16 @@ import java.util.concurrent.atomic.AtomicInteger;
  *
  * @author Andy Clement
  * @author Juergen Hoeller
+ * @author imsejin
  * @since 3.0
  */
 public class SpelExpression implements Expression {
 
-    // Number of times to interpret an expression before compiling it
-    private static final int INTERPRETED_COUNT_THRESHOLD = 100;
+    // Returned by getCompiledValue when the compiled form failed and has been discarded
+    private static final Object COMPILED_VALUE_FAILED = new Object();
 
-    // Number of times to try compiling an expression before giving up
-    private static final int FAILED_ATTEMPTS_THRESHOLD = 100;
+    private static final AtomicReferenceFieldUpdater<SpelExpression, CompiledExpression> compiledAstUpdater =
+            AtomicReferenceFieldUpdater.newUpdater(SpelExpression.class, CompiledExpression.class, "compiledAst");
 
 
     private final String expression;
@@ -53,12 +56,8 @@ public class SpelExpression implements Expression {
     private final SpelNodeImpl ast;
 
     private final SpelParserConfiguration configuration;
-    // Count of many times as the expression been interpreted - can trigger compilation
-    // when certain limit reached
-    private final AtomicInteger interpretedCount = new AtomicInteger(0);
-    // The number of times compilation was attempted and failed - enables us to eventually
-    // give up trying to compile it when it just doesn't seem to be possible.
-    private final AtomicInteger failedAttempts = new AtomicInteger(0);
+    // Decides when the expression gets compiled
+    private final CompilationTracker compilationTracker;
     // The default context is used if no override is supplied by the user
     private EvaluationContext evaluationContext;
     // Holds the compiled form of the expression (if it has been compiled)
@@ -72,6 +71,22 @@ public class SpelExpression implements Expression {
         this.expression = expression;
         this.ast = ast;
         this.configuration = configuration;
+        this.compilationTracker = new CompilationTracker(configuration) {
+            @Override
+            protected boolean hasCompiledForm() {
+                return (compiledAst != null);
+            }
+
+            @Override
+            protected boolean createCompiledForm(SpelCompiler compiler) {
+                CompiledExpression compiledAst = compiler.compile(ast);
+                if (compiledAst != null) {
+                    SpelExpression.this.compiledAst = compiledAst;
+                    return true;
+                }
+                return false;
+            }
+        };
     }
 
     /**
@@ -113,8 +128,7 @@ public class SpelExpression implements Expression {
             } catch (Throwable ex) {
                 // If running in mixed mode, revert to interpreted
                 if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-                    this.compiledAst = null;
-                    this.interpretedCount.set(0);
+                    deoptimize(compiledAst);
                 } else {
                     // Running in SpelCompilerMode.immediate mode - propagate exception to caller
                     throw new SpelEvaluationException(ex, SpelMessage.EXCEPTION_RUNNING_COMPILED_EXPRESSION);
@@ -122,10 +136,14 @@ public class SpelExpression implements Expression {
             }
         }
 
-        ExpressionState expressionState = new ExpressionState(getEvaluationContext(), this.configuration);
-        Object result = this.ast.getValue(expressionState);
-        checkCompile(expressionState);
-        return result;
+        ExpressionState expressionState = ExpressionState.obtain(getEvaluationContext(), this.configuration);
+        try {
+            Object result = this.ast.getValue(expressionState);
+            this.compilationTracker.checkCompile();
+            return result;
+        } finally {
+            expressionState.release();
+        }
     }
 
     @SuppressWarnings("unchecked")
@@ -145,8 +163,7 @@ public class SpelExpression implements Expression {
             } catch (Throwable ex) {
                 // If running in mixed mode, revert to interpreted
                 if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-                    this.compiledAst = null;
-                    this.interpretedCount.set(0);
+                    deoptimize(compiledAst);
                 } else {
                     // Running in SpelCompilerMode.immediate mode - propagate exception to caller
                     throw new SpelEvaluationException(ex, SpelMessage.EXCEPTION_RUNNING_COMPILED_EXPRESSION);
@@ -154,11 +171,15 @@ public class SpelExpression implements Expression {
             }
         }
 
-        ExpressionState expressionState = new ExpressionState(getEvaluationContext(), this.configuration);
-        TypedValue typedResultValue = this.ast.getTypedValue(expressionState);
-        checkCompile(expressionState);
-        return ExpressionUtils.convertTypedValue(
-                expressionState.getEvaluationContext(), typedResultValue, expectedResultType);
+        ExpressionState expressionState = ExpressionState.obtain(getEvaluationContext(), this.configuration);
+        try {
+            TypedValue typedResultValue = this.ast.getTypedValue(expressionState);
+            this.compilationTracker.checkCompile();
+            return ExpressionUtils.convertTypedValue(
+                    expressionState.getEvaluationContext(), typedResultValue, expectedResultType);
+        } finally {
+            expressionState.release();
+        }
     }
 
     @Override
@@ -170,8 +191,7 @@ public class SpelExpression implements Expression {
             } catch (Throwable ex) {
                 // If running in mixed mode, revert to interpreted
                 if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-                    this.compiledAst = null;
-                    this.interpretedCount.set(0);
+                    deoptimize(compiledAst);
                 } else {
                     // Running in SpelCompilerMode.immediate mode - propagate exception to caller
                     throw new SpelEvaluationException(ex, SpelMessage.EXCEPTION_RUNNING_COMPILED_EXPRESSION);
@@ -180,10 +200,14 @@ public class SpelExpression implements Expression {
         }
 
         ExpressionState expressionState =
-                new ExpressionState(getEvaluationContext(), toTypedValue(rootObject), this.configuration);
-        Object result = this.ast.getValue(expressionState);
-        checkCompile(expressionState);
-        return result;
+                ExpressionState.obtain(getEvaluationContext(), toTypedValue(rootObject), this.configuration);
+        try {
+            Object result = this.ast.getValue(expressionState);
+            this.compilationTracker.checkCompile();
+            return result;
+        } finally {
+            expressionState.release();
+        }
     }
 
     @SuppressWarnings("unchecked")
@@ -202,8 +226,7 @@ public class SpelExpression implements Expression {
             } catch (Throwable ex) {
                 // If running in mixed mode, revert to interpreted
                 if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-                    this.compiledAst = null;
-                    this.interpretedCount.set(0);
+                    deoptimize(compiledAst);
                 } else {
                     // Running in SpelCompilerMode.immediate mode - propagate exception to caller
                     throw new SpelEvaluationException(ex, SpelMessage.EXCEPTION_RUNNING_COMPILED_EXPRESSION);
@@ -212,11 +235,15 @@ public class SpelExpression implements Expression {
         }
 
         ExpressionState expressionState =
-                new ExpressionState(getEvaluationContext(), toTypedValue(rootObject), this.configuration);
-        TypedValue typedResultValue = this.ast.getTypedValue(expressionState);
-        checkCompile(expressionState);
-        return ExpressionUtils.convertTypedValue(
-                expressionState.getEvaluationContext(), typedResultValue, expectedResultType);
+                ExpressionState.obtain(getEvaluationContext(), toTypedValue(rootObject), this.configuration);
+        try {
+            TypedValue typedResultValue = this.ast.getTypedValue(expressionState);
+            this.compilationTracker.checkCompile();
+            return ExpressionUtils.convertTypedValue(
+                    expressionState.getEvaluationContext(), typedResultValue, expectedResultType);
+        } finally {
+            expressionState.release();
+        }
     }
 
     @Override
@@ -230,8 +257,7 @@ public class SpelExpression implements Expression {
             } catch (Throwable ex) {
                 // If running in mixed mode, revert to interpreted
                 if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-                    this.compiledAst = null;
-                    this.interpretedCount.set(0);
+                    deoptimize(compiledAst);
                 } else {
                     // Running in SpelCompilerMode.immediate mode - propagate exception to caller
                     throw new SpelEvaluationException(ex, SpelMessage.EXCEPTION_RUNNING_COMPILED_EXPRESSION);
@@ -239,10 +265,14 @@ public class SpelExpression implements Expression {
             }
         }
 
-        ExpressionState expressionState = new ExpressionState(context, this.configuration);
-        Object result = this.ast.getValue(expressionState);
-        checkCompile(expressionState);
-        return result;
+        ExpressionState expressionState = ExpressionState.obtain(context, this.configuration);
+        try {
+            Object result = this.ast.getValue(expressionState);
+            this.compilationTracker.checkCompile();
+            return result;
+        } finally {
+            expressionState.release();
+        }
     }
 
     @SuppressWarnings("unchecked")
@@ -262,8 +292,7 @@ public class SpelExpression implements Expression {
             } catch (Throwable ex) {
                 // If running in mixed mode, revert to interpreted
                 if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-                    this.compiledAst = null;
-                    this.interpretedCount.set(0);
+                    deoptimize(compiledAst);
                 } else {
                     // Running in SpelCompilerMode.immediate mode - propagate exception to caller
                     throw new SpelEvaluationException(ex, SpelMessage.EXCEPTION_RUNNING_COMPILED_EXPRESSION);
@@ -271,10 +300,14 @@ public class SpelExpression implements Expression {
             }
         }
 
-        ExpressionState expressionState = new ExpressionState(context, this.configuration);
-        TypedValue typedResultValue = this.ast.getTypedValue(expressionState);
-        checkCompile(expressionState);
-        return ExpressionUtils.convertTypedValue(context, typedResultValue, expectedResultType);
+        ExpressionState expressionState = ExpressionState.obtain(context, this.configuration);
+        try {
+            TypedValue typedResultValue = this.ast.getTypedValue(expressionState);
+            this.compilationTracker.checkCompile();
+            return ExpressionUtils.convertTypedValue(context, typedResultValue, expectedResultType);
+        } finally {
+            expressionState.release();
+        }
     }
 
     @Override
@@ -288,8 +321,7 @@ public class SpelExpression implements Expression {
             } catch (Throwable ex) {
                 // If running in mixed mode, revert to interpreted
                 if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-                    this.compiledAst = null;
-                    this.interpretedCount.set(0);
+                    deoptimize(compiledAst);
                 } else {
                     // Running in SpelCompilerMode.immediate mode - propagate exception to caller
                     throw new SpelEvaluationException(ex, SpelMessage.EXCEPTION_RUNNING_COMPILED_EXPRESSION);
@@ -297,10 +329,14 @@ public class SpelExpression implements Expression {
             }
         }
 
-        ExpressionState expressionState = new ExpressionState(context, toTypedValue(rootObject), this.configuration);
-        Object result = this.ast.getValue(expressionState);
-        checkCompile(expressionState);
-        return result;
+        ExpressionState expressionState = ExpressionState.obtain(context, toTypedValue(rootObject), this.configuration);
+        try {
+            Object result = this.ast.getValue(expressionState);
+            this.compilationTracker.checkCompile();
+            return result;
+        } finally {
+            expressionState.release();
+        }
     }
 
     @SuppressWarnings("unchecked")
@@ -322,8 +358,7 @@ public class SpelExpression implements Expression {
             } catch (Throwable ex) {
                 // If running in mixed mode, revert to interpreted
                 if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-                    this.compiledAst = null;
-                    this.interpretedCount.set(0);
+                    deoptimize(compiledAst);
                 } else {
                     // Running in SpelCompilerMode.immediate mode - propagate exception to caller
                     throw new SpelEvaluationException(ex, SpelMessage.EXCEPTION_RUNNING_COMPILED_EXPRESSION);
@@ -331,9 +366,343 @@ public class SpelExpression implements Expression {
             }
         }
 
-        ExpressionState expressionState = new ExpressionState(context, toTypedValue(rootObject), this.configuration);
+        ExpressionState expressionState = ExpressionState.obtain(context, toTypedValue(rootObject), this.configuration);
+        try {
+            TypedValue typedResultValue = this.ast.getTypedValue(expressionState);
+            this.compilationTracker.checkCompile();
+            return ExpressionUtils.convertTypedValue(context, typedResultValue, expectedResultType);
+        } finally {
+            expressionState.release();
+        }
+    }
+
+    @Override
+    public boolean getBooleanValue(EvaluationContext context) throws EvaluationException {
+        Assert.notNull(context, "EvaluationContext is required");
+        return evaluateBoolean(context, context.getRootObject());
+    }
+
+    @Override
+    public boolean getBooleanValue(EvaluationContext context, Object rootObject) throws EvaluationException {
+        Assert.notNull(context, "EvaluationContext is required");
+        return evaluateBoolean(context, toTypedValue(rootObject));
+    }
+
+    @Override
+    public int getIntValue(EvaluationContext context) throws EvaluationException {
+        Assert.notNull(context, "EvaluationContext is required");
+        return evaluateInt(context, context.getRootObject());
+    }
+
+    @Override
+    public int getIntValue(EvaluationContext context, Object rootObject) throws EvaluationException {
+        Assert.notNull(context, "EvaluationContext is required");
+        return evaluateInt(context, toTypedValue(rootObject));
+    }
+
+    @Override
+    public long getLongValue(EvaluationContext context) throws EvaluationException {
+        Assert.notNull(context, "EvaluationContext is required");
+        return evaluateLong(context, context.getRootObject());
+    }
+
+    @Override
+    public long getLongValue(EvaluationContext context, Object rootObject) throws EvaluationException {
+        Assert.notNull(context, "EvaluationContext is required");
+        return evaluateLong(context, toTypedValue(rootObject));
+    }
+
+    @Override
+    public double getDoubleValue(EvaluationContext context) throws EvaluationException {
+        Assert.notNull(context, "EvaluationContext is required");
+        return evaluateDouble(context, context.getRootObject());
+    }
+
+    @Override
+    public double getDoubleValue(EvaluationContext context, Object rootObject) throws EvaluationException {
+        Assert.notNull(context, "EvaluationContext is required");
+        return evaluateDouble(context, toTypedValue(rootObject));
+    }
+
+    private boolean evaluateBoolean(EvaluationContext context, TypedValue rootObject) {
+        CompiledExpression compiledAst = this.compiledAst;
+        if (compiledAst != null) {
+            if ("Z".equals(compiledAst.getPrimitiveResultDescriptor())) {
+                try {
+                    return compiledAst.getBooleanValue(rootObject.getValue(), context);
+                } catch (Throwable ex) {
+                    handleCompiledFailure(compiledAst, ex);
+                }
+            } else {
+                Object result = getCompiledValue(compiledAst, rootObject.getValue(), context);
+                if (result != COMPILED_VALUE_FAILED) {
+                    return (result instanceof Boolean ? (Boolean) result :
+                            ExpressionUtils.convertTypedValue(context, new TypedValue(result), boolean.class));
+                }
+            }
+        }
+
+        TypedValue typedResultValue = getInterpretedValue(context, rootObject);
+        Object result = typedResultValue.getValue();
+        if (result instanceof Boolean) {
+            return (Boolean) result;
+        }
+        return ExpressionUtils.convertTypedValue(context, typedResultValue, boolean.class);
+    }
+
+    private int evaluateInt(EvaluationContext context, TypedValue rootObject) {
+        CompiledExpression compiledAst = this.compiledAst;
+        if (compiledAst != null) {
+            if ("I".equals(compiledAst.getPrimitiveResultDescriptor())) {
+                try {
+                    return compiledAst.getIntValue(rootObject.getValue(), context);
+                } catch (Throwable ex) {
+                    handleCompiledFailure(compiledAst, ex);
+                }
+            } else {
+                Object result = getCompiledValue(compiledAst, rootObject.getValue(), context);
+                if (result != COMPILED_VALUE_FAILED) {
+                    return (result instanceof Integer ? (Integer) result :
+                            ExpressionUtils.convertTypedValue(context, new TypedValue(result), int.class));
+                }
+            }
+        }
+
+        TypedValue typedResultValue = getInterpretedValue(context, rootObject);
+        Object result = typedResultValue.getValue();
+        if (result instanceof Integer) {
+            return (Integer) result;
+        }
+        return ExpressionUtils.convertTypedValue(context, typedResultValue, int.class);
+    }
+
+    private long evaluateLong(EvaluationContext context, TypedValue rootObject) {
+        CompiledExpression compiledAst = this.compiledAst;
+        if (compiledAst != null) {
+            if ("J".equals(compiledAst.getPrimitiveResultDescriptor())) {
+                try {
+                    return compiledAst.getLongValue(rootObject.getValue(), context);
+                } catch (Throwable ex) {
+                    handleCompiledFailure(compiledAst, ex);
+                }
+            } else {
+                Object result = getCompiledValue(compiledAst, rootObject.getValue(), context);
+                if (result != COMPILED_VALUE_FAILED) {
+                    return (result instanceof Long ? (Long) result :
+                            ExpressionUtils.convertTypedValue(context, new TypedValue(result), long.class));
+                }
+            }
+        }
+
+        TypedValue typedResultValue = getInterpretedValue(context, rootObject);
+        Object result = typedResultValue.getValue();
+        if (result instanceof Long) {
+            return (Long) result;
+        }
+        return ExpressionUtils.convertTypedValue(context, typedResultValue, long.class);
+    }
+
+    private double evaluateDouble(EvaluationContext context, TypedValue rootObject) {
+        CompiledExpression compiledAst = this.compiledAst;
+        if (compiledAst != null) {
+            if ("D".equals(compiledAst.getPrimitiveResultDescriptor())) {
+                try {
+                    return compiledAst.getDoubleValue(rootObject.getValue(), context);
+                } catch (Throwable ex) {
+                    handleCompiledFailure(compiledAst, ex);
+                }
+            } else {
+                Object result = getCompiledValue(compiledAst, rootObject.getValue(), context);
+                if (result != COMPILED_VALUE_FAILED) {
+                    return (result instanceof Double ? (Double) result :
+                            ExpressionUtils.convertTypedValue(context, new TypedValue(result), double.class));
+                }
+            }
+        }
+
+        TypedValue typedResultValue = getInterpretedValue(context, rootObject);
+        Object result = typedResultValue.getValue();
+        if (result instanceof Double) {
+            return (Double) result;
+        }
+        return ExpressionUtils.convertTypedValue(context, typedResultValue, double.class);
+    }
+
+    /**
+     * Evaluate the compiled form of this expression. Only a failure of the compiled code
+     * itself is handled: converting the result is left to the caller, so that a value
+     * which cannot be converted does not count as a failure of the compiled form.
+     *
+     * @return the result, or {@link #COMPILED_VALUE_FAILED} if the compiled form failed
+     * in {@code MIXED} mode, so that the expression is to be interpreted instead
+     */
+    private Object getCompiledValue(CompiledExpression compiledAst, Object rootObject, EvaluationContext context) {
+        try {
+            return compiledAst.getValue(rootObject, context);
+        } catch (Throwable ex) {
+            handleCompiledFailure(compiledAst, ex);
+            return COMPILED_VALUE_FAILED;
+        }
+    }
+
+    /**
+     * Evaluate the AST of this expression, and compile it if it has become hot.
+     */
+    private TypedValue getInterpretedValue(EvaluationContext context, TypedValue rootObject) {
+        ExpressionState expressionState = ExpressionState.obtain(context, rootObject, this.configuration);
+        try {
+            TypedValue typedResultValue = this.ast.getTypedValue(expressionState);
+            this.compilationTracker.checkCompile();
+            return typedResultValue;
+        } finally {
+            expressionState.release();
+        }
+    }
+
+    /**
+     * Handle a failure of the compiled form of this expression: revert to interpreted
+     * evaluation in {@code MIXED} mode, or propagate the failure otherwise.
+     */
+    private void handleCompiledFailure(CompiledExpression compiledAst, Throwable ex) {
+        // If running in mixed mode, revert to interpreted
+        if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
+            deoptimize(compiledAst);
+        } else {
+            // Running in SpelCompilerMode.immediate mode - propagate exception to caller
+            throw new SpelEvaluationException(ex, SpelMessage.EXCEPTION_RUNNING_COMPILED_EXPRESSION);
+        }
+    }
+
+    /**
+     * Evaluate this expression against the given state, as a part of an expression set
+     * whose expressions all share one state. Uses the compiled form, if there is one.
+     *
+     * @param expressionState the state of the expression set evaluation
+     * @return the value of this expression
+     * @see SpelExpressionSet
+     */
+    TypedValue getTypedValue(ExpressionState expressionState) throws EvaluationException {
+        CompiledExpression compiledAst = this.compiledAst;
+        if (compiledAst != null) {
+            Object result = getCompiledValue(compiledAst, expressionState.getRootContextObject().getValue(),
+                    expressionState.getEvaluationContext());
+            if (result != COMPILED_VALUE_FAILED) {
+                return new TypedValue(result);
+            }
+        }
+
         TypedValue typedResultValue = this.ast.getTypedValue(expressionState);
-        checkCompile(expressionState);
+        this.compilationTracker.checkCompile();
+        return typedResultValue;
+    }
+
+    /**
+     * Evaluate this expression against every one of the given root objects, writing
+     * the results into the given array at the index of their root object.
+     * <p>Compared to calling {@link #getValue(EvaluationContext, Object, Class)} for
+     * each root object, the evaluation state is set up once per batch and reused for
+     * all root objects, and results that already are of the expected type are not
+     * passed through the type converter.
+     * <p>If there are at least as many root objects as the
+     * {@linkplain SpelParserConfiguration#getParallelThreshold() parallel threshold},
+     * they are split into chunks that are evaluated on the common
+     * {@link java.util.concurrent.ForkJoinPool}, which requires the context, and anything the expression
+     * accesses, to be safe for concurrent use.
+     *
+     * @param context            the context in which to evaluate the expression
+     * @param rootObjects        the root objects to evaluate the expression against
+     * @param expectedResultType the class the results are expected to be converted to,
+     *                           or {@code null} to keep them as they are
+     * @param results            the array to write the results to, at least as long as
+     *                           the array of root objects
+     * @throws EvaluationException if there is a problem during evaluation; results of
+     *                             the root objects evaluated so far may have been written
+     * @since 5.2.9
+     */
+    public <T> void evaluateAll(EvaluationContext context, Object[] rootObjects, Class<T> expectedResultType,
+                                T[] results) throws EvaluationException {
+
+        Assert.notNull(context, "EvaluationContext is required");
+        Assert.notNull(rootObjects, "Root objects must not be null");
+        Assert.notNull(results, "Results must not be null");
+        Assert.isTrue(results.length >= rootObjects.length, "Results must be at least as long as the root objects");
+
+        ExpressionState expressionState = ExpressionState.obtain(context, TypedValue.NULL, this.configuration);
+        try {
+            if (ParallelEvaluation.isApplicable(rootObjects, expressionState)) {
+                ParallelEvaluation.evaluate(rootObjects, expressionState, (chunkState, rootObject, index) ->
+                        evaluateInBatch(chunkState, rootObject, expectedResultType), results);
+            } else {
+                for (int i = 0; i < rootObjects.length; i++) {
+                    results[i] = evaluateInBatch(expressionState, rootObjects[i], expectedResultType);
+                }
+            }
+        } finally {
+            expressionState.release();
+        }
+    }
+
+    /**
+     * Evaluate this expression against every one of the given root objects in
+     * iteration order, passing the results to the given consumer.
+     * <p>Compared to calling {@link #getValue(EvaluationContext, Object, Class)} for
+     * each root object, the evaluation state is set up once per batch and reused for
+     * all root objects, and results that already are of the expected type are not
+     * passed through the type converter.
+     *
+     * @param context            the context in which to evaluate the expression
+     * @param rootObjects        the root objects to evaluate the expression against
+     * @param expectedResultType the class the results are expected to be converted to,
+     *                           or {@code null} to keep them as they are
+     * @param resultConsumer     the consumer to pass the results to
+     * @throws EvaluationException if there is a problem during evaluation; results of
+     *                             the root objects evaluated so far have been consumed
+     * @since 5.2.9
+     */
+    public <T> void evaluateAll(EvaluationContext context, Iterable<?> rootObjects, Class<T> expectedResultType,
+                                Consumer<? super T> resultConsumer) throws EvaluationException {
+
+        Assert.notNull(context, "EvaluationContext is required");
+        Assert.notNull(rootObjects, "Root objects must not be null");
+        Assert.notNull(resultConsumer, "Result consumer must not be null");
+
+        ExpressionState expressionState = ExpressionState.obtain(context, TypedValue.NULL, this.configuration);
+        try {
+            for (Object rootObject : rootObjects) {
+                resultConsumer.accept(evaluateInBatch(expressionState, rootObject, expectedResultType));
+            }
+        } finally {
+            expressionState.release();
+        }
+    }
+
+    /**
+     * Evaluate this expression against the given root object, reusing the given state
+     * of the batch. Uses the compiled form, if there is one, so that an expression
+     * compiled halfway through a batch is used for the remaining root objects.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T evaluateInBatch(ExpressionState expressionState, Object rootObject, Class<T> expectedResultType) {
+        EvaluationContext context = expressionState.getEvaluationContext();
+        Object result;
+        CompiledExpression compiledAst = this.compiledAst;
+        if (compiledAst != null) {
+            result = getCompiledValue(compiledAst, rootObject, context);
+            if (result != COMPILED_VALUE_FAILED) {
+                if (expectedResultType == null || expectedResultType.isInstance(result)) {
+                    return (T) result;
+                }
+                return ExpressionUtils.convertTypedValue(context, new TypedValue(result), expectedResultType);
+            }
+        }
+
+        expressionState.resetRootObject(toTypedValue(rootObject));
+        TypedValue typedResultValue = this.ast.getTypedValue(expressionState);
+        this.compilationTracker.checkCompile();
+        result = typedResultValue.getValue();
+        if (expectedResultType == null || expectedResultType.isInstance(result)) {
+            return (T) result;
+        }
         return ExpressionUtils.convertTypedValue(context, typedResultValue, expectedResultType);
     }
 
@@ -350,16 +719,24 @@ public class SpelExpression implements Expression {
     @Override
     public Class<?> getValueType(EvaluationContext context) throws EvaluationException {
         Assert.notNull(context, "EvaluationContext is required");
-        ExpressionState expressionState = new ExpressionState(context, this.configuration);
-        TypeDescriptor typeDescriptor = this.ast.getValueInternal(expressionState).getTypeDescriptor();
-        return (typeDescriptor != null ? typeDescriptor.getType() : null);
+        ExpressionState expressionState = ExpressionState.obtain(context, this.configuration);
+        try {
+            TypeDescriptor typeDescriptor = this.ast.getValueInternal(expressionState).getTypeDescriptor();
+            return (typeDescriptor != null ? typeDescriptor.getType() : null);
+        } finally {
+            expressionState.release();
+        }
     }
 
     @Override
     public Class<?> getValueType(EvaluationContext context, Object rootObject) throws EvaluationException {
-        ExpressionState expressionState = new ExpressionState(context, toTypedValue(rootObject), this.configuration);
-        TypeDescriptor typeDescriptor = this.ast.getValueInternal(expressionState).getTypeDescriptor();
-        return (typeDescriptor != null ? typeDescriptor.getType() : null);
+        ExpressionState expressionState = ExpressionState.obtain(context, toTypedValue(rootObject), this.configuration);
+        try {
+            TypeDescriptor typeDescriptor = this.ast.getValueInternal(expressionState).getTypeDescriptor();
+            return (typeDescriptor != null ? typeDescriptor.getType() : null);
+        } finally {
+            expressionState.release();
+        }
     }
 
     @Override
@@ -370,15 +747,23 @@ public class SpelExpression implements Expression {
     @Override
     public TypeDescriptor getValueTypeDescriptor(Object rootObject) throws EvaluationException {
         ExpressionState expressionState =
-                new ExpressionState(getEvaluationContext(), toTypedValue(rootObject), this.configuration);
-        return this.ast.getValueInternal(expressionState).getTypeDescriptor();
+                ExpressionState.obtain(getEvaluationContext(), toTypedValue(rootObject), this.configuration);
+        try {
+            return this.ast.getValueInternal(expressionState).getTypeDescriptor();
+        } finally {
+            expressionState.release();
+        }
     }
 
     @Override
     public TypeDescriptor getValueTypeDescriptor(EvaluationContext context) throws EvaluationException {
         Assert.notNull(context, "EvaluationContext is required");
-        ExpressionState expressionState = new ExpressionState(context, this.configuration);
-        return this.ast.getValueInternal(expressionState).getTypeDescriptor();
+        ExpressionState expressionState = ExpressionState.obtain(context, this.configuration);
+        try {
+            return this.ast.getValueInternal(expressionState).getTypeDescriptor();
+        } finally {
+            expressionState.release();
+        }
     }
 
     @Override
@@ -386,8 +771,12 @@ public class SpelExpression implements Expression {
             throws EvaluationException {
 
         Assert.notNull(context, "EvaluationContext is required");
-        ExpressionState expressionState = new ExpressionState(context, toTypedValue(rootObject), this.configuration);
-        return this.ast.getValueInternal(expressionState).getTypeDescriptor();
+        ExpressionState expressionState = ExpressionState.obtain(context, toTypedValue(rootObject), this.configuration);
+        try {
+            return this.ast.getValueInternal(expressionState).getTypeDescriptor();
+        } finally {
+            expressionState.release();
+        }
     }
 
     @Override
@@ -430,74 +819,37 @@ public class SpelExpression implements Expression {
 
 
     /**
-     * Compile the expression if it has been evaluated more than the threshold number
-     * of times to trigger compilation.
-     *
-     * @param expressionState the expression state used to determine compilation mode
+     * Discard the given compiled form after it failed in {@code MIXED} mode, so that
+     * the expression is interpreted until the {@link CompilationPolicy} recompiles it.
      */
-    private void checkCompile(ExpressionState expressionState) {
-        this.interpretedCount.incrementAndGet();
-        SpelCompilerMode compilerMode = expressionState.getConfiguration().getCompilerMode();
-        if (compilerMode != SpelCompilerMode.OFF) {
-            if (compilerMode == SpelCompilerMode.IMMEDIATE) {
-                if (this.interpretedCount.get() > 1) {
-                    compileExpression();
-                }
-            } else {
-                // compilerMode = SpelCompilerMode.MIXED
-                if (this.interpretedCount.get() > INTERPRETED_COUNT_THRESHOLD) {
-                    compileExpression();
-                }
-            }
+    private void deoptimize(CompiledExpression failedAst) {
+        // Only count once if several threads fail on the same compiled form
+        if (compiledAstUpdater.compareAndSet(this, failedAst, null)) {
+            this.compilationTracker.deoptimized();
         }
     }
 
     /**
      * Perform expression compilation. This will only succeed once exit descriptors for
-     * all nodes have been determined. If the compilation fails and has failed more than
-     * 100 times the expression is no longer considered suitable for compilation.
+     * all nodes have been determined. If the compilation has failed more often than the
+     * {@link CompilationPolicy} allows, or the compiler has used up its budget of classes,
+     * the expression is no longer considered suitable for compilation.
      *
      * @return whether this expression has been successfully compiled
      */
     public boolean compileExpression() {
-        CompiledExpression compiledAst = this.compiledAst;
-        if (compiledAst != null) {
-            // Previously compiled
-            return true;
-        }
-        if (this.failedAttempts.get() > FAILED_ATTEMPTS_THRESHOLD) {
-            // Don't try again
-            return false;
-        }
-
-        synchronized (this) {
-            if (this.compiledAst != null) {
-                // Compiled by another thread before this thread got into the sync block
-                return true;
-            }
-            SpelCompiler compiler = SpelCompiler.getCompiler(this.configuration.getCompilerClassLoader());
-            compiledAst = compiler.compile(this.ast);
-            if (compiledAst != null) {
-                // Successfully compiled
-                this.compiledAst = compiledAst;
-                return true;
-            } else {
-                // Failed to compile
-                this.failedAttempts.incrementAndGet();
-                return false;
-            }
-        }
+        return this.compilationTracker.compile();
     }
 
     /**
      * Cause an expression to revert to being interpreted if it has been using a compiled
      * form. It also resets the compilation attempt failure count (an expression is normally no
-     * longer considered compilable if it cannot be compiled after 100 attempts).
+     * longer considered compilable once it has failed as often as the {@link CompilationPolicy}
+     * allows) and the deoptimization count.
      */
     public void revertToInterpreted() {
         this.compiledAst = null;
-        this.interpretedCount.set(0);
-        this.failedAttempts.set(0);
+        this.compilationTracker.reset();
     }
 
     /**
@@ -16,17 +16,22 @@
 
 package io.github.imsejin.expression.spel.standard;
 
+import io.github.imsejin.expression.Expression;
 import io.github.imsejin.expression.ParseException;
 import io.github.imsejin.expression.ParserContext;
+import io.github.imsejin.expression.common.CompositeStringExpression;
 import io.github.imsejin.expression.common.TemplateAwareExpressionParser;
 import io.github.imsejin.expression.spel.SpelParserConfiguration;
 import io.github.imsejin.expression.util.Assert;
 
+import java.util.Map;
+
 /**
  * SpEL parser. Instances are reusable and thread-safe.
  *
  * @author Andy Clement
  * @author Juergen Hoeller
+ * @author imsejin
  * @since 3.0
  */
 public class SpelExpressionParser extends TemplateAwareExpressionParser {
@@ -54,9 +59,42 @@ public class SpelExpressionParser extends TemplateAwareExpressionParser {
         return doParseExpression(expressionString, null);
     }
 
+    /**
+     * Parse the given expression strings into a set of expressions that are evaluated
+     * together against the same root object, sharing the evaluation of the
+     * sub-expressions they have in common.
+     *
+     * @param expressionStrings the raw expression strings by id, in evaluation order
+     * @return the parsed expression set
+     * @throws ParseException if any of the expressions cannot be parsed
+     * @since 5.2.9
+     */
+    public SpelExpressionSet parseExpressionSet(Map<String, String> expressionStrings) throws ParseException {
+        Assert.notNull(expressionStrings, "Expression strings must not be null");
+        String[] ids = new String[expressionStrings.size()];
+        SpelExpression[] expressions = new SpelExpression[expressionStrings.size()];
+        int i = 0;
+        for (Map.Entry<String, String> entry : expressionStrings.entrySet()) {
+            Assert.notNull(entry.getKey(), "Expression id must not be null");
+            ids[i] = entry.getKey();
+            expressions[i] = parseRaw(entry.getValue());
+            i++;
+        }
+        return new SpelExpressionSet(ids, expressions, this.configuration);
+    }
+
     @Override
     protected SpelExpression doParseExpression(String expressionString, ParserContext context) throws ParseException {
         return new InternalSpelExpressionParser(this.configuration).doParseExpression(expressionString, context);
     }
 
+    /**
+     * Create a {@link SpelTemplateExpression}, which evaluates all parts of the
+     * template against a single expression state and can be compiled as a whole.
+     */
+    @Override
+    protected CompositeStringExpression createCompositeExpression(String expressionString, Expression[] expressions) {
+        return new SpelTemplateExpression(expressionString, expressions, this.configuration);
+    }
+
 }
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.imsejin.expression.spel.standard;
+
+import io.github.imsejin.expression.EvaluationContext;
+import io.github.imsejin.expression.EvaluationException;
+import io.github.imsejin.expression.TypedValue;
+import io.github.imsejin.expression.common.ExpressionUtils;
+import io.github.imsejin.expression.spel.ExpressionState;
+import io.github.imsejin.expression.spel.SpelCompilerMode;
+import io.github.imsejin.expression.spel.SpelParserConfiguration;
+import io.github.imsejin.expression.spel.ast.SpelNodeImpl;
+import io.github.imsejin.expression.spel.ast.SubExpressionEliminator;
+import io.github.imsejin.expression.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A set of expressions, each identified by an id, that are evaluated together against
+ * the same root object, such as the rules deciding where to route a request. Instances
+ * are created through {@link SpelExpressionParser#parseExpressionSet(Map)} and are
+ * thread-safe.
+ *
+ * <p>Sub-expressions that the expressions have in common, such as
+ * {@code order.customer} in {@code order.customer.tier == 'GOLD'} and
+ * {@code order.customer.country == 'KR'}, are evaluated once per root object and
+ * shared by all expressions of the set, as determined by the
+ * {@link SubExpressionEliminator}. As a consequence, evaluating one expression of
+ * the set is assumed not to change what another one reads.
+ *
+ * <p>Sub-expressions are only shared when the expressions are interpreted: with a
+ * compiler mode other than {@link SpelCompilerMode#OFF}, each expression evaluates
+ * what it reads on its own, as compiled code reads properties directly.
+ *
+ * @author imsejin
+ * @since 5.2.9
+ */
+public class SpelExpressionSet {
+
+    private final String[] ids;
+
+    private final SpelExpression[] expressions;
+
+    private final SpelParserConfiguration configuration;
+
+    private final int sharedValueCount;
+
+
+    SpelExpressionSet(String[] ids, SpelExpression[] expressions, SpelParserConfiguration configuration) {
+        this.ids = ids;
+        this.expressions = expressions;
+        this.configuration = configuration;
+        if (configuration.getCompilerMode() == SpelCompilerMode.OFF) {
+            SpelNodeImpl[] asts = new SpelNodeImpl[expressions.length];
+            for (int i = 0; i < expressions.length; i++) {
+                asts[i] = (SpelNodeImpl) expressions[i].getAST();
+            }
+            this.sharedValueCount = SubExpressionEliminator.eliminate(asts);
+        } else {
+            this.sharedValueCount = 0;
+        }
+    }
+
+
+    /**
+     * Return the ids of the expressions, in the order in which they are evaluated.
+     */
+    public List<String> getIds() {
+        return Collections.unmodifiableList(Arrays.asList(this.ids));
+    }
+
+    /**
+     * Return the expression with the given id.
+     *
+     * @param id the id of the expression
+     * @return the expression, or {@code null} if the set has none with the given id
+     */
+    public SpelExpression getExpression(String id) {
+        for (int i = 0; i < this.ids.length; i++) {
+            if (this.ids[i].equals(id)) {
+                return this.expressions[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Return the number of sub-expressions that are shared by the expressions.
+     */
+    public int getSharedSubExpressionCount() {
+        return this.sharedValueCount;
+    }
+
+    /**
+     * Evaluate all expressions against the root object of the given context.
+     *
+     * @param context the context in which to evaluate the expressions
+     * @return the results of the expressions by id, in the order of the ids
+     * @throws EvaluationException if there is a problem during evaluation
+     */
+    public Map<String, Object> getValues(EvaluationContext context) throws EvaluationException {
+        Assert.notNull(context, "EvaluationContext is required");
+        return getValues(context, context.getRootObject());
+    }
+
+    /**
+     * Evaluate all expressions against the given root object.
+     *
+     * @param context    the context in which to evaluate the expressions
+     * @param rootObject the root object against which to evaluate the expressions
+     * @return the results of the expressions by id, in the order of the ids
+     * @throws EvaluationException if there is a problem during evaluation
+     */
+    public Map<String, Object> getValues(EvaluationContext context, Object rootObject) throws EvaluationException {
+        Assert.notNull(context, "EvaluationContext is required");
+        return getValues(context, toTypedValue(rootObject));
+    }
+
+    /**
+     * Evaluate all expressions against the root object of the given context, and
+     * return the ids of those that are {@code true}.
+     *
+     * @param context the context in which to evaluate the expressions
+     * @return the ids of the matching expressions, in the order of the ids
+     * @throws EvaluationException if there is a problem during evaluation
+     */
+    public List<String> getMatchingIds(EvaluationContext context) throws EvaluationException {
+        Assert.notNull(context, "EvaluationContext is required");
+        return getMatchingIds(context, context.getRootObject());
+    }
+
+    /**
+     * Evaluate all expressions against the given root object, and return the ids of
+     * those that are {@code true}. Results that are not booleans are converted to
+     * booleans.
+     *
+     * @param context    the context in which to evaluate the expressions
+     * @param rootObject the root object against which to evaluate the expressions
+     * @return the ids of the matching expressions, in the order of the ids
+     * @throws EvaluationException if there is a problem during evaluation
+     */
+    public List<String> getMatchingIds(EvaluationContext context, Object rootObject) throws EvaluationException {
+        Assert.notNull(context, "EvaluationContext is required");
+        return getMatchingIds(context, toTypedValue(rootObject));
+    }
+
+    private Map<String, Object> getValues(EvaluationContext context, TypedValue rootObject) {
+        Map<String, Object> values = new LinkedHashMap<>((int) (this.ids.length / 0.75f) + 1);
+        ExpressionState expressionState = obtainState(context, rootObject);
+        try {
+            for (int i = 0; i < this.expressions.length; i++) {
+                values.put(this.ids[i], this.expressions[i].getTypedValue(expressionState).getValue());
+            }
+        } finally {
+            expressionState.release();
+        }
+        return values;
+    }
+
+    private List<String> getMatchingIds(EvaluationContext context, TypedValue rootObject) {
+        List<String> matchingIds = new ArrayList<>();
+        ExpressionState expressionState = obtainState(context, rootObject);
+        try {
+            for (int i = 0; i < this.expressions.length; i++) {
+                TypedValue value = this.expressions[i].getTypedValue(expressionState);
+                Object result = value.getValue();
+                if (!(result instanceof Boolean)) {
+                    result = ExpressionUtils.convertTypedValue(context, value, Boolean.class);
+                }
+                if (Boolean.TRUE.equals(result)) {
+                    matchingIds.add(this.ids[i]);
+                }
+            }
+        } finally {
+            expressionState.release();
+        }
+        return matchingIds;
+    }
+
+    /**
+     * Obtain the state that all expressions are evaluated against, with a fresh slot
+     * for the value of every shared sub-expression.
+     */
+    private ExpressionState obtainState(EvaluationContext context, TypedValue rootObject) {
+        ExpressionState expressionState = ExpressionState.obtain(context, rootObject, this.configuration);
+        if (this.sharedValueCount > 0) {
+            expressionState.setSharedValues(new TypedValue[this.sharedValueCount]);
+        }
+        return expressionState;
+    }
+
+    private static TypedValue toTypedValue(Object object) {
+        return (object != null ? new TypedValue(object) : TypedValue.NULL);
+    }
+
+    @Override
+    public String toString() {
+        return "SpelExpressionSet " + getIds() + " [shared sub-expressions = " + this.sharedValueCount + "]";
+    }
+
+}
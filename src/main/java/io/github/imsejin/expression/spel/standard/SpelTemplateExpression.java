@@ -0,0 +1,336 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.imsejin.expression.spel.standard;
+
+import io.github.imsejin.expression.EvaluationContext;
+import io.github.imsejin.expression.EvaluationException;
+import io.github.imsejin.expression.Expression;
+import io.github.imsejin.expression.TypedValue;
+import io.github.imsejin.expression.common.CompositeStringExpression;
+import io.github.imsejin.expression.common.ExpressionUtils;
+import io.github.imsejin.expression.common.LiteralExpression;
+import io.github.imsejin.expression.spel.*;
+import io.github.imsejin.expression.spel.support.StandardEvaluationContext;
+import io.github.imsejin.expression.util.Assert;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * A template expression parsed by the {@link SpelExpressionParser}, e.g.
+ * {@code "Hello #{name}, you have #{count} new messages"}.
+ *
+ * <p>Unlike a plain {@link CompositeStringExpression}, which evaluates each part on its
+ * own, all embedded expressions are evaluated against a single {@link ExpressionState}
+ * and appended to a single builder, which is pre-sized from the lengths of earlier
+ * results. The value can also be appended straight to a caller-supplied builder or
+ * {@link Appendable} through one of the {@code appendValue} methods.
+ *
+ * <p>Once the template is considered hot by the {@link CompilationPolicy} of a
+ * compiling {@link SpelParserConfiguration}, it is compiled as a whole into a single
+ * generated class which appends all parts in one method. This requires every embedded
+ * expression to be compilable, just like an expression evaluated on its own.
+ *
+ * @author imsejin
+ * @since 5.2.9
+ * @see CompiledTemplate
+ */
+public class SpelTemplateExpression extends CompositeStringExpression {
+
+    private static final AtomicReferenceFieldUpdater<SpelTemplateExpression, CompiledTemplate> compiledTemplateUpdater =
+            AtomicReferenceFieldUpdater.newUpdater(SpelTemplateExpression.class, CompiledTemplate.class, "compiledTemplate");
+
+    // Estimated length of each embedded expression's value before any evaluation
+    private static final int INITIAL_VALUE_LENGTH = 16;
+
+
+    private final SpelParserConfiguration configuration;
+
+    // The literal text of each part, or null for an embedded expression
+    private final String[] literals;
+    // The AST of each embedded expression, or null for a literal part
+    private final SpelNode[] asts;
+    // Decides when the template gets compiled
+    private final CompilationTracker compilationTracker;
+    // Running average of the length of the results, used to size the next builder
+    private volatile int averageLength;
+    // The default context is used if no override is supplied by the user
+    private EvaluationContext evaluationContext;
+    // Holds the compiled form of the template (if it has been compiled)
+    private volatile CompiledTemplate compiledTemplate;
+
+
+    /**
+     * Construct a template expression, only used by the parser.
+     *
+     * @param expressionString the template
+     * @param expressions      the parts of the template, each either a
+     *                         {@link LiteralExpression} or a {@link SpelExpression}
+     * @param configuration    the configuration of the parser
+     */
+    public SpelTemplateExpression(String expressionString, Expression[] expressions,
+                                  SpelParserConfiguration configuration) {
+
+        super(expressionString, expressions);
+        this.configuration = configuration;
+        this.literals = new String[expressions.length];
+        this.asts = new SpelNode[expressions.length];
+        int length = 0;
+        for (int i = 0; i < expressions.length; i++) {
+            Expression expression = expressions[i];
+            if (expression instanceof LiteralExpression) {
+                this.literals[i] = expression.getExpressionString();
+                length += this.literals[i].length();
+            } else {
+                this.asts[i] = ((SpelExpression) expression).getAST();
+                length += INITIAL_VALUE_LENGTH;
+            }
+        }
+        this.averageLength = length;
+        this.compilationTracker = new CompilationTracker(configuration) {
+            @Override
+            protected boolean hasCompiledForm() {
+                return (compiledTemplate != null);
+            }
+
+            @Override
+            protected boolean createCompiledForm(SpelCompiler compiler) {
+                CompiledTemplate compiledTemplate = compiler.compileTemplate(getExpressions());
+                if (compiledTemplate != null) {
+                    SpelTemplateExpression.this.compiledTemplate = compiledTemplate;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+
+    /**
+     * Return the default evaluation context that will be used if none is supplied on an evaluation call.
+     *
+     * @return the default evaluation context
+     */
+    public EvaluationContext getEvaluationContext() {
+        if (this.evaluationContext == null) {
+            this.evaluationContext = new StandardEvaluationContext();
+        }
+        return this.evaluationContext;
+    }
+
+    /**
+     * Set the evaluation context that will be used if none is specified on an evaluation call.
+     *
+     * @param evaluationContext the evaluation context to use
+     */
+    public void setEvaluationContext(EvaluationContext evaluationContext) {
+        this.evaluationContext = evaluationContext;
+    }
+
+    @Override
+    public String getValue() throws EvaluationException {
+        return getValue(getEvaluationContext());
+    }
+
+    @Override
+    public String getValue(Object rootObject) throws EvaluationException {
+        return getValue(getEvaluationContext(), rootObject);
+    }
+
+    @Override
+    public String getValue(EvaluationContext context) throws EvaluationException {
+        Assert.notNull(context, "EvaluationContext is required");
+        return render(context, context.getRootObject());
+    }
+
+    @Override
+    public String getValue(EvaluationContext context, Object rootObject) throws EvaluationException {
+        Assert.notNull(context, "EvaluationContext is required");
+        return render(context, toTypedValue(rootObject));
+    }
+
+    /**
+     * Append the value of this template to the given builder.
+     *
+     * @param context the context in which to evaluate the template
+     * @param target  the builder to append to
+     * @throws EvaluationException if there is a problem during evaluation
+     */
+    public void appendValue(EvaluationContext context, StringBuilder target) throws EvaluationException {
+        Assert.notNull(context, "EvaluationContext is required");
+        appendValueTo(context, context.getRootObject(), target);
+    }
+
+    /**
+     * Append the value of this template, evaluated against the given root object,
+     * to the given builder.
+     *
+     * @param context    the context in which to evaluate the template
+     * @param rootObject the root object against which to evaluate the template
+     * @param target     the builder to append to
+     * @throws EvaluationException if there is a problem during evaluation
+     */
+    public void appendValue(EvaluationContext context, Object rootObject, StringBuilder target)
+            throws EvaluationException {
+
+        Assert.notNull(context, "EvaluationContext is required");
+        appendValueTo(context, toTypedValue(rootObject), target);
+    }
+
+    /**
+     * Append the value of this template to the given target.
+     *
+     * @param context the context in which to evaluate the template
+     * @param target  the target to append to
+     * @throws IOException         if the target fails to append
+     * @throws EvaluationException if there is a problem during evaluation
+     */
+    public void appendValue(EvaluationContext context, Appendable target) throws IOException, EvaluationException {
+        Assert.notNull(context, "EvaluationContext is required");
+        render(context, context.getRootObject(), target);
+    }
+
+    /**
+     * Append the value of this template, evaluated against the given root object,
+     * to the given target.
+     *
+     * @param context    the context in which to evaluate the template
+     * @param rootObject the root object against which to evaluate the template
+     * @param target     the target to append to
+     * @throws IOException         if the target fails to append
+     * @throws EvaluationException if there is a problem during evaluation
+     */
+    public void appendValue(EvaluationContext context, Object rootObject, Appendable target)
+            throws IOException, EvaluationException {
+
+        Assert.notNull(context, "EvaluationContext is required");
+        render(context, toTypedValue(rootObject), target);
+    }
+
+    private String render(EvaluationContext context, TypedValue rootObject) {
+        int averageLength = this.averageLength;
+        StringBuilder sb = new StringBuilder(averageLength + (averageLength >> 2));
+        appendValueTo(context, rootObject, sb);
+        // Exponential moving average, which follows a change in the typical length
+        // within a few evaluations; racing updates merely lose a sample
+        this.averageLength = averageLength + ((sb.length() - averageLength) >> 3);
+        return sb.toString();
+    }
+
+    private void appendValueTo(EvaluationContext context, TypedValue rootObject, StringBuilder target) {
+        try {
+            render(context, rootObject, target);
+        } catch (IOException ex) {
+            // Never thrown by a StringBuilder
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private void render(EvaluationContext context, TypedValue rootObject, Appendable target) throws IOException {
+        CompiledTemplate compiledTemplate = this.compiledTemplate;
+        if (compiledTemplate != null) {
+            if (this.configuration.getCompilerMode() != SpelCompilerMode.MIXED) {
+                try {
+                    compiledTemplate.appendTo(rootObject.getValue(), context, target);
+                    return;
+                } catch (IOException ex) {
+                    throw ex;
+                } catch (Throwable ex) {
+                    // Running in SpelCompilerMode.immediate mode - propagate exception to caller
+                    throw new SpelEvaluationException(ex, SpelMessage.EXCEPTION_RUNNING_COMPILED_EXPRESSION);
+                }
+            }
+            // Running in mixed mode: hold back the output of the compiled form, so that
+            // nothing is appended twice if it fails and the template is interpreted instead
+            StringBuilder buffer = (target instanceof StringBuilder ? (StringBuilder) target : new StringBuilder());
+            int start = buffer.length();
+            try {
+                compiledTemplate.appendTo(rootObject.getValue(), context, buffer);
+                if (buffer != target) {
+                    target.append(buffer);
+                }
+                return;
+            } catch (Throwable ex) {
+                buffer.setLength(start);
+                deoptimize(compiledTemplate);
+            }
+        }
+
+        ExpressionState expressionState = ExpressionState.obtain(context, rootObject, this.configuration);
+        try {
+            // The parts are only compiled as a whole, so their ASTs are evaluated directly
+            for (int i = 0; i < this.asts.length; i++) {
+                String literal = this.literals[i];
+                if (literal != null) {
+                    target.append(literal);
+                    continue;
+                }
+                TypedValue typedValue = this.asts[i].getTypedValue(expressionState);
+                String value = ExpressionUtils.convertTypedValue(context, typedValue, String.class);
+                if (value != null) {
+                    target.append(value);
+                }
+            }
+        } finally {
+            expressionState.release();
+        }
+        this.compilationTracker.checkCompile();
+    }
+
+
+    /**
+     * Discard the given compiled form after it failed in {@code MIXED} mode, so that
+     * the template is interpreted until the {@link CompilationPolicy} recompiles it.
+     */
+    private void deoptimize(CompiledTemplate failedTemplate) {
+        // Only count once if several threads fail on the same compiled form
+        if (compiledTemplateUpdater.compareAndSet(this, failedTemplate, null)) {
+            this.compilationTracker.deoptimized();
+        }
+    }
+
+    /**
+     * Compile the whole template into a single class. This will only succeed once exit
+     * descriptors for all nodes of all embedded expressions have been determined.
+     *
+     * @return whether this template has been successfully compiled
+     */
+    public boolean compileExpression() {
+        return this.compilationTracker.compile();
+    }
+
+    /**
+     * Cause the template to revert to being interpreted if it has been using a compiled
+     * form, and reset its compilation attempt failure and deoptimization counts.
+     */
+    public void revertToInterpreted() {
+        this.compiledTemplate = null;
+        this.compilationTracker.reset();
+    }
+
+    /**
+     * Return whether this template is currently evaluated through a compiled form.
+     */
+    public boolean isCompiled() {
+        return (this.compiledTemplate != null);
+    }
+
+    private TypedValue toTypedValue(Object object) {
+        return (object != null ? new TypedValue(object) : TypedValue.NULL);
+    }
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.imsejin.expression.spel.support;
+
+import io.github.imsejin.expression.util.ObjectUtils;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * An immutable list holding the value of a constant inline list, such as
+ * {@code {'GOLD','PLATINUM','DIAMOND'}}. Lists of more than a few elements carry a hash
+ * index, precomputed on construction, so that {@link #contains} and {@link #indexOf}
+ * do not scan the elements.
+ *
+ * @author imsejin
+ * @since 5.2.9
+ * @see io.github.imsejin.expression.spel.ast.InlineList
+ */
+public final class ConstantList extends AbstractList<Object> implements RandomAccess {
+
+    // Lists this short are scanned, which is as fast as hashing
+    private static final int HASH_INDEX_THRESHOLD = 8;
+
+
+    private final Object[] elements;
+
+    // Open-addressing table of element index + 1 (0 marks a free slot), or null if not indexed
+    private final int[] hashIndex;
+
+
+    /**
+     * Create a list holding the given elements.
+     *
+     * @param elements the elements, which the list takes ownership of
+     */
+    public ConstantList(Object[] elements) {
+        this.elements = elements;
+        this.hashIndex = (elements.length >= HASH_INDEX_THRESHOLD ? buildHashIndex(elements) : null);
+    }
+
+
+    private static int[] buildHashIndex(Object[] elements) {
+        int[] table = new int[tableSizeFor(elements.length)];
+        int mask = table.length - 1;
+        for (int i = 0; i < elements.length; i++) {
+            int slot = hash(elements[i]) & mask;
+            while (table[slot] != 0) {
+                if (ObjectUtils.nullSafeEquals(elements[table[slot] - 1], elements[i])) {
+                    // Keep the first occurrence only
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (table[slot] == 0) {
+                table[slot] = i + 1;
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Return a power-of-two table size that keeps the load factor at most one half.
+     */
+    static int tableSizeFor(int size) {
+        int tableSize = Integer.highestOneBit(Math.max(size, 1)) << 2;
+        return (tableSize > 0 ? tableSize : 1 << 30);
+    }
+
+    static int hash(Object element) {
+        int h = (element != null ? element.hashCode() : 0);
+        return h ^ (h >>> 16);
+    }
+
+    @Override
+    public Object get(int index) {
+        if (index < 0 || index >= this.elements.length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.elements.length);
+        }
+        return this.elements[index];
+    }
+
+    @Override
+    public int size() {
+        return this.elements.length;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return (indexOf(o) >= 0);
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        if (this.hashIndex == null) {
+            for (int i = 0; i < this.elements.length; i++) {
+                if (ObjectUtils.nullSafeEquals(this.elements[i], o)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        int mask = this.hashIndex.length - 1;
+        for (int slot = hash(o) & mask; this.hashIndex[slot] != 0; slot = (slot + 1) & mask) {
+            int index = this.hashIndex[slot] - 1;
+            if (ObjectUtils.nullSafeEquals(this.elements[index], o)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public Object[] toArray() {
+        return this.elements.clone();
+    }
+
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.imsejin.expression.spel.support;
+
+import io.github.imsejin.expression.util.ObjectUtils;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An immutable map holding the value of a constant inline map, such as
+ * {@code {'a':1,'b':2}}. Keys are looked up in an open-addressing hash table
+ * precomputed on construction; iteration follows the order the keys were given in.
+ *
+ * @author imsejin
+ * @since 5.2.9
+ * @see io.github.imsejin.expression.spel.ast.InlineMap
+ */
+public final class ConstantMap extends AbstractMap<Object, Object> {
+
+    private final Object[] keys;
+
+    private final Object[] values;
+
+    // Open-addressing table of entry index + 1 (0 marks a free slot)
+    private final int[] hashIndex;
+
+    private Set<Entry<Object, Object>> entrySet;
+
+
+    /**
+     * Create a map of the given keys to the values at the same index. Like with
+     * successive puts into a {@link java.util.LinkedHashMap}, a repeated key keeps
+     * its first position and takes the last value given for it.
+     *
+     * @param keys   the keys
+     * @param values the values, as many as there are keys
+     */
+    public ConstantMap(Object[] keys, Object[] values) {
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("Expected as many values as keys");
+        }
+        int[] table = new int[ConstantList.tableSizeFor(keys.length)];
+        int mask = table.length - 1;
+        Object[] uniqueKeys = new Object[keys.length];
+        Object[] uniqueValues = new Object[keys.length];
+        int size = 0;
+        for (int i = 0; i < keys.length; i++) {
+            int slot = ConstantList.hash(keys[i]) & mask;
+            while (table[slot] != 0 && !ObjectUtils.nullSafeEquals(uniqueKeys[table[slot] - 1], keys[i])) {
+                slot = (slot + 1) & mask;
+            }
+            if (table[slot] == 0) {
+                table[slot] = size + 1;
+                uniqueKeys[size] = keys[i];
+                uniqueValues[size] = values[i];
+                size++;
+            } else {
+                uniqueValues[table[slot] - 1] = values[i];
+            }
+        }
+        if (size < keys.length) {
+            Object[] trimmedKeys = new Object[size];
+            Object[] trimmedValues = new Object[size];
+            System.arraycopy(uniqueKeys, 0, trimmedKeys, 0, size);
+            System.arraycopy(uniqueValues, 0, trimmedValues, 0, size);
+            uniqueKeys = trimmedKeys;
+            uniqueValues = trimmedValues;
+        }
+        this.keys = uniqueKeys;
+        this.values = uniqueValues;
+        this.hashIndex = table;
+    }
+
+
+    private int indexOf(Object key) {
+        int mask = this.hashIndex.length - 1;
+        for (int slot = ConstantList.hash(key) & mask; this.hashIndex[slot] != 0; slot = (slot + 1) & mask) {
+            int index = this.hashIndex[slot] - 1;
+            if (ObjectUtils.nullSafeEquals(this.keys[index], key)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public Object get(Object key) {
+        int index = indexOf(key);
+        return (index >= 0 ? this.values[index] : null);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return (indexOf(key) >= 0);
+    }
+
+    @Override
+    public int size() {
+        return this.keys.length;
+    }
+
+    @Override
+    public Set<Entry<Object, Object>> entrySet() {
+        Set<Entry<Object, Object>> entrySet = this.entrySet;
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+            this.entrySet = entrySet;
+        }
+        return entrySet;
+    }
+
+
+    private final class EntrySet extends AbstractSet<Entry<Object, Object>> {
+
+        @Override
+        public Iterator<Entry<Object, Object>> iterator() {
+            return new Iterator<Entry<Object, Object>>() {
+
+                private int index;
+
+                @Override
+                public boolean hasNext() {
+                    return (this.index < keys.length);
+                }
+
+                @Override
+                public Entry<Object, Object> next() {
+                    if (this.index >= keys.length) {
+                        throw new NoSuchElementException();
+                    }
+                    int current = this.index++;
+                    return new SimpleImmutableEntry<>(keys[current], values[current]);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return keys.length;
+        }
+    }
+
+}
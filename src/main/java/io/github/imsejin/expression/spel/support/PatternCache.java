@@ -0,0 +1,140 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.imsejin.expression.spel.support;
+
+import io.github.imsejin.expression.core.SpringProperties;
+import io.github.imsejin.expression.util.ConcurrentClockCache;
+
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * A bounded, thread-safe cache of compiled regular expressions, used by the
+ * {@code matches} operator for patterns that are only known at evaluation time.
+ *
+ * <p>Once the limit is exceeded, entries are evicted in approximate
+ * least-recently-used order, as described for {@link ConcurrentClockCache}.
+ *
+ * <p>The size of the {@linkplain #getSharedInstance() shared instance} can be
+ * configured through the {@code spring.expression.matches.pattern-cache-limit}
+ * property.
+ *
+ * @author imsejin
+ * @since 5.2.9
+ */
+public class PatternCache {
+
+    /**
+     * The default maximum number of cached patterns.
+     */
+    public static final int DEFAULT_CACHE_LIMIT = 256;
+
+    private static final PatternCache sharedInstance;
+
+    static {
+        String cacheLimit = SpringProperties.getProperty("spring.expression.matches.pattern-cache-limit");
+        sharedInstance = new PatternCache(cacheLimit != null ? Integer.parseInt(cacheLimit) : DEFAULT_CACHE_LIMIT);
+    }
+
+
+    private final ConcurrentClockCache<String, Pattern> cache;
+
+
+    /**
+     * Create a pattern cache holding up to the given number of patterns.
+     *
+     * @param cacheLimit the maximum number of cached patterns
+     */
+    public PatternCache(int cacheLimit) {
+        this.cache = new ConcurrentClockCache<>(cacheLimit);
+    }
+
+
+    /**
+     * Return the pattern cache shared by all expressions.
+     */
+    public static PatternCache getSharedInstance() {
+        return sharedInstance;
+    }
+
+    /**
+     * Return the compiled form of the given regular expression, compiling and
+     * caching it if necessary.
+     *
+     * @param regex the regular expression
+     * @return the compiled pattern
+     * @throws PatternSyntaxException if the regular expression is invalid
+     */
+    public Pattern getPattern(String regex) throws PatternSyntaxException {
+        Pattern pattern = this.cache.get(regex);
+        if (pattern == null) {
+            pattern = this.cache.put(regex, Pattern.compile(regex));
+        }
+        return pattern;
+    }
+
+    /**
+     * Remove all cached patterns. The statistics are retained.
+     */
+    public void clear() {
+        this.cache.clear();
+    }
+
+    /**
+     * Return the number of currently cached patterns.
+     */
+    public int getCacheSize() {
+        return this.cache.size();
+    }
+
+    /**
+     * Return the maximum number of cached patterns.
+     */
+    public int getCacheLimit() {
+        return this.cache.sizeLimit();
+    }
+
+    /**
+     * Return how many times a pattern was served from the cache.
+     */
+    public long getHitCount() {
+        return this.cache.getHitCount();
+    }
+
+    /**
+     * Return how many times a pattern had to be compiled.
+     */
+    public long getMissCount() {
+        return this.cache.getMissCount();
+    }
+
+    /**
+     * Return how many patterns have been evicted to stay within the cache limit.
+     */
+    public long getEvictionCount() {
+        return this.cache.getEvictionCount();
+    }
+
+    @Override
+    public String toString() {
+        return "PatternCache [size = " + getCacheSize() + ", limit = " + getCacheLimit() +
+                ", hits = " + getHitCount() + ", misses = " + getMissCount() +
+                ", evictions = " + getEvictionCount() + "]";
+    }
+
+
+}
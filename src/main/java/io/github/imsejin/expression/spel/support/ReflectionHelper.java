@@ -26,9 +26,15 @@ import io.github.imsejin.expression.util.ClassUtils;
 import io.github.imsejin.expression.util.CollectionUtils;
 import io.github.imsejin.expression.util.MethodInvoker;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Array;
 import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.List;
 
 /**
@@ -299,6 +305,76 @@ public abstract class ReflectionHelper {
         return conversionOccurred;
     }
 
+    /**
+     * Create a {@code MethodHandle} of type {@code (Object, Object[])Object} that invokes the
+     * given method on a target (ignored for a static method) with an array of arguments.
+     *
+     * @param method the method to invoke, which must be accessible from this class
+     *               or have been made accessible
+     * @return the method handle, or {@code null} if the method cannot be unreflected
+     */
+    static MethodHandle createMethodInvoker(Method method) {
+        try {
+            MethodHandle handle = MethodHandles.lookup().unreflect(method).asFixedArity();
+            if (Modifier.isStatic(method.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            return handle.asSpreader(Object[].class, method.getParameterCount())
+                    .asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+        } catch (IllegalAccessException | RuntimeException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Create a {@code MethodHandle} of type {@code (Object)Object} that reads the given
+     * field, or invokes the given no-arg getter method, on a target (ignored if static).
+     *
+     * @param member the field or method to read from, which must be accessible from
+     *               this class or have been made accessible
+     * @return the method handle, or {@code null} if the member cannot be unreflected
+     */
+    static MethodHandle createGetterInvoker(Member member) {
+        try {
+            MethodHandle handle = (member instanceof Method ?
+                    MethodHandles.lookup().unreflect((Method) member) :
+                    MethodHandles.lookup().unreflectGetter((Field) member));
+            if (Modifier.isStatic(member.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            return handle.asType(MethodType.methodType(Object.class, Object.class));
+        } catch (IllegalAccessException | RuntimeException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Check whether a method can be invoked on the given target with the given arguments
+     * without any adaptation, as {@link Method#invoke} would check before invoking it.
+     * A failure at this point means that the method is stale rather than that the
+     * method itself failed.
+     *
+     * @param method    the method to invoke
+     * @param target    the target to invoke the method on
+     * @param arguments the (converted) arguments to pass
+     * @return {@code true} if the target and arguments are applicable to the method
+     */
+    static boolean isApplicable(Method method, Object target, Object[] arguments) {
+        if (!Modifier.isStatic(method.getModifiers()) && !method.getDeclaringClass().isInstance(target)) {
+            return false;
+        }
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        if (arguments.length != parameterTypes.length) {
+            return false;
+        }
+        for (int i = 0; i < arguments.length; i++) {
+            if (!ClassUtils.isAssignableValue(parameterTypes[i], arguments[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Check if the supplied value is the first entry in the array represented by the possibleArray value.
      *
@@ -22,9 +22,12 @@ import io.github.imsejin.expression.MethodExecutor;
 import io.github.imsejin.expression.TypedValue;
 import io.github.imsejin.expression.core.MethodParameter;
 import io.github.imsejin.expression.core.convert.TypeDescriptor;
+import io.github.imsejin.expression.spel.SpelInvokerMode;
 import io.github.imsejin.expression.util.ClassUtils;
 import io.github.imsejin.expression.util.ReflectionUtils;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 
@@ -49,6 +52,12 @@ public class ReflectiveMethodExecutor implements MethodExecutor {
 
     private boolean argumentConversionOccurred = false;
 
+    private volatile TypeDescriptor returnTypeDescriptor;
+
+    private volatile boolean computedMethodHandle = false;
+
+    private volatile MethodHandle methodHandle;
+
 
     /**
      * Create a new executor for the given method.
@@ -57,7 +66,7 @@ public class ReflectiveMethodExecutor implements MethodExecutor {
      */
     public ReflectiveMethodExecutor(Method method) {
         this.originalMethod = method;
-        this.methodToInvoke = ClassUtils.getInterfaceMethodIfPossible(method);
+        this.methodToInvoke = getPubliclyAccessibleMethod(method);
         if (method.isVarArgs()) {
             this.varargsPosition = method.getParameterCount() - 1;
         } else {
@@ -66,6 +75,29 @@ public class ReflectiveMethodExecutor implements MethodExecutor {
     }
 
 
+    /**
+     * Determine the method to invoke reflectively: an interface method or, failing that,
+     * the same method as declared on the first public class in the hierarchy. Invoking
+     * a public method through a non-public declaring class (for example a JDK-internal
+     * collection type) would otherwise require {@code setAccessible}, which is denied
+     * for non-open modules on JDK 9+.
+     */
+    private Method getPubliclyAccessibleMethod(Method method) {
+        Method methodToUse = ClassUtils.getInterfaceMethodIfPossible(method);
+        if (methodToUse == method && Modifier.isPublic(method.getModifiers()) &&
+                !Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+            Class<?> publicDeclaringClass = discoverPublicDeclaringClass(method, method.getDeclaringClass());
+            if (publicDeclaringClass != null) {
+                try {
+                    methodToUse = publicDeclaringClass.getDeclaredMethod(method.getName(), method.getParameterTypes());
+                } catch (NoSuchMethodException ex) {
+                    // Keep the original method...
+                }
+            }
+        }
+        return methodToUse;
+    }
+
     /**
      * Return the original method that this executor has been configured for.
      */
@@ -112,6 +144,23 @@ public class ReflectiveMethodExecutor implements MethodExecutor {
 
     @Override
     public TypedValue execute(EvaluationContext context, Object target, Object... arguments) throws AccessException {
+        return execute(context, target, SpelInvokerMode.REFLECTION, arguments);
+    }
+
+    /**
+     * Invoke the method using the given strategy.
+     *
+     * @param context     the evaluation context in which the method is being executed
+     * @param target      the target of the method invocation; may be {@code null} for static methods
+     * @param invokerMode the strategy for invoking the method
+     * @param arguments   the arguments to the method, should match (in terms of number and type)
+     *                    whatever the method will need to run
+     * @return the value returned from the method
+     * @throws AccessException if there is a problem executing the method
+     * @since 5.2.9
+     */
+    public TypedValue execute(EvaluationContext context, Object target, SpelInvokerMode invokerMode,
+                              Object... arguments) throws AccessException {
         try {
             this.argumentConversionOccurred = ReflectionHelper.convertArguments(
                     context.getTypeConverter(), arguments, this.originalMethod, this.varargsPosition);
@@ -119,12 +168,45 @@ public class ReflectiveMethodExecutor implements MethodExecutor {
                 arguments = ReflectionHelper.setupArgumentsForVarargsInvocation(
                         this.originalMethod.getParameterTypes(), arguments);
             }
-            ReflectionUtils.makeAccessible(this.methodToInvoke);
-            Object value = this.methodToInvoke.invoke(target, arguments);
-            return new TypedValue(value, new TypeDescriptor(new MethodParameter(this.originalMethod, -1)).narrow(value));
+            Object value;
+            MethodHandle methodHandle = (invokerMode == SpelInvokerMode.METHOD_HANDLE ? getMethodHandle() : null);
+            if (methodHandle != null && ReflectionHelper.isApplicable(this.methodToInvoke, target, arguments)) {
+                try {
+                    value = (Object) methodHandle.invokeExact(target, arguments);
+                } catch (Throwable ex) {
+                    // Consistent with Method.invoke, for callers to tell apart a failing method
+                    throw new InvocationTargetException(ex);
+                }
+            } else {
+                ReflectionUtils.makeAccessible(this.methodToInvoke);
+                value = this.methodToInvoke.invoke(target, arguments);
+            }
+            return new TypedValue(value, getReturnTypeDescriptor().narrow(value));
         } catch (Exception ex) {
             throw new AccessException("Problem invoking method: " + this.methodToInvoke, ex);
         }
     }
 
+    private TypeDescriptor getReturnTypeDescriptor() {
+        TypeDescriptor returnTypeDescriptor = this.returnTypeDescriptor;
+        if (returnTypeDescriptor == null) {
+            returnTypeDescriptor = new TypeDescriptor(new MethodParameter(this.originalMethod, -1));
+            this.returnTypeDescriptor = returnTypeDescriptor;
+        }
+        return returnTypeDescriptor;
+    }
+
+    private MethodHandle getMethodHandle() {
+        if (!this.computedMethodHandle) {
+            try {
+                ReflectionUtils.makeAccessible(this.methodToInvoke);
+                this.methodHandle = ReflectionHelper.createMethodInvoker(this.methodToInvoke);
+            } catch (RuntimeException ex) {
+                // Not accessible - keep invoking it reflectively
+            }
+            this.computedMethodHandle = true;
+        }
+        return this.methodHandle;
+    }
+
 }
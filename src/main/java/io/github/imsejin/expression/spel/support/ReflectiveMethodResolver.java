@@ -22,11 +22,13 @@ import io.github.imsejin.expression.core.MethodParameter;
 import io.github.imsejin.expression.core.convert.TypeDescriptor;
 import io.github.imsejin.expression.spel.SpelEvaluationException;
 import io.github.imsejin.expression.spel.SpelMessage;
+import io.github.imsejin.expression.util.ConcurrentReferenceHashMap;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Proxy;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Reflection-based {@link MethodResolver} used by default in {@link StandardEvaluationContext}
@@ -40,15 +42,23 @@ import java.util.*;
  */
 public class ReflectiveMethodResolver implements MethodResolver {
 
+    // Caches shared by all resolvers of this class and of DataBindingMethodResolver,
+    // which resolve methods the same way in every instance; other subclasses may
+    // override getMethods or isCandidateForInvocation, so each of them caches on its own
+    private static final Map<Class<?>, ResolutionCache> sharedCaches = new ConcurrentHashMap<>(4);
+
+
     // Using distance will ensure a more accurate match is discovered,
     // more closely following the Java rules.
     private final boolean useDistance;
 
+    private final ResolutionCache cache;
+
     private Map<Class<?>, MethodFilter> filters;
 
 
     public ReflectiveMethodResolver() {
-        this.useDistance = true;
+        this(true);
     }
 
     /**
@@ -64,6 +74,9 @@ public class ReflectiveMethodResolver implements MethodResolver {
      */
     public ReflectiveMethodResolver(boolean useDistance) {
         this.useDistance = useDistance;
+        Class<?> resolverType = getClass();
+        this.cache = (resolverType == ReflectiveMethodResolver.class || resolverType == DataBindingMethodResolver.class ?
+                sharedCaches.computeIfAbsent(resolverType, type -> new ResolutionCache()) : new ResolutionCache());
     }
 
 
@@ -93,6 +106,11 @@ public class ReflectiveMethodResolver implements MethodResolver {
      * <li>a match where we are able to convert the arguments into those expected by the constructor,
      * according to the registered type converter
      * </ol>
+     * <p>Exact and close matches are cached per target type, method name and argument
+     * types, and the sorted method candidates are cached per target type and method name.
+     * Types with a registered {@link MethodFilter} are always resolved from scratch, so
+     * the caches of this class and of {@link DataBindingMethodResolver} are shared by all
+     * their instances, across evaluation contexts.
      */
     @Override
     public MethodExecutor resolve(EvaluationContext context, Object targetObject, String name,
@@ -101,94 +119,70 @@ public class ReflectiveMethodResolver implements MethodResolver {
         try {
             TypeConverter typeConverter = context.getTypeConverter();
             Class<?> type = (targetObject instanceof Class ? (Class<?>) targetObject : targetObject.getClass());
-            ArrayList<Method> methods = new ArrayList<>(getMethods(type, targetObject));
+            boolean staticTarget = (targetObject instanceof Class);
 
-            // If a filter is registered for this type, call it
+            // A registered filter may decide differently on each call, so bypass the caches
             MethodFilter filter = (this.filters != null ? this.filters.get(type) : null);
-            if (filter != null) {
-                List<Method> filtered = filter.filter(methods);
-                methods = (filtered instanceof ArrayList ? (ArrayList<Method>) filtered : new ArrayList<>(filtered));
-            }
-
-            // Sort methods into a sensible order
-            if (methods.size() > 1) {
-                methods.sort((m1, m2) -> {
-                    int m1pl = m1.getParameterCount();
-                    int m2pl = m2.getParameterCount();
-                    // vararg methods go last
-                    if (m1pl == m2pl) {
-                        if (!m1.isVarArgs() && m2.isVarArgs()) {
-                            return -1;
-                        } else if (m1.isVarArgs() && !m2.isVarArgs()) {
-                            return 1;
-                        } else {
-                            return 0;
-                        }
-                    }
-                    return Integer.compare(m1pl, m2pl);
-                });
-            }
-
-            // Resolve any bridge methods
-            for (int i = 0; i < methods.size(); i++) {
-                methods.set(i, BridgeMethodResolver.findBridgedMethod(methods.get(i)));
+            ExecutorCacheKey executorCacheKey = null;
+            if (filter == null) {
+                executorCacheKey = new ExecutorCacheKey(type, staticTarget, name, argumentTypes, this.useDistance);
+                MethodExecutor cachedExecutor = this.cache.executors.get(executorCacheKey);
+                if (cachedExecutor != null) {
+                    return cachedExecutor;
+                }
             }
 
-            // Remove duplicate methods (possible due to resolved bridge methods)
-            Set<Method> methodsToIterate = new LinkedHashSet<>(methods);
-
             Method closeMatch = null;
             int closeMatchDistance = Integer.MAX_VALUE;
             Method matchRequiringConversion = null;
             boolean multipleOptions = false;
 
-            for (Method method : methodsToIterate) {
-                if (method.getName().equals(name)) {
-                    int paramCount = method.getParameterCount();
-                    List<TypeDescriptor> paramDescriptors = new ArrayList<>(paramCount);
-                    for (int i = 0; i < paramCount; i++) {
-                        paramDescriptors.add(new TypeDescriptor(new MethodParameter(method, i)));
-                    }
-                    ReflectionHelper.ArgumentsMatchInfo matchInfo = null;
-                    if (method.isVarArgs() && argumentTypes.size() >= (paramCount - 1)) {
-                        // *sigh* complicated
-                        matchInfo = ReflectionHelper.compareArgumentsVarargs(paramDescriptors, argumentTypes, typeConverter);
-                    } else if (paramCount == argumentTypes.size()) {
-                        // Name and parameter number match, check the arguments
-                        matchInfo = ReflectionHelper.compareArguments(paramDescriptors, argumentTypes, typeConverter);
-                    }
-                    if (matchInfo != null) {
-                        if (matchInfo.isExactMatch()) {
-                            return new ReflectiveMethodExecutor(method);
-                        } else if (matchInfo.isCloseMatch()) {
-                            if (this.useDistance) {
-                                int matchDistance = ReflectionHelper.getTypeDifferenceWeight(paramDescriptors, argumentTypes);
-                                if (closeMatch == null || matchDistance < closeMatchDistance) {
-                                    // This is a better match...
-                                    closeMatch = method;
-                                    closeMatchDistance = matchDistance;
-                                }
-                            } else {
-                                // Take this as a close match if there isn't one already
-                                if (closeMatch == null) {
-                                    closeMatch = method;
-                                }
+            List<MethodCandidate> candidates = (filter != null ? findCandidates(type, targetObject, name, filter) :
+                    getCandidates(type, staticTarget, targetObject, name));
+            for (MethodCandidate candidate : candidates) {
+                Method method = candidate.method;
+                List<TypeDescriptor> paramDescriptors = candidate.parameterDescriptors;
+                int paramCount = paramDescriptors.size();
+                ReflectionHelper.ArgumentsMatchInfo matchInfo = null;
+                if (method.isVarArgs() && argumentTypes.size() >= (paramCount - 1)) {
+                    // *sigh* complicated
+                    matchInfo = ReflectionHelper.compareArgumentsVarargs(paramDescriptors, argumentTypes, typeConverter);
+                } else if (paramCount == argumentTypes.size()) {
+                    // Name and parameter number match, check the arguments
+                    matchInfo = ReflectionHelper.compareArguments(paramDescriptors, argumentTypes, typeConverter);
+                }
+                if (matchInfo != null) {
+                    if (matchInfo.isExactMatch()) {
+                        return cacheExecutor(executorCacheKey, method);
+                    } else if (matchInfo.isCloseMatch()) {
+                        if (this.useDistance) {
+                            int matchDistance = ReflectionHelper.getTypeDifferenceWeight(paramDescriptors, argumentTypes);
+                            if (closeMatch == null || matchDistance < closeMatchDistance) {
+                                // This is a better match...
+                                closeMatch = method;
+                                closeMatchDistance = matchDistance;
                             }
-                        } else if (matchInfo.isMatchRequiringConversion()) {
-                            if (matchRequiringConversion != null) {
-                                multipleOptions = true;
+                        } else {
+                            // Take this as a close match if there isn't one already
+                            if (closeMatch == null) {
+                                closeMatch = method;
                             }
-                            matchRequiringConversion = method;
                         }
+                    } else if (matchInfo.isMatchRequiringConversion()) {
+                        if (matchRequiringConversion != null) {
+                            multipleOptions = true;
+                        }
+                        matchRequiringConversion = method;
                     }
                 }
             }
             if (closeMatch != null) {
-                return new ReflectiveMethodExecutor(closeMatch);
+                return cacheExecutor(executorCacheKey, closeMatch);
             } else if (matchRequiringConversion != null) {
                 if (multipleOptions) {
                     throw new SpelEvaluationException(SpelMessage.MULTIPLE_POSSIBLE_METHODS, name);
                 }
+                // Depends on the TypeConverter of the given context, so not cached
                 return new ReflectiveMethodExecutor(matchRequiringConversion);
             } else {
                 return null;
@@ -198,6 +192,84 @@ public class ReflectiveMethodResolver implements MethodResolver {
         }
     }
 
+    /**
+     * Clear the resolved method executors and method candidates cached by this resolver,
+     * which for a plain {@code ReflectiveMethodResolver} or a {@link DataBindingMethodResolver}
+     * are the caches shared by all instances of its class.
+     * <p>Only needs to be called if the results of {@link #getMethods(Class)} or
+     * {@link #isCandidateForInvocation(Method, Class)} change over time.
+     *
+     * @since 5.2.9
+     */
+    public void clearCache() {
+        this.cache.executors.clear();
+        this.cache.candidates.clear();
+    }
+
+    private MethodExecutor cacheExecutor(ExecutorCacheKey key, Method method) {
+        MethodExecutor executor = new ReflectiveMethodExecutor(method);
+        if (key == null) {
+            return executor;
+        }
+        MethodExecutor existing = this.cache.executors.putIfAbsent(key.forStorage(), executor);
+        return (existing != null ? existing : executor);
+    }
+
+    private List<MethodCandidate> getCandidates(Class<?> type, boolean staticTarget, Object targetObject, String name) {
+        CandidateCacheKey cacheKey = new CandidateCacheKey(type, staticTarget, name);
+        List<MethodCandidate> candidates = this.cache.candidates.get(cacheKey);
+        if (candidates == null) {
+            candidates = findCandidates(type, targetObject, name, null);
+            this.cache.candidates.put(cacheKey, candidates);
+        }
+        return candidates;
+    }
+
+    private List<MethodCandidate> findCandidates(Class<?> type, Object targetObject, String name, MethodFilter filter) {
+        ArrayList<Method> methods = new ArrayList<>(getMethods(type, targetObject));
+
+        // If a filter is registered for this type, call it
+        if (filter != null) {
+            List<Method> filtered = filter.filter(methods);
+            methods = (filtered instanceof ArrayList ? (ArrayList<Method>) filtered : new ArrayList<>(filtered));
+        }
+
+        // Sort methods into a sensible order
+        if (methods.size() > 1) {
+            methods.sort((m1, m2) -> {
+                int m1pl = m1.getParameterCount();
+                int m2pl = m2.getParameterCount();
+                // vararg methods go last
+                if (m1pl == m2pl) {
+                    if (!m1.isVarArgs() && m2.isVarArgs()) {
+                        return -1;
+                    } else if (m1.isVarArgs() && !m2.isVarArgs()) {
+                        return 1;
+                    } else {
+                        return 0;
+                    }
+                }
+                return Integer.compare(m1pl, m2pl);
+            });
+        }
+
+        // Resolve any bridge methods
+        for (int i = 0; i < methods.size(); i++) {
+            methods.set(i, BridgeMethodResolver.findBridgedMethod(methods.get(i)));
+        }
+
+        // Remove duplicate methods (possible due to resolved bridge methods)
+        Set<Method> methodsToIterate = new LinkedHashSet<>(methods);
+
+        List<MethodCandidate> candidates = new ArrayList<>();
+        for (Method method : methodsToIterate) {
+            if (method.getName().equals(name)) {
+                candidates.add(new MethodCandidate(method));
+            }
+        }
+        return (candidates.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(candidates));
+    }
+
     private Set<Method> getMethods(Class<?> type, Object targetObject) {
         if (targetObject instanceof Class) {
             Set<Method> result = new LinkedHashSet<>();
@@ -262,4 +334,145 @@ public class ReflectiveMethodResolver implements MethodResolver {
         return true;
     }
 
+
+
+    /**
+     * The resolved method executors and method candidates of one or more resolvers.
+     */
+    private static final class ResolutionCache {
+
+        private final Map<ExecutorCacheKey, MethodExecutor> executors = new ConcurrentReferenceHashMap<>(256);
+
+        private final Map<CandidateCacheKey, List<MethodCandidate>> candidates = new ConcurrentReferenceHashMap<>(256);
+    }
+
+
+    /**
+     * Key for the candidate methods of a given name on a target type.
+     */
+    private static final class CandidateCacheKey {
+
+        private final Class<?> type;
+
+        private final boolean staticTarget;
+
+        private final String name;
+
+        public CandidateCacheKey(Class<?> type, boolean staticTarget, String name) {
+            this.type = type;
+            this.staticTarget = staticTarget;
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof CandidateCacheKey)) {
+                return false;
+            }
+            CandidateCacheKey otherKey = (CandidateCacheKey) other;
+            return (this.type == otherKey.type && this.staticTarget == otherKey.staticTarget &&
+                    this.name.equals(otherKey.name));
+        }
+
+        @Override
+        public int hashCode() {
+            return (this.type.hashCode() * 29 + this.name.hashCode() + (this.staticTarget ? 1 : 0));
+        }
+
+        @Override
+        public String toString() {
+            return "CandidateCacheKey [type = " + this.type.getName() + ", name = " + this.name +
+                    ", staticTarget = " + this.staticTarget + "]";
+        }
+    }
+
+
+    /**
+     * Key for a resolved method: target type, method name, argument types and whether
+     * close matches are chosen by distance.
+     */
+    private static final class ExecutorCacheKey {
+
+        private final Class<?> type;
+
+        private final boolean staticTarget;
+
+        private final String name;
+
+        private final List<TypeDescriptor> argumentTypes;
+
+        private final boolean useDistance;
+
+        private final int hashCode;
+
+        public ExecutorCacheKey(Class<?> type, boolean staticTarget, String name, List<TypeDescriptor> argumentTypes,
+                                boolean useDistance) {
+            this.type = type;
+            this.staticTarget = staticTarget;
+            this.name = name;
+            this.argumentTypes = argumentTypes;
+            this.useDistance = useDistance;
+            this.hashCode = (type.hashCode() * 29 + name.hashCode()) * 29 +
+                    argumentTypes.hashCode() + (staticTarget ? 1 : 0) + (useDistance ? 2 : 0);
+        }
+
+        /**
+         * Return a key that does not hold on to the caller's argument type list.
+         */
+        public ExecutorCacheKey forStorage() {
+            return new ExecutorCacheKey(this.type, this.staticTarget, this.name, new ArrayList<>(this.argumentTypes),
+                    this.useDistance);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof ExecutorCacheKey)) {
+                return false;
+            }
+            ExecutorCacheKey otherKey = (ExecutorCacheKey) other;
+            return (this.type == otherKey.type && this.staticTarget == otherKey.staticTarget &&
+                    this.name.equals(otherKey.name) && this.argumentTypes.equals(otherKey.argumentTypes) &&
+                    this.useDistance == otherKey.useDistance);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+
+        @Override
+        public String toString() {
+            return "ExecutorCacheKey [type = " + this.type.getName() + ", name = " + this.name +
+                    ", argumentTypes = " + this.argumentTypes + ", staticTarget = " + this.staticTarget +
+                    ", useDistance = " + this.useDistance + "]";
+        }
+    }
+
+
+    /**
+     * A candidate method along with its precomputed parameter descriptors.
+     */
+    private static final class MethodCandidate {
+
+        private final Method method;
+
+        private final List<TypeDescriptor> parameterDescriptors;
+
+        public MethodCandidate(Method method) {
+            int paramCount = method.getParameterCount();
+            List<TypeDescriptor> paramDescriptors = new ArrayList<>(paramCount);
+            for (int i = 0; i < paramCount; i++) {
+                paramDescriptors.add(new TypeDescriptor(new MethodParameter(method, i)));
+            }
+            this.method = method;
+            this.parameterDescriptors = paramDescriptors;
+        }
+    }
+
 }
@@ -23,11 +23,13 @@ import io.github.imsejin.expression.core.convert.Property;
 import io.github.imsejin.expression.core.convert.TypeDescriptor;
 import io.github.imsejin.expression.spel.CodeFlow;
 import io.github.imsejin.expression.spel.CompilablePropertyAccessor;
+import io.github.imsejin.expression.spel.SpelInvokerMode;
 import io.github.imsejin.expression.util.Assert;
 import io.github.imsejin.expression.util.ClassUtils;
 import io.github.imsejin.expression.util.ReflectionUtils;
 import io.github.imsejin.expression.util.StringUtils;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.*;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -497,6 +499,18 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
      * @see OptimalPropertyAccessor
      */
     public PropertyAccessor createOptimalAccessor(EvaluationContext context, Object target, String name) {
+        return createOptimalAccessor(context, target, name, SpelInvokerMode.REFLECTION);
+    }
+
+    /**
+     * Attempt to create an optimized property accessor tailored for a property of a
+     * particular name on a particular class, reading it with the given strategy.
+     *
+     * @see #createOptimalAccessor(EvaluationContext, Object, String)
+     * @since 5.2.9
+     */
+    public PropertyAccessor createOptimalAccessor(EvaluationContext context, Object target, String name,
+                                                  SpelInvokerMode invokerMode) {
         // Don't be clever for arrays or a null target...
         if (target == null) {
             return this;
@@ -522,7 +536,7 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
                 }
             }
             if (method != null) {
-                return new OptimalPropertyAccessor(invocationTarget);
+                return new OptimalPropertyAccessor(invocationTarget, invokerMode);
             }
         }
 
@@ -537,7 +551,7 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
                 }
             }
             if (field != null) {
-                return new OptimalPropertyAccessor(invocationTarget);
+                return new OptimalPropertyAccessor(invocationTarget, invokerMode);
             }
         }
 
@@ -628,9 +642,27 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
 
         private final TypeDescriptor typeDescriptor;
 
-        OptimalPropertyAccessor(InvokerPair target) {
+        private final MethodHandle methodHandle;
+
+        OptimalPropertyAccessor(InvokerPair target, SpelInvokerMode invokerMode) {
             this.member = target.member;
             this.typeDescriptor = target.typeDescriptor;
+            this.methodHandle = (invokerMode == SpelInvokerMode.METHOD_HANDLE ?
+                    createMethodHandle(target.member) : null);
+        }
+
+        private static MethodHandle createMethodHandle(Member member) {
+            try {
+                if (member instanceof Method) {
+                    ReflectionUtils.makeAccessible((Method) member);
+                } else {
+                    ReflectionUtils.makeAccessible((Field) member);
+                }
+                return ReflectionHelper.createGetterInvoker(member);
+            } catch (RuntimeException ex) {
+                // Not accessible - keep reading it reflectively
+                return null;
+            }
         }
 
         @Override
@@ -664,6 +696,19 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
 
         @Override
         public TypedValue read(EvaluationContext context, Object target, String name) throws AccessException {
+            MethodHandle methodHandle = this.methodHandle;
+            if (methodHandle != null && (Modifier.isStatic(this.member.getModifiers()) ||
+                    this.member.getDeclaringClass().isInstance(target))) {
+                Object value;
+                try {
+                    value = (Object) methodHandle.invokeExact(target);
+                } catch (Throwable ex) {
+                    throw new AccessException("Unable to access property '" + name + "' through " +
+                            (this.member instanceof Method ? "getter method" : "field"),
+                            new InvocationTargetException(ex));
+                }
+                return new TypedValue(value, this.typeDescriptor.narrow(value));
+            }
             if (this.member instanceof Method) {
                 Method method = (Method) this.member;
                 try {
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.imsejin.expression.spel.support;
+
+import io.github.imsejin.expression.spel.CompilationPolicy;
+import io.github.imsejin.expression.spel.SpelCompilerMode;
+import io.github.imsejin.expression.util.Assert;
+
+/**
+ * Standard implementation of the {@link CompilationPolicy} interface, based on
+ * invocation thresholds. Its defaults match the built-in behavior: an expression is
+ * compiled on its second evaluation in {@code IMMEDIATE} mode and after 100 interpreted
+ * evaluations in {@code MIXED} mode, and is given up on after 100 failed attempts.
+ *
+ * <p>A deoptimized expression is recompiled once it has been interpreted as often as the
+ * threshold multiplied by the back-off multiplier for every deoptimization so far, and is
+ * no longer recompiled after the maximum number of recompilations.
+ *
+ * <p>The properties are meant to be set up front, before the policy is in use.
+ *
+ * @author imsejin
+ * @since 5.2.9
+ */
+public class StandardCompilationPolicy implements CompilationPolicy {
+
+    /**
+     * The default number of interpreted evaluations before compiling in {@code IMMEDIATE} mode.
+     */
+    public static final int DEFAULT_IMMEDIATE_THRESHOLD = 1;
+
+    /**
+     * The default number of interpreted evaluations before compiling in {@code MIXED} mode.
+     */
+    public static final int DEFAULT_MIXED_THRESHOLD = 100;
+
+    /**
+     * The default number of failed compilation attempts before giving up.
+     */
+    public static final int DEFAULT_MAX_FAILED_ATTEMPTS = 100;
+
+
+    private int immediateThreshold = DEFAULT_IMMEDIATE_THRESHOLD;
+
+    private int mixedThreshold = DEFAULT_MIXED_THRESHOLD;
+
+    private int backoffMultiplier = 1;
+
+    private int maxRecompilations = -1;
+
+    private int maxFailedAttempts = DEFAULT_MAX_FAILED_ATTEMPTS;
+
+    private int maxClassesDefined = -1;
+
+
+    /**
+     * Set the number of times an expression is interpreted before compiling it in
+     * {@code IMMEDIATE} mode. Default is {@value #DEFAULT_IMMEDIATE_THRESHOLD}.
+     */
+    public void setImmediateThreshold(int immediateThreshold) {
+        Assert.isTrue(immediateThreshold >= 0, "Threshold must not be negative");
+        this.immediateThreshold = immediateThreshold;
+    }
+
+    /**
+     * Return the number of times an expression is interpreted before compiling it in
+     * {@code IMMEDIATE} mode.
+     */
+    public int getImmediateThreshold() {
+        return this.immediateThreshold;
+    }
+
+    /**
+     * Set the number of times an expression is interpreted before compiling it in
+     * {@code MIXED} mode. Default is {@value #DEFAULT_MIXED_THRESHOLD}.
+     */
+    public void setMixedThreshold(int mixedThreshold) {
+        Assert.isTrue(mixedThreshold >= 0, "Threshold must not be negative");
+        this.mixedThreshold = mixedThreshold;
+    }
+
+    /**
+     * Return the number of times an expression is interpreted before compiling it in
+     * {@code MIXED} mode.
+     */
+    public int getMixedThreshold() {
+        return this.mixedThreshold;
+    }
+
+    /**
+     * Set the factor by which the threshold grows with every deoptimization of an
+     * expression. Default is 1, i.e. no back-off.
+     */
+    public void setBackoffMultiplier(int backoffMultiplier) {
+        Assert.isTrue(backoffMultiplier >= 1, "Back-off multiplier must be at least 1");
+        this.backoffMultiplier = backoffMultiplier;
+    }
+
+    /**
+     * Return the factor by which the threshold grows with every deoptimization of an expression.
+     */
+    public int getBackoffMultiplier() {
+        return this.backoffMultiplier;
+    }
+
+    /**
+     * Set the maximum number of times a deoptimized expression is recompiled,
+     * or {@code -1} for no limit (the default).
+     */
+    public void setMaxRecompilations(int maxRecompilations) {
+        Assert.isTrue(maxRecompilations >= -1, "Maximum recompilations must not be less than -1");
+        this.maxRecompilations = maxRecompilations;
+    }
+
+    /**
+     * Return the maximum number of times a deoptimized expression is recompiled,
+     * or {@code -1} for no limit.
+     */
+    public int getMaxRecompilations() {
+        return this.maxRecompilations;
+    }
+
+    /**
+     * Set the number of failed compilation attempts after which an expression is no
+     * longer compiled. Default is {@value #DEFAULT_MAX_FAILED_ATTEMPTS}.
+     */
+    public void setMaxFailedAttempts(int maxFailedAttempts) {
+        Assert.isTrue(maxFailedAttempts >= 0, "Maximum failed attempts must not be negative");
+        this.maxFailedAttempts = maxFailedAttempts;
+    }
+
+    /**
+     * Return the number of failed compilation attempts after which an expression is
+     * no longer compiled.
+     */
+    public int getMaxFailedAttempts() {
+        return this.maxFailedAttempts;
+    }
+
+    /**
+     * Set the maximum number of expression classes a single compiler may define,
+     * or {@code -1} for no limit (the default).
+     */
+    public void setMaxClassesDefined(int maxClassesDefined) {
+        Assert.isTrue(maxClassesDefined >= -1, "Maximum classes defined must not be less than -1");
+        this.maxClassesDefined = maxClassesDefined;
+    }
+
+    @Override
+    public int getMaxClassesDefined() {
+        return this.maxClassesDefined;
+    }
+
+    @Override
+    public boolean shouldCompile(SpelCompilerMode compilerMode, int interpretedCount, int deoptimizationCount) {
+        if (this.maxRecompilations != -1 && deoptimizationCount > this.maxRecompilations) {
+            return false;
+        }
+        long threshold = (compilerMode == SpelCompilerMode.IMMEDIATE ? this.immediateThreshold : this.mixedThreshold);
+        if (this.backoffMultiplier > 1) {
+            for (int i = 0; i < deoptimizationCount && threshold < Integer.MAX_VALUE; i++) {
+                threshold *= this.backoffMultiplier;
+            }
+        }
+        return (interpretedCount > threshold);
+    }
+
+    @Override
+    public boolean shouldRetryCompilation(int failedAttempts) {
+        return (failedAttempts <= this.maxFailedAttempts);
+    }
+
+    @Override
+    public String toString() {
+        return "StandardCompilationPolicy [immediateThreshold = " + this.immediateThreshold +
+                ", mixedThreshold = " + this.mixedThreshold + ", backoffMultiplier = " + this.backoffMultiplier +
+                ", maxRecompilations = " + this.maxRecompilations + ", maxFailedAttempts = " +
+                this.maxFailedAttempts + ", maxClassesDefined = " + this.maxClassesDefined + "]";
+    }
+
+}
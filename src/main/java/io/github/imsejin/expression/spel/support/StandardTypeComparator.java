@@ -31,6 +31,7 @@ import java.math.BigInteger;
  * @author Andy Clement
  * @author Juergen Hoeller
  * @author Giovanni Dall'Oglio Risso
+ * @author imsejin
  * @since 3.0
  */
 public class StandardTypeComparator implements TypeComparator {
@@ -56,6 +57,18 @@ public class StandardTypeComparator implements TypeComparator {
             return 1;  // left cannot be null at this point
         }
 
+        // Numbers of the same common type, without going through all kinds of numbers
+        Class<?> leftType = left.getClass();
+        if (leftType == right.getClass()) {
+            if (leftType == Integer.class) {
+                return Integer.compare((Integer) left, (Integer) right);
+            } else if (leftType == Long.class) {
+                return Long.compare((Long) left, (Long) right);
+            } else if (leftType == Double.class) {
+                return Double.compare((Double) left, (Double) right);
+            }
+        }
+
         // Basic number comparisons
         if (left instanceof Number && right instanceof Number) {
             Number leftNumber = (Number) left;
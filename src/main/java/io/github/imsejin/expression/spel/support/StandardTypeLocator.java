@@ -22,24 +22,42 @@ import io.github.imsejin.expression.spel.SpelEvaluationException;
 import io.github.imsejin.expression.spel.SpelMessage;
 import io.github.imsejin.expression.util.ClassUtils;
 
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A simple implementation of {@link TypeLocator} that uses the context ClassLoader
  * (or any ClassLoader set upon it). It supports 'well-known' packages: So if a
  * type cannot be found, it will try the registered imports to locate it.
  *
+ * <p>Resolved types are cached per type name, and so are names that could not be
+ * resolved, so that repeated lookups cost a single map access. The cache is cleared
+ * whenever the registered imports change.
+ *
  * @author Andy Clement
  * @author Juergen Hoeller
+ * @author imsejin
  * @since 3.0
  */
 public class StandardTypeLocator implements TypeLocator {
 
+    /**
+     * Marker for type names that could not be resolved.
+     */
+    private static final Object TYPE_NOT_FOUND = new Object();
+
+
     private final ClassLoader classLoader;
 
-    private final List<String> knownPackagePrefixes = new LinkedList<>();
+    /**
+     * Immutable snapshot of the registered imports, replaced on every modification.
+     */
+    private volatile List<String> knownPackagePrefixes = Collections.emptyList();
+
+    private final Map<String, Object> typeCache = new ConcurrentHashMap<>(64);
 
     /**
      * Create a StandardTypeLocator for the default ClassLoader
@@ -67,7 +85,12 @@ public class StandardTypeLocator implements TypeLocator {
      * @param prefix the prefix to register
      */
     public void registerImport(String prefix) {
-        this.knownPackagePrefixes.add(prefix);
+        synchronized (this.typeCache) {
+            List<String> prefixes = new ArrayList<>(this.knownPackagePrefixes);
+            prefixes.add(prefix);
+            this.knownPackagePrefixes = Collections.unmodifiableList(prefixes);
+            this.typeCache.clear();
+        }
     }
 
     /**
@@ -76,7 +99,13 @@ public class StandardTypeLocator implements TypeLocator {
      * @param prefix the prefix to remove
      */
     public void removeImport(String prefix) {
-        this.knownPackagePrefixes.remove(prefix);
+        synchronized (this.typeCache) {
+            List<String> prefixes = new ArrayList<>(this.knownPackagePrefixes);
+            if (prefixes.remove(prefix)) {
+                this.knownPackagePrefixes = Collections.unmodifiableList(prefixes);
+                this.typeCache.clear();
+            }
+        }
     }
 
     /**
@@ -85,9 +114,18 @@ public class StandardTypeLocator implements TypeLocator {
      * @return a list of registered import prefixes
      */
     public List<String> getImportPrefixes() {
-        return Collections.unmodifiableList(this.knownPackagePrefixes);
+        return this.knownPackagePrefixes;
     }
 
+    /**
+     * Return the number of type names, resolved or not, currently cached.
+     *
+     * @return the number of cached lookups
+     * @since 5.2.9
+     */
+    public int getTypeCacheSize() {
+        return this.typeCache.size();
+    }
 
     /**
      * Find a (possibly unqualified) type reference - first using the type name as-is,
@@ -99,21 +137,37 @@ public class StandardTypeLocator implements TypeLocator {
      */
     @Override
     public Class<?> findType(String typeName) throws EvaluationException {
-        String nameToLookup = typeName;
+        Object cached = this.typeCache.get(typeName);
+        if (cached == null) {
+            List<String> prefixes = this.knownPackagePrefixes;
+            Class<?> type = resolveType(typeName, prefixes);
+            cached = (type != null ? type : TYPE_NOT_FOUND);
+            this.typeCache.put(typeName, cached);
+            if (this.knownPackagePrefixes != prefixes) {
+                // Imports changed during resolution: do not keep a possibly stale entry
+                this.typeCache.remove(typeName, cached);
+            }
+        }
+        if (cached == TYPE_NOT_FOUND) {
+            throw new SpelEvaluationException(SpelMessage.TYPE_NOT_FOUND, typeName);
+        }
+        return (Class<?>) cached;
+    }
+
+    private Class<?> resolveType(String typeName, List<String> prefixes) {
         try {
-            return ClassUtils.forName(nameToLookup, this.classLoader);
+            return ClassUtils.forName(typeName, this.classLoader);
         } catch (ClassNotFoundException ey) {
             // try any registered prefixes before giving up
         }
-        for (String prefix : this.knownPackagePrefixes) {
+        for (String prefix : prefixes) {
             try {
-                nameToLookup = prefix + '.' + typeName;
-                return ClassUtils.forName(nameToLookup, this.classLoader);
+                return ClassUtils.forName(prefix + '.' + typeName, this.classLoader);
             } catch (ClassNotFoundException ex) {
                 // might be a different prefix
             }
         }
-        throw new SpelEvaluationException(SpelMessage.TYPE_NOT_FOUND, typeName);
+        return null;
     }
 
 }
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.imsejin.expression.util;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded, thread-safe cache. Once the size limit is exceeded, entries are evicted
+ * in approximate least-recently-used order (CLOCK): an entry that has been read since
+ * it was last considered for eviction is given a second chance.
+ *
+ * <p>Reads do not lock and only write to an entry the first time it is read after
+ * having been considered for eviction. Values are added through
+ * {@link #put(Object, Object)} after a {@link #get(Object) get} missed, so that callers
+ * can create them without allocating a function on every lookup.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ * @author imsejin
+ * @since 5.2.9
+ */
+public class ConcurrentClockCache<K, V> {
+
+    private final int sizeLimit;
+
+    private final ConcurrentMap<K, CacheEntry<V>> cache;
+
+    private final Queue<K> evictionQueue = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    private final AtomicLong evictionCount = new AtomicLong();
+
+
+    /**
+     * Create a cache holding up to the given number of entries.
+     *
+     * @param sizeLimit the maximum number of entries
+     */
+    public ConcurrentClockCache(int sizeLimit) {
+        Assert.isTrue(sizeLimit > 0, "Cache limit must be greater than 0");
+        this.sizeLimit = sizeLimit;
+        this.cache = new ConcurrentHashMap<>(Math.min(sizeLimit, 256));
+    }
+
+
+    /**
+     * Return the value cached for the given key, counting a hit or a miss.
+     *
+     * @param key the key
+     * @return the cached value, or {@code null} if there is none
+     */
+    public V get(K key) {
+        CacheEntry<V> entry = this.cache.get(key);
+        if (entry == null) {
+            this.missCount.incrementAndGet();
+            return null;
+        }
+        if (!entry.referenced) {
+            entry.referenced = true;
+        }
+        this.hitCount.incrementAndGet();
+        return entry.value;
+    }
+
+    /**
+     * Cache the given value for the given key, unless a value has been cached for it
+     * in the meantime, for example by another thread, and evict entries if the size
+     * limit is exceeded.
+     *
+     * @param key   the key
+     * @param value the value to cache
+     * @return the value now cached for the key, to be used in place of the given value
+     */
+    public V put(K key, V value) {
+        CacheEntry<V> existing = this.cache.putIfAbsent(key, new CacheEntry<>(value));
+        if (existing != null) {
+            return existing.value;
+        }
+        this.evictionQueue.offer(key);
+        if (this.cache.size() > this.sizeLimit) {
+            evict();
+        }
+        return value;
+    }
+
+    private void evict() {
+        synchronized (this.evictionQueue) {
+            while (this.cache.size() > this.sizeLimit) {
+                K key = this.evictionQueue.poll();
+                if (key == null) {
+                    return;
+                }
+                CacheEntry<V> entry = this.cache.get(key);
+                if (entry == null) {
+                    continue;
+                }
+                if (entry.referenced) {
+                    entry.referenced = false;
+                    this.evictionQueue.offer(key);
+                } else if (this.cache.remove(key, entry)) {
+                    this.evictionCount.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove all entries. The statistics are retained.
+     */
+    public void clear() {
+        synchronized (this.evictionQueue) {
+            this.cache.clear();
+            this.evictionQueue.clear();
+            // Keep the keys added concurrently evictable, in case they were enqueued
+            // before the queue got cleared
+            this.evictionQueue.addAll(this.cache.keySet());
+        }
+    }
+
+    /**
+     * Return the current number of entries.
+     */
+    public int size() {
+        return this.cache.size();
+    }
+
+    /**
+     * Return the maximum number of entries.
+     */
+    public int sizeLimit() {
+        return this.sizeLimit;
+    }
+
+    /**
+     * Return how many lookups found a cached value.
+     */
+    public long getHitCount() {
+        return this.hitCount.get();
+    }
+
+    /**
+     * Return how many lookups found no cached value.
+     */
+    public long getMissCount() {
+        return this.missCount.get();
+    }
+
+    /**
+     * Return how many entries have been evicted to stay within the size limit.
+     */
+    public long getEvictionCount() {
+        return this.evictionCount.get();
+    }
+
+
+    private static final class CacheEntry<V> {
+
+        final V value;
+
+        volatile boolean referenced;
+
+        CacheEntry(V value) {
+            this.value = value;
+        }
+    }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.imsejin.expression.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.imsejin.expression.Expression;
+import io.github.imsejin.expression.ParseException;
+import io.github.imsejin.expression.spel.standard.SpelExpressionParser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link CachingExpressionParser}.
+ *
+ * @author imsejin
+ * @since 5.2.9
+ */
+public class CachingExpressionParserTests {
+
+	@Test
+	public void sameExpressionStringIsParsedOnce() {
+		CachingExpressionParser parser = new CachingExpressionParser(new SpelExpressionParser());
+
+		Expression first = parser.parseExpression("1 + 2");
+		Expression second = parser.parseExpression("1 + 2");
+		assertThat(second).isSameAs(first);
+		assertThat(second.getValue()).isEqualTo(3);
+		assertThat(parser.getMissCount()).isEqualTo(1);
+		assertThat(parser.getHitCount()).isEqualTo(1);
+		assertThat(parser.getCacheSize()).isEqualTo(1);
+	}
+
+	@Test
+	public void parserContextIsPartOfTheKey() {
+		CachingExpressionParser parser = new CachingExpressionParser(new SpelExpressionParser());
+
+		Expression plain = parser.parseExpression("'a'");
+		Expression template = parser.parseExpression("'a'", new TemplateParserContext());
+		Expression otherTemplate = parser.parseExpression("'a'", new TemplateParserContext("${", "}"));
+		assertThat(plain.getValue()).isEqualTo("a");
+		assertThat(template.getValue()).isEqualTo("'a'");
+		assertThat(template).isNotSameAs(plain).isNotSameAs(otherTemplate);
+		assertThat(parser.parseExpression("'a'", new TemplateParserContext())).isSameAs(template);
+		assertThat(parser.getMissCount()).isEqualTo(3);
+	}
+
+	@Test
+	public void leastRecentlyUsedEntriesAreEvicted() {
+		CachingExpressionParser parser = new CachingExpressionParser(new SpelExpressionParser(), 2);
+
+		Expression hot = parser.parseExpression("'hot'");
+		parser.parseExpression("'cold'");
+		assertThat(parser.parseExpression("'hot'")).isSameAs(hot);
+		parser.parseExpression("'new'");
+
+		assertThat(parser.getCacheSize()).isEqualTo(2);
+		assertThat(parser.getEvictionCount()).isEqualTo(1);
+		assertThat(parser.parseExpression("'hot'")).isSameAs(hot);
+		parser.parseExpression("'cold'");
+		assertThat(parser.getMissCount()).isEqualTo(4);
+
+		parser.clearCache();
+		assertThat(parser.getCacheSize()).isZero();
+	}
+
+	@Test
+	public void parseFailuresAreNotCached() {
+		CachingExpressionParser parser = new CachingExpressionParser(new SpelExpressionParser());
+
+		assertThatExceptionOfType(ParseException.class).isThrownBy(() -> parser.parseExpression("1 +"));
+		assertThatExceptionOfType(ParseException.class).isThrownBy(() -> parser.parseExpression("1 +"));
+		assertThat(parser.getMissCount()).isEqualTo(2);
+		assertThat(parser.getCacheSize()).isZero();
+	}
+
+	@Test
+	public void concurrentCallersStayWithinLimit() throws Exception {
+		CachingExpressionParser parser = new CachingExpressionParser(new SpelExpressionParser(), 8);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				futures.add(executor.submit(() -> {
+					for (int j = 0; j < 1000; j++) {
+						Expression expression = parser.parseExpression("'x' + " + (j % 16));
+						assertThat(expression.getValue()).isEqualTo("x" + (j % 16));
+						if (j % 16 == 0) {
+							assertThat(parser.parseExpression("'shared'").getValue()).isEqualTo("shared");
+						}
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		assertThat(parser.getCacheSize()).isLessThanOrEqualTo(8);
+		assertThat(parser.getHitCount() + parser.getMissCount()).isEqualTo(4 * (1000 + 1000 / 16 + 1));
+		assertThat(parser.getEvictionCount()).isPositive();
+	}
+
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.imsejin.expression.spel;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.imsejin.expression.Expression;
+import io.github.imsejin.expression.spel.ast.FoldedLiteral;
+import io.github.imsejin.expression.spel.ast.InlineMap;
+import io.github.imsejin.expression.spel.ast.OpPlus;
+import io.github.imsejin.expression.spel.standard.SpelCompiler;
+import io.github.imsejin.expression.spel.standard.SpelExpression;
+import io.github.imsejin.expression.spel.standard.SpelExpressionParser;
+import io.github.imsejin.expression.spel.support.StandardEvaluationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for folding constant sub-expressions when parsing.
+ *
+ * @author imsejin
+ * @since 5.2.9
+ * @see io.github.imsejin.expression.spel.ast.ConstantFolder
+ */
+public class ConstantFoldingTests {
+
+	private final SpelExpressionParser parser = new SpelExpressionParser(
+			SpelParserConfiguration.builder().constantFolding(true).build());
+
+	private final SpelExpressionParser unfoldingParser = new SpelExpressionParser();
+
+	private final StandardEvaluationContext context = new StandardEvaluationContext();
+
+
+	@Test
+	public void literalOperatorsAreFolded() {
+		assertFolded("60 * 60 * 24", 86400);
+		assertFolded("'prefix-' + 'x'", "prefix-x");
+		assertFolded("!true", false);
+		assertFolded("-5 + 2L", -3L);
+		assertFolded("2.5 > 2 and 1 == 1", true);
+		assertFolded("'abc' matches 'a.c'", true);
+	}
+
+	@Test
+	public void shortCircuitingOperatorsAreFolded() {
+		assertFolded("false and #undefined.foo", false);
+		assertFolded("true or #undefined.foo", true);
+		assertFolded("1 > 2 ? 'yes' : 'no'", "no");
+		assertFolded("'a' ?: #undefined.foo", "a");
+		assertFolded("null ?: 'b'", "b");
+	}
+
+	@Test
+	public void foldedSubExpressionsKeepTheirStructure() {
+		SpelExpression expression = parse("#root + 60 * 60");
+		SpelNode ast = expression.getAST();
+		assertThat(ast).isInstanceOf(OpPlus.class);
+		assertThat(ast.getChild(1)).isInstanceOf(FoldedLiteral.class);
+		assertThat(ast.getChild(1).getStartPosition()).isEqualTo(
+				this.unfoldingParser.parseRaw("#root + 60 * 60").getAST().getChild(1).getStartPosition());
+		assertThat(expression.toStringAST()).isEqualTo(
+				this.unfoldingParser.parseRaw("#root + 60 * 60").toStringAST());
+		assertThat(expression.getValue(this.context, 1)).isEqualTo(3601);
+	}
+
+	@Test
+	public void inlineMapsOfFoldedConstantsAreConstant() {
+		SpelExpression expression = parse("{'day': 60 * 60 * 24, 'hour': {60 * 60}}");
+		assertThat(((InlineMap) expression.getAST()).isConstant()).isTrue();
+		Map<?, ?> map = expression.getValue(this.context, Map.class);
+		assertThat(map.get("day")).isEqualTo(86400);
+		assertThat(expression.getValue(this.context)).isSameAs(map);
+	}
+
+	@Test
+	public void contextDependentOperationsAreNotFolded() {
+		// Comparing strings consults the TypeComparator, concatenating a number the TypeConverter
+		assertNotFolded("'a' < 'b'", true);
+		assertNotFolded("'a' + 1", "a1");
+		assertNotFolded("#root + 1", 2);
+		assertNotFolded("true ? #root : 2", 1);
+		assertNotFolded("T(java.lang.Math).PI > 3", true);
+		assertNotFolded("{1, 2}.size() * 2", 4);
+	}
+
+	@Test
+	public void failingOperationsFailOnEvaluation() {
+		for (String expressionString : new String[] {"1 / 0", "'x' and true", "(1 + 2) = 3", "1 ? 2 : 3"}) {
+			SpelExpression expression = parse(expressionString);
+			assertThat(expression.getAST()).isNotInstanceOf(FoldedLiteral.class);
+			RuntimeException expected = evaluationFailure(this.unfoldingParser.parseRaw(expressionString));
+			RuntimeException actual = evaluationFailure(expression);
+			assertThat(actual).isExactlyInstanceOf(expected.getClass()).hasMessage(expected.getMessage());
+		}
+	}
+
+	@Test
+	public void foldedConstantsAreCompilable() {
+		SpelExpression expression = parse("#root + 60 * 60 * -24 + (true ? 1 : 0)");
+		assertThat(expression.getValue(this.context, 1)).isEqualTo(-86398);
+		assertThat(SpelCompiler.compile(expression)).isTrue();
+		assertThat(expression.getValue(this.context, 1)).isEqualTo(-86398);
+
+		expression = parse("'x' + (1L == 1 ? 'y' + 'z' : null)");
+		assertThat(expression.getValue()).isEqualTo("xyz");
+		assertThat(SpelCompiler.compile(expression)).isTrue();
+		assertThat(expression.getValue()).isEqualTo("xyz");
+	}
+
+
+	private SpelExpression parse(String expressionString) {
+		return this.parser.parseRaw(expressionString);
+	}
+
+	private void assertFolded(String expressionString, Object expectedValue) {
+		SpelExpression expression = parse(expressionString);
+		assertThat(expression.getAST()).isInstanceOf(FoldedLiteral.class);
+		assertThat(expression.getValue(this.context)).isEqualTo(expectedValue);
+		assertThat(expression.toStringAST()).isEqualTo(this.unfoldingParser.parseRaw(expressionString).toStringAST());
+	}
+
+	private void assertNotFolded(String expressionString, Object expectedValue) {
+		SpelExpression expression = parse(expressionString);
+		assertThat(expression.getAST()).isNotInstanceOf(FoldedLiteral.class);
+		assertThat(expression.getValue(this.context, 1)).isEqualTo(expectedValue);
+	}
+
+	private RuntimeException evaluationFailure(Expression expression) {
+		try {
+			expression.getValue(this.context);
+		}
+		catch (RuntimeException ex) {
+			return ex;
+		}
+		throw new AssertionError("Expected evaluation of '" + expression.getExpressionString() + "' to fail");
+	}
+
+}
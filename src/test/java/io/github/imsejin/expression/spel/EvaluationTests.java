@@ -22,6 +22,8 @@ import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import io.github.imsejin.expression.spel.testresources.TestPerson;
 import org.assertj.core.api.Assertions;
@@ -44,6 +46,7 @@ import io.github.imsejin.expression.spel.SpelParseException;
 import io.github.imsejin.expression.spel.SpelParserConfiguration;
 import io.github.imsejin.expression.spel.standard.SpelExpression;
 import io.github.imsejin.expression.spel.standard.SpelExpressionParser;
+import io.github.imsejin.expression.spel.support.PatternCache;
 import io.github.imsejin.expression.spel.support.StandardEvaluationContext;
 import io.github.imsejin.expression.spel.support.StandardTypeLocator;
 
@@ -208,6 +211,40 @@ public class EvaluationTests extends AbstractExpressionTests {
 			.satisfies(ex -> assertThat(ex.getMessageCode()).isEqualTo(SpelMessage.FLAWED_PATTERN));
 	}
 
+	@Test
+	public void testMatchesWithDynamicPattern() {
+		PatternCache patternCache = PatternCache.getSharedInstance();
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		Expression expr = parser.parseExpression("'abc' matches #pattern");
+		context.setVariable("pattern", "a.c");
+		assertThat(expr.getValue(context)).isEqualTo(true);
+		long hits = patternCache.getHitCount();
+		assertThat(expr.getValue(context)).isEqualTo(true);
+		assertThat(patternCache.getHitCount()).isGreaterThan(hits);
+		context.setVariable("pattern", "x.*");
+		assertThat(expr.getValue(context)).isEqualTo(false);
+		context.setVariable("pattern", "[");
+		assertThatExceptionOfType(SpelEvaluationException.class).isThrownBy(() -> expr.getValue(context))
+			.satisfies(ex -> assertThat(ex.getMessageCode()).isEqualTo(SpelMessage.INVALID_PATTERN));
+	}
+
+	@Test
+	public void testPatternCacheIsBounded() {
+		PatternCache patternCache = new PatternCache(2);
+		Pattern hot = patternCache.getPattern("a");
+		patternCache.getPattern("b");
+		assertThat(patternCache.getPattern("a")).isSameAs(hot);
+		patternCache.getPattern("c");
+
+		assertThat(patternCache.getCacheSize()).isEqualTo(2);
+		assertThat(patternCache.getEvictionCount()).isEqualTo(1);
+		assertThat(patternCache.getPattern("a")).isSameAs(hot);
+		assertThat(patternCache.getMissCount()).isEqualTo(3);
+		assertThat(patternCache.getHitCount()).isEqualTo(2);
+		assertThatExceptionOfType(PatternSyntaxException.class).isThrownBy(() -> patternCache.getPattern("["));
+		assertThat(patternCache.getCacheSize()).isEqualTo(2);
+	}
+
 	// mixing operators
 	@Test
 	public void testMixingOperators01() {
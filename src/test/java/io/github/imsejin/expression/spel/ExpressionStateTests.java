@@ -16,6 +16,7 @@
 
 package io.github.imsejin.expression.spel;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -219,6 +220,41 @@ public class ExpressionStateTests extends AbstractExpressionTests {
 		assertThat(state.lookupLocalVariable("goo")).isNull();
 	}
 
+	@Test
+	public void testReusableState() {
+		EvaluationContext context = getContext();
+		SpelParserConfiguration configuration = new SpelParserConfiguration();
+		ExpressionState state = ExpressionState.obtain(context, new TypedValue("root"), configuration);
+		state.pushActiveContextObject(new TypedValue("element"));
+		state.enterScope("index", 1);
+
+		// Nested evaluation while the thread's state is in use
+		ExpressionState nested = ExpressionState.obtain(context, configuration);
+		assertThat(nested).isNotSameAs(state);
+		assertThat(nested.getActiveContextObject()).isEqualTo(context.getRootObject());
+		assertThat(nested.lookupLocalVariable("index")).isNull();
+		nested.release();
+
+		state.release();
+		ExpressionState reused = ExpressionState.obtain(context, new TypedValue("other"), configuration);
+		assertThat(reused).isSameAs(state);
+		assertThat(reused.getActiveContextObject().getValue()).isEqualTo("other");
+		assertThat(reused.getScopeRootContextObject().getValue()).isEqualTo("other");
+		assertThat(reused.lookupLocalVariable("index")).isNull();
+		assertThatIllegalStateException().isThrownBy(reused::popActiveContextObject);
+		assertThatIllegalStateException().isThrownBy(reused::exitScope);
+		reused.release();
+	}
+
+	@Test
+	public void testReusableStateWithNestedEvaluation() {
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		context.setVariable("inner", parser.parseExpression("{5}.![#this * 10][0]"));
+		// The nested evaluation must not disturb the outer one's context objects
+		Object result = parser.parseExpression("{1, 2}.![#this + #inner.getValue() + #this]").getValue(context);
+		assertThat(result).isEqualTo(Arrays.asList(52, 54));
+	}
+
 	@Test
 	public void testOperators() {
 		ExpressionState state = getState();
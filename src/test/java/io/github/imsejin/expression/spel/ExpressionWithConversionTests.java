@@ -17,9 +17,12 @@
 package io.github.imsejin.expression.spel;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -31,7 +34,9 @@ import io.github.imsejin.expression.core.convert.support.DefaultConversionServic
 import io.github.imsejin.expression.EvaluationException;
 import io.github.imsejin.expression.Expression;
 import io.github.imsejin.expression.TypeConverter;
+import io.github.imsejin.expression.TypedValue;
 import io.github.imsejin.expression.spel.support.StandardEvaluationContext;
+import io.github.imsejin.expression.spel.support.StandardTypeConverter;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -166,6 +171,71 @@ public class ExpressionWithConversionTests extends AbstractExpressionTests {
 		assertThat(baz.value).isEqualTo("baz");
 	}
 
+	@Test
+	public void testTypeDescriptorsAreSharedPerClass() {
+		TypeDescriptor descriptor = TypeDescriptor.forObject(new Foo("bar"));
+		assertThat(TypeDescriptor.forObject(new Foo("baz"))).isSameAs(descriptor);
+		assertThat(TypeDescriptor.valueOf(Foo.class)).isSameAs(descriptor);
+		assertThat(new TypedValue(new Foo("qux")).getTypeDescriptor()).isSameAs(descriptor);
+		assertThat(descriptor.isPlain()).isTrue();
+	}
+
+	@Test
+	public void testPlainConversionsBypassConverters() {
+		DefaultConversionService service = new DefaultConversionService();
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		context.setTypeConverter(new StandardTypeConverter(service));
+		context.setVariable("name", " Nikola ");
+		Expression expression = parser.parseExpression("#name");
+
+		assertThat(TypeDescriptor.valueOf(String.class).isPlain()).isTrue();
+		assertThat(typeDescriptorForListOfString.isPlain()).isFalse();
+		String name = expression.getValue(context, String.class);
+		assertThat(name).isSameAs(context.lookupVariable("name"));
+		assertThat(expression.getValue(context, CharSequence.class)).isSameAs(name);
+		assertThat(service.convert(listOfInteger, List.class)).isSameAs(listOfInteger);
+		assertThat(service.convert(listOfString, typeDescriptorForListOfInteger)).isEqualTo(Arrays.asList(1, 2, 3));
+
+		// A converter registered for an assignable pair is not bypassed
+		service.addConverter(String.class, String.class, String::trim);
+		assertThat(expression.getValue(context, String.class)).isEqualTo("Nikola");
+		service.removeConvertible(String.class, String.class);
+		assertThat(expression.getValue(context, String.class)).isSameAs(name);
+	}
+
+
+	@Test
+	public void testElementConversions() {
+		DefaultConversionService service = new DefaultConversionService();
+		List<String> ids = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			ids.add(String.valueOf(i));
+		}
+
+		long[] longs = service.convert(ids, long[].class);
+		assertThat(longs).hasSize(1000).startsWith(0L, 1L, 2L).endsWith(999L);
+		assertThat(service.convert(new String[] {"1", "2"}, int[].class)).containsExactly(1, 2);
+		assertThat(service.convert(new int[] {1, 2}, long[].class)).containsExactly(1L, 2L);
+		assertThat(service.convert(ids, typeDescriptorForListOfInteger)).asList().hasSize(1000).startsWith(0, 1, 2);
+		// Mixed element classes each get their own converter
+		List<Object> mixed = Arrays.asList("1", 2L, 3, null);
+		assertThat(service.convert(mixed, TypeDescriptor.forObject(mixed), typeDescriptorForListOfInteger))
+				.isEqualTo(Arrays.asList(1, 2, 3, null));
+		assertThat(service.convert(mixed, String[].class)).containsExactly("1", "2", "3", null);
+
+		// Elements that need no conversion are copied in bulk, or not at all
+		assertThat(service.convert(listOfString, typeDescriptorForListOfString, typeDescriptorForListOfString)).isSameAs(listOfString);
+		assertThat(service.convert(listOfString, typeDescriptorForListOfString, TypeDescriptor.valueOf(String[].class)))
+				.isEqualTo(new String[] {"1", "2", "3"});
+
+		Map<String, String> source = new LinkedHashMap<>();
+		source.put("1", "true");
+		source.put("2", "false");
+		TypeDescriptor targetType = TypeDescriptor.map(Map.class,
+				TypeDescriptor.valueOf(Integer.class), TypeDescriptor.valueOf(Boolean.class));
+		assertThat(service.convert(source, TypeDescriptor.forObject(source), targetType)).asString().isEqualTo("{1=true, 2=false}");
+	}
+
 
 	/**
 	 * Type converter that uses the core conversion service.
@@ -17,7 +17,7 @@
 package io.github.imsejin.expression.spel;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 
 import org.junit.jupiter.api.Test;
 
@@ -26,6 +26,7 @@ import io.github.imsejin.expression.spel.SpelNode;
 import io.github.imsejin.expression.spel.ast.InlineList;
 import io.github.imsejin.expression.spel.standard.SpelExpression;
 import io.github.imsejin.expression.spel.standard.SpelExpressionParser;
+import io.github.imsejin.expression.spel.support.ConstantList;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
@@ -41,7 +42,7 @@ public class ListTests extends AbstractExpressionTests {
 
 	// if the list is full of literals then it will be of the type unmodifiableClass
 	// rather than ArrayList
-	Class<?> unmodifiableClass = Collections.unmodifiableList(new ArrayList<>()).getClass();
+	Class<?> unmodifiableClass = ConstantList.class;
 
 
 	@Test
@@ -159,6 +160,24 @@ public class ListTests extends AbstractExpressionTests {
 		}
 	}
 
+	@Test
+	public void testConstantListMembership() {
+		evaluate("{'GOLD','SILVER','BRONZE','IRON','WOOD','STONE','GLASS','PAPER','CLAY'}.contains('CLAY')", true, Boolean.class);
+		evaluate("{'GOLD','SILVER','BRONZE','IRON','WOOD','STONE','GLASS','PAPER','CLAY'}.contains('TIN')", false, Boolean.class);
+		evaluate("{1,2,3,4,5,6,7,8,9,10,3}.indexOf(3)", 2, Integer.class);
+		evaluate("{1,2,3,4,5,6,7,8,9,10,3}.lastIndexOf(3)", 10, Integer.class);
+		evaluate("{1,2,3,4,5,6,7,8,9,10}.contains(3L)", false, Boolean.class);
+		evaluate("{1,2,3,4,5,6,7,8,null}.indexOf(null)", 8, Integer.class);
+
+		ConstantList list = new ConstantList(new Object[] {"a", "b", "c", "d", "e", "f", "g", "h", "a"});
+		assertThat(list).containsExactly("a", "b", "c", "d", "e", "f", "g", "h", "a");
+		assertThat(list.indexOf("a")).isEqualTo(0);
+		assertThat(list.indexOf("h")).isEqualTo(7);
+		assertThat(list.indexOf("z")).isEqualTo(-1);
+		assertThat(list).isEqualTo(Arrays.asList("a", "b", "c", "d", "e", "f", "g", "h", "a"));
+		assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() -> list.add("i"));
+	}
+
 	@Test
 	public void testInlineListWriting() {
 		// list should be unmodifiable
@@ -17,7 +17,6 @@
 package io.github.imsejin.expression.spel;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -29,6 +28,7 @@ import io.github.imsejin.expression.spel.SpelNode;
 import io.github.imsejin.expression.spel.ast.InlineMap;
 import io.github.imsejin.expression.spel.standard.SpelExpression;
 import io.github.imsejin.expression.spel.standard.SpelExpressionParser;
+import io.github.imsejin.expression.spel.support.ConstantMap;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
@@ -43,7 +43,7 @@ public class MapTests extends AbstractExpressionTests {
 
 	// if the list is full of literals then it will be of the type unmodifiableClass
 	// rather than HashMap (or similar)
-	Class<?> unmodifiableClass = Collections.unmodifiableMap(new LinkedHashMap<>()).getClass();
+	Class<?> unmodifiableClass = ConstantMap.class;
 
 
 	@Test
@@ -136,6 +136,26 @@ public class MapTests extends AbstractExpressionTests {
 		}
 	}
 
+	@Test
+	public void testConstantMapLookup() {
+		evaluate("{'a':1,'b':2,'c':3,'d':4,'e':5,'f':6,'g':7,'h':8,'i':9}['h']", 8, Integer.class);
+		evaluate("{a:1,b:2,c:3,d:4,e:5,f:6,g:7,h:8,i:9}.containsKey('i')", true, Boolean.class);
+		evaluate("{a:1,b:2,c:3,d:4,e:5,f:6,g:7,h:8,i:9}.containsKey('z')", false, Boolean.class);
+		evaluate("{a:1,b:2,a:3}", "{a=3, b=2}", unmodifiableClass);
+		evaluate("{'a':null,'b':2}['a']", null, null);
+
+		Map<Object, Object> map = new ConstantMap(new Object[] {"a", 1, null}, new Object[] {"x", "y", "z"});
+		Map<Object, Object> expected = new LinkedHashMap<>();
+		expected.put("a", "x");
+		expected.put(1, "y");
+		expected.put(null, "z");
+		assertThat(map).isEqualTo(expected);
+		assertThat(map.hashCode()).isEqualTo(expected.hashCode());
+		assertThat(map.get(1L)).isNull();
+		assertThat(map.containsKey(null)).isTrue();
+		assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() -> map.remove("a"));
+	}
+
 	@Test
 	public void testInlineMapWriting() {
 		// list should be unmodifiable
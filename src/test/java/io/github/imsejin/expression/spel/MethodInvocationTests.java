@@ -21,6 +21,7 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import io.github.imsejin.expression.spel.testresources.PlaceOfBirth;
@@ -38,6 +39,7 @@ import io.github.imsejin.expression.spel.SpelEvaluationException;
 import io.github.imsejin.expression.spel.SpelMessage;
 import io.github.imsejin.expression.spel.standard.SpelExpression;
 import io.github.imsejin.expression.spel.standard.SpelExpressionParser;
+import io.github.imsejin.expression.spel.support.ReflectiveMethodResolver;
 import io.github.imsejin.expression.spel.support.StandardEvaluationContext;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -211,6 +213,77 @@ public class MethodInvocationTests extends AbstractExpressionTests {
 		assertThat(filter.filterCalled).isFalse();
 	}
 
+	@Test
+	public void testInvocationThroughMethodHandles() {
+		SpelParserConfiguration config = new SpelParserConfiguration(
+				null, null, false, false, Integer.MAX_VALUE, SpelInvokerMode.METHOD_HANDLE);
+		SpelExpressionParser parser = new SpelExpressionParser(config);
+		StandardEvaluationContext context = TestScenarioCreator.getTestEvaluationContext();
+
+		for (int i = 0; i < 3; i++) {
+			assertThat(parser.parseExpression("getPlaceOfBirth().getCity()").getValue(context)).isEqualTo("SmilJan");
+			assertThat(parser.parseExpression("'abc'.substring(1, 2)").getValue(context)).isEqualTo("b");
+			assertThat(parser.parseExpression("T(java.lang.Math).abs(-2L)").getValue(context)).isEqualTo(2L);
+			assertThat(parser.parseExpression("aVarargsMethod('a', 'b')").getValue(context)).isEqualTo(2);
+		}
+
+		// Exceptions thrown by the method surface as with reflective invocation
+		context.setVariable("bar", 4);
+		Expression expression = parser.parseExpression("throwException(#bar)");
+		assertThatExceptionOfType(ExpressionInvocationTargetException.class).isThrownBy(() ->
+				expression.getValue(context))
+			.satisfies(ex -> assertThat(ex.getCause().getClass().getName()).isEqualTo(
+					"io.github.imsejin.expression.spel.testresources.Inventor$TestException"));
+	}
+
+	@Test
+	public void testResolvedMethodsAreCached() throws Exception {
+		ReflectiveMethodResolver resolver = new ReflectiveMethodResolver();
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		List<TypeDescriptor> argumentTypes = Collections.singletonList(TypeDescriptor.valueOf(Integer.class));
+
+		MethodExecutor executor = resolver.resolve(context, "abc", "charAt", argumentTypes);
+		assertThat(executor).isNotNull();
+		assertThat(resolver.resolve(context, "def", "charAt",
+				Collections.singletonList(TypeDescriptor.valueOf(Integer.class)))).isSameAs(executor);
+		assertThat(executor.execute(context, "def", 1).getValue()).isEqualTo('e');
+
+		// Static and instance lookups on the same type do not share entries
+		assertThat(resolver.resolve(context, String.class, "valueOf", argumentTypes)).isNotNull();
+		assertThat(resolver.resolve(context, "abc", "valueOf", argumentTypes)).isNotNull();
+		assertThat(resolver.resolve(context, String.class, "charAt", argumentTypes)).isNull();
+
+		resolver.clearCache();
+		assertThat(resolver.resolve(context, "abc", "charAt", argumentTypes)).isNotSameAs(executor);
+	}
+
+	@Test
+	public void testResolvedMethodsAreSharedByResolvers() throws Exception {
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		List<TypeDescriptor> argumentTypes = Collections.singletonList(TypeDescriptor.valueOf(Integer.class));
+		MethodExecutor executor = new ReflectiveMethodResolver().resolve(context, "abc", "charAt", argumentTypes);
+
+		// Resolvers of other contexts use the same cache
+		assertThat(new ReflectiveMethodResolver().resolve(context, "abc", "charAt", argumentTypes)).isSameAs(executor);
+		assertThat(new ReflectiveMethodResolver(false).resolve(context, "abc", "charAt", argumentTypes))
+				.isNotSameAs(executor);
+
+		// A filter on the type bypasses the shared cache
+		ReflectiveMethodResolver filtered = new ReflectiveMethodResolver();
+		filtered.registerMethodFilter(String.class, methods -> Collections.emptyList());
+		assertThat(filtered.resolve(context, "abc", "charAt", argumentTypes)).isNull();
+		assertThat(new ReflectiveMethodResolver().resolve(context, "abc", "charAt", argumentTypes)).isSameAs(executor);
+
+		// A subclass may resolve differently, so it caches on its own
+		ReflectiveMethodResolver subclass = new ReflectiveMethodResolver() {
+			@Override
+			protected boolean isCandidateForInvocation(Method method, Class<?> targetClass) {
+				return false;
+			}
+		};
+		assertThat(subclass.resolve(context, "abc", "charAt", argumentTypes)).isNull();
+	}
+
 	@Test
 	public void testAddingMethodResolvers() {
 		StandardEvaluationContext ctx = new StandardEvaluationContext();
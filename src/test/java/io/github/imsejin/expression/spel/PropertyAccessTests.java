@@ -67,6 +67,22 @@ public class PropertyAccessTests extends AbstractExpressionTests {
 		evaluate("stringArrayOfThreeItems.length", "3", Integer.class);
 	}
 
+	@Test
+	public void testAccessThroughMethodHandles() {
+		SpelParserConfiguration config = new SpelParserConfiguration(
+				null, null, false, false, Integer.MAX_VALUE, SpelInvokerMode.METHOD_HANDLE);
+		SpelExpressionParser parser = new SpelExpressionParser(config);
+		StandardEvaluationContext context = TestScenarioCreator.getTestEvaluationContext();
+
+		for (int i = 0; i < 3; i++) {
+			assertThat(parser.parseExpression("name").getValue(context)).isEqualTo("Nikola Tesla");
+			assertThat(parser.parseExpression("placeOfBirth.city").getValue(context)).isEqualTo("SmilJan");
+			assertThat(parser.parseExpression("T(java.lang.Integer).MAX_VALUE").getValue(context))
+					.isEqualTo(Integer.MAX_VALUE);
+			assertThat(parser.parseExpression("stringArrayOfThreeItems.length").getValue(context)).isEqualTo(3);
+		}
+	}
+
 	@Test
 	public void testNonExistentPropertiesAndMethods() {
 		// madeup does not exist as a property
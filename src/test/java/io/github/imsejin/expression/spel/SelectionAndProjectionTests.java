@@ -296,6 +296,128 @@ public class SelectionAndProjectionTests {
         assertThat(array[2]).isEqualTo(7);
     }
 
+    @Test
+    public void selectLastItemSearchesListBackwards() {
+        StandardEvaluationContext context = new StandardEvaluationContext();
+        context.setVariable("linked", new LinkedList<>(Arrays.asList("x", 2, 3)));
+
+        // Not evaluated against the first element, which cannot be compared to a number
+        assertThat(new SpelExpressionParser().parseRaw("{'x', 2, 3}.$[#this > 1]").getValue(context)).isEqualTo(3);
+        assertThatExceptionOfType(SpelEvaluationException.class).isThrownBy(() ->
+                new SpelExpressionParser().parseRaw("#linked.$[#this > 1]").getValue(context));
+    }
+
+    @Test
+    public void selectLastItemWithSideEffectsSearchesListForwards() {
+        List<Integer> visited = new ArrayList<>();
+        StandardEvaluationContext context = new StandardEvaluationContext(new ListTestBean());
+        context.setVariable("visited", visited);
+        Object value = new SpelExpressionParser().parseRaw("integers.$[#visited.add(#this) and #this < 5]").getValue(context);
+        assertThat(value).isEqualTo(4);
+        assertThat(visited).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+    }
+
+    @Test
+    public void lazySelectionAndProjectionAreFused() {
+        List<Integer> visited = new ArrayList<>();
+        StandardEvaluationContext context = new StandardEvaluationContext(new ListTestBean());
+        context.setVariable("visited", visited);
+        Expression expression = lazyParser().parseRaw("integers.?[#visited.add(#this) and #this % 2 == 0].![#this * 10]");
+        Object value = expression.getValue(context);
+        assertThat(value).isInstanceOf(Collection.class).isNotInstanceOf(List.class);
+        assertThat(visited).isEmpty();
+
+        Iterator<?> iterator = ((Collection<?>) value).iterator();
+        assertThat(iterator.next()).isEqualTo(0);
+        assertThat(iterator.next()).isEqualTo(20);
+        assertThat(visited).containsExactly(0, 1, 2);
+
+        visited.clear();
+        assertThat(new ArrayList<Object>((Collection<?>) value)).containsExactly(0, 20, 40, 60, 80);
+        assertThat(visited).hasSize(10);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void lazySelectionAndProjectionOverArraysAndMaps() {
+        EvaluationContext context = new StandardEvaluationContext(new ArrayTestBean());
+        Collection<Object> selected = lazyParser().parseRaw("ints.?[#this < 5]").getValue(context, Collection.class);
+        assertThat(selected).containsExactly(0, 1, 2, 3, 4);
+        assertThat(selected.size()).isEqualTo(5);
+        Collection<Object> projected = lazyParser().parseRaw("ints.![#this * 2]").getValue(context, Collection.class);
+        assertThat(projected.size()).isEqualTo(10);
+        assertThat(projected).startsWith(0, 2, 4);
+        assertThat(lazyParser().parseRaw("ints.![#this * 2].$[#this < 10]").getValue(context)).isEqualTo(8);
+
+        context = new StandardEvaluationContext(new MapTestBean());
+        assertThat(lazyParser().parseRaw("colors.![key]").getValue(context, Collection.class))
+                .containsExactly("beige", "blue", "brown", "red", "yellow");
+        // Selection over a map still yields a map
+        assertThat(lazyParser().parseRaw("colors.?[key == 'red']").getValue(context)).isInstanceOf(Map.class);
+    }
+
+    @Test
+    public void parallelSelectionAndProjectionPreserveOrder() {
+        List<Integer> integers = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            integers.add(i);
+        }
+        int[] ints = integers.stream().mapToInt(Integer::intValue).toArray();
+        StandardEvaluationContext context = new StandardEvaluationContext();
+        context.setVariable("integers", integers);
+        context.setVariable("ints", ints);
+        SpelExpressionParser parser = new SpelExpressionParser(
+                SpelParserConfiguration.builder().parallelThreshold(100).build());
+
+        List<?> selected = parser.parseRaw("#integers.?[#this % 3 == 0]").getValue(context, List.class);
+        assertThat(selected).hasSize(3334);
+        assertThat(selected).isEqualTo(new SpelExpressionParser().parseRaw("#integers.?[#this % 3 == 0]").getValue(context));
+
+        List<?> projected = parser.parseRaw("#integers.![#this * 2]").getValue(context, List.class);
+        assertThat(projected).hasSize(10000);
+        assertThat(projected.get(0)).isEqualTo(0);
+        assertThat(projected.get(9999)).isEqualTo(19998);
+
+        Integer[] array = parser.parseRaw("#ints.![#this + 1]").getValue(context, Integer[].class);
+        assertThat(array).hasSize(10000);
+        assertThat(array[4999]).isEqualTo(5000);
+        assertThat(parser.parseRaw("#ints.?[#this > 9990]").getValue(context, int[].class))
+                .containsExactly(9991, 9992, 9993, 9994, 9995, 9996, 9997, 9998, 9999);
+
+        assertThatExceptionOfType(SpelEvaluationException.class).isThrownBy(() ->
+                parser.parseRaw("#integers.?[#this > 5000 ? 'x' : true]").getValue(context))
+            .satisfies(ex -> assertThat(ex.getMessageCode()).isEqualTo(SpelMessage.RESULT_OF_SELECTION_CRITERIA_IS_NOT_BOOLEAN));
+    }
+
+    @Test
+    public void parallelSelectionAndProjectionThrowFirstFailure() {
+        List<Integer> integers = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            integers.add(i);
+        }
+        StandardEvaluationContext context = new StandardEvaluationContext();
+        context.setVariable("integers", integers);
+        SpelExpressionParser parser = new SpelExpressionParser(
+                SpelParserConfiguration.builder().parallelThreshold(2).build());
+
+        // Not the copy of the exception that a ForkJoinTask rethrows
+        assertThatExceptionOfType(ArithmeticException.class).isThrownBy(() ->
+                parser.parseRaw("#integers.?[#this / (#this - 500) > 0]").getValue(context))
+            .withMessage("/ by zero")
+            .withNoCause();
+
+        // Every element from 5000 on fails, but the first of them is reported
+        for (int i = 0; i < 10; i++) {
+            assertThatExceptionOfType(NumberFormatException.class).isThrownBy(() ->
+                    parser.parseRaw("#integers.![#this < 5000 ? #this : T(Integer).parseInt('x' + #this)]").getValue(context))
+                .withMessage("For input string: \"x5000\"");
+        }
+    }
+
+    private static SpelExpressionParser lazyParser() {
+        return new SpelExpressionParser(SpelParserConfiguration.builder().lazySelectionAndProjection(true).build());
+    }
+
 
     static class ListTestBean {
 
@@ -56,4 +56,31 @@ public class StandardTypeLocatorTests {
 		assertThat(locator.findType("URL")).isEqualTo(java.net.URL.class);
 	}
 
+	@Test
+	public void testTypeCache() {
+		StandardTypeLocator locator = new StandardTypeLocator();
+		assertThat(locator.findType("Integer")).isEqualTo(Integer.class);
+		assertThat(locator.findType("Integer")).isEqualTo(Integer.class);
+		assertThatExceptionOfType(SpelEvaluationException.class).isThrownBy(() ->
+				locator.findType("List"));
+		assertThatExceptionOfType(SpelEvaluationException.class).isThrownBy(() ->
+				locator.findType("List"))
+			.satisfies(ex -> assertThat(ex.getMessageCode()).isEqualTo(SpelMessage.TYPE_NOT_FOUND));
+		assertThat(locator.getTypeCacheSize()).isEqualTo(2);
+
+		// Registering an import invalidates negative entries
+		locator.registerImport("java.util");
+		assertThat(locator.getTypeCacheSize()).isZero();
+		assertThat(locator.findType("List")).isEqualTo(List.class);
+
+		// Removing an unknown import leaves the cache alone
+		locator.removeImport("java.io");
+		assertThat(locator.getTypeCacheSize()).isEqualTo(1);
+
+		locator.removeImport("java.util");
+		assertThat(locator.getImportPrefixes()).containsExactly("java.lang");
+		assertThatExceptionOfType(SpelEvaluationException.class).isThrownBy(() ->
+				locator.findType("List"));
+	}
+
 }
@@ -16,6 +16,8 @@
 
 package io.github.imsejin.expression.spel;
 
+import java.lang.reflect.Field;
+
 import org.junit.jupiter.api.Test;
 
 import io.github.imsejin.expression.EvaluationContext;
@@ -25,8 +27,12 @@ import io.github.imsejin.expression.ParseException;
 import io.github.imsejin.expression.ParserContext;
 import io.github.imsejin.expression.common.CompositeStringExpression;
 import io.github.imsejin.expression.common.TemplateParserContext;
+import io.github.imsejin.expression.spel.standard.SpelCompiler;
+import io.github.imsejin.expression.spel.standard.SpelExpression;
 import io.github.imsejin.expression.spel.standard.SpelExpressionParser;
+import io.github.imsejin.expression.spel.standard.SpelTemplateExpression;
 import io.github.imsejin.expression.spel.support.StandardEvaluationContext;
+import io.github.imsejin.expression.spel.testresources.PlaceOfBirth;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
@@ -34,6 +40,7 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 /**
  * @author Andy Clement
  * @author Juergen Hoeller
+ * @author imsejin
  */
 public class TemplateExpressionParsingTests extends AbstractExpressionTests {
 
@@ -163,7 +170,7 @@ public class TemplateExpressionParsingTests extends AbstractExpressionTests {
 
 		// not a useful expression but tests nested expression syntax that clashes with template prefix/suffix
 		ex = parser.parseExpression("hello ${listOfNumbersUpToTen.$[#root.listOfNumbersUpToTen.$[#this%2==1]==3]} world",DEFAULT_TEMPLATE_PARSER_CONTEXT);
-		assertThat(ex.getClass()).isEqualTo(CompositeStringExpression.class);
+		assertThat(ex.getClass()).isEqualTo(SpelTemplateExpression.class);
 		CompositeStringExpression cse = (CompositeStringExpression)ex;
 		Expression[] exprs = cse.getExpressions();
 		assertThat(exprs.length).isEqualTo(3);
@@ -223,6 +230,91 @@ public class TemplateExpressionParsingTests extends AbstractExpressionTests {
 			.satisfies(pex -> assertThat(pex.getSimpleMessage()).isEqualTo("No expression defined within delimiter '${}' at character 6"));
 	}
 
+	@Test
+	public void testTemplateExpressionAppendsToBuilder() throws Exception {
+		SpelExpressionParser parser = new SpelExpressionParser();
+		SpelTemplateExpression ex = (SpelTemplateExpression) parser.parseExpression(
+				"${name} was born in ${placeOfBirth.city}${null}.", DEFAULT_TEMPLATE_PARSER_CONTEXT);
+		EvaluationContext ctx = TestScenarioCreator.getTestEvaluationContext();
+		assertThat(ex.getValue(ctx)).isEqualTo("Nikola Tesla was born in SmilJan.");
+
+		StringBuilder sb = new StringBuilder("> ");
+		ex.appendValue(ctx, sb);
+		ex.appendValue(ctx, new PlaceOfBirthRoot(), sb);
+		assertThat(sb.toString()).isEqualTo("> Nikola Tesla was born in SmilJan.Ada was born in London.");
+	}
+
+	@Test
+	public void testCompiledTemplateExpression() throws Exception {
+		SpelExpressionParser parser = new SpelExpressionParser();
+		Expression ex = parser.parseExpression("${name} (${name.length()}) was born in ${placeOfBirth.city}",
+				DEFAULT_TEMPLATE_PARSER_CONTEXT);
+		PlaceOfBirthRoot root = new PlaceOfBirthRoot();
+		assertThat(SpelCompiler.compile(ex)).isFalse();
+		assertThat(ex.getValue(root)).isEqualTo("Ada (3) was born in London");
+
+		assertThat(SpelCompiler.compile(ex)).isTrue();
+		assertThat(((SpelTemplateExpression) ex).isCompiled()).isTrue();
+		assertThat(ex.getValue(root)).isEqualTo("Ada (3) was born in London");
+		StringBuilder sb = new StringBuilder("> ");
+		((SpelTemplateExpression) ex).appendValue(new StandardEvaluationContext(), root, sb);
+		assertThat(sb.toString()).isEqualTo("> Ada (3) was born in London");
+
+		SpelCompiler.revertToInterpreted(ex);
+		assertThat(((SpelTemplateExpression) ex).isCompiled()).isFalse();
+		assertThat(ex.getValue(root)).isEqualTo("Ada (3) was born in London");
+	}
+
+	@Test
+	public void testCompiledTemplateExpressionFallsBackInMixedMode() throws Exception {
+		SpelExpressionParser parser = new SpelExpressionParser(
+				new SpelParserConfiguration(SpelCompilerMode.MIXED, getClass().getClassLoader()));
+		SpelTemplateExpression ex = (SpelTemplateExpression) parser.parseExpression(
+				"[${length()}]", DEFAULT_TEMPLATE_PARSER_CONTEXT);
+		assertThat(ex.getValue("abc")).isEqualTo("[3]");
+		assertThat(ex.compileExpression()).isTrue();
+		assertThat(ex.getValue("abcd")).isEqualTo("[4]");
+
+		// The compiled form expects a String root and fails without appending anything
+		StringBuilder sb = new StringBuilder("> ");
+		ex.appendValue(new StandardEvaluationContext(), new StringBuilder("abcde"), sb);
+		assertThat(sb.toString()).isEqualTo("> [5]");
+		assertThat(ex.isCompiled()).isFalse();
+	}
+
+	@Test
+	public void testTemplateExpressionCompiledOnlyAsWhole() throws Exception {
+		SpelExpressionParser parser = new SpelExpressionParser(
+				new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, getClass().getClassLoader()));
+		SpelTemplateExpression ex = (SpelTemplateExpression) parser.parseExpression(
+				"${name} was born in ${placeOfBirth.city}", DEFAULT_TEMPLATE_PARSER_CONTEXT);
+		PlaceOfBirthRoot root = new PlaceOfBirthRoot();
+		for (int i = 0; i < 3; i++) {
+			assertThat(ex.getValue(root)).isEqualTo("Ada was born in London");
+		}
+		assertThat(ex.isCompiled()).isTrue();
+
+		// The embedded expressions are not compiled into classes of their own
+		Field field = SpelExpression.class.getDeclaredField("compiledAst");
+		field.setAccessible(true);
+		for (Expression part : ex.getExpressions()) {
+			if (part instanceof SpelExpression) {
+				assertThat(field.get(part)).isNull();
+			}
+		}
+	}
+
+	public static class PlaceOfBirthRoot {
+
+		public String getName() {
+			return "Ada";
+		}
+
+		public PlaceOfBirth getPlaceOfBirth() {
+			return new PlaceOfBirth("London");
+		}
+	}
+
 	@Test
 	public void testTemplateParserContext() {
 		TemplateParserContext tpc = new TemplateParserContext("abc","def");
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.imsejin.expression.spel.ast;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.imsejin.expression.AccessException;
+import io.github.imsejin.expression.EvaluationContext;
+import io.github.imsejin.expression.PropertyAccessor;
+import io.github.imsejin.expression.TypedValue;
+import io.github.imsejin.expression.spel.standard.SpelExpression;
+import io.github.imsejin.expression.spel.standard.SpelExpressionParser;
+import io.github.imsejin.expression.spel.support.SimpleEvaluationContext;
+import io.github.imsejin.expression.spel.support.StandardEvaluationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the polymorphic {@link InlineCache} of property and method references.
+ *
+ * @author imsejin
+ * @since 5.2.9
+ * @see PropertyOrFieldReference
+ * @see MethodReference
+ */
+public class InlineCacheTests {
+
+	private final SpelExpressionParser parser = new SpelExpressionParser();
+
+	private final StandardEvaluationContext context = new StandardEvaluationContext();
+
+
+	@Test
+	public void inlineEntriesAndMegamorphicTable() {
+		InlineCache<String> cache = new InlineCache<>(2);
+		cache.put(String.class, false, "string");
+		cache.put(Integer.class, false, "integer");
+		cache.put(Integer.class, true, "static integer");
+		assertThat(cache.isMegamorphic()).isFalse();
+
+		cache.put(Long.class, false, "long");
+		assertThat(cache.isMegamorphic()).isTrue();
+		assertThat(cache.get(String.class, false)).isEqualTo("string");
+		assertThat(cache.get(Integer.class, false)).isEqualTo("integer");
+		assertThat(cache.get(Long.class, false)).isEqualTo("long");
+		// Static targets are only ever held inline
+		assertThat(cache.get(Integer.class, true)).isNull();
+		assertThat(cache.getMissCount()).isEqualTo(4);
+
+		cache.remove(String.class, false, "other");
+		assertThat(cache.get(String.class, false)).isEqualTo("string");
+		cache.remove(String.class, false, "string");
+		assertThat(cache.get(String.class, false)).isNull();
+		cache.remove(Long.class, false, "long");
+		assertThat(cache.get(Long.class, false)).isNull();
+	}
+
+	@Test
+	public void propertyReferenceStaysPolymorphicForFewReceiverTypes() {
+		SpelExpression expression = (SpelExpression) this.parser.parseExpression("amount");
+		PropertyOrFieldReference node = (PropertyOrFieldReference) expression.getAST();
+
+		for (int i = 0; i < 10; i++) {
+			assertThat(expression.getValue(this.context, new Order(i))).isEqualTo(i);
+			assertThat(expression.getValue(this.context, new Refund(i))).isEqualTo(-i);
+		}
+		assertThat(node.getCacheMissCount()).isEqualTo(2);
+		assertThat(node.isMegamorphic()).isFalse();
+	}
+
+	@Test
+	public void propertyReferenceGoesMegamorphic() {
+		SpelExpression expression = (SpelExpression) this.parser.parseExpression("amount");
+		PropertyOrFieldReference node = (PropertyOrFieldReference) expression.getAST();
+		Object[] payloads = {new Order(1), new Refund(1), new Fee(1), new Discount(1), new Tax(1)};
+
+		for (int i = 0; i < 10; i++) {
+			for (Object payload : payloads) {
+				expression.getValue(this.context, payload);
+			}
+		}
+		assertThat(node.getCacheMissCount()).isEqualTo(payloads.length);
+		assertThat(node.isMegamorphic()).isTrue();
+		assertThat(expression.getValue(this.context, new Tax(7))).isEqualTo(7);
+	}
+
+	@Test
+	public void propertyReferenceKeepsAccessorAcrossFreshContexts() {
+		SpelExpression expression = (SpelExpression) this.parser.parseExpression("amount");
+		PropertyOrFieldReference node = (PropertyOrFieldReference) expression.getAST();
+
+		for (int i = 0; i < 10; i++) {
+			assertThat(expression.getValue(new StandardEvaluationContext(), new Order(i))).isEqualTo(i);
+		}
+		assertThat(node.getCacheMissCount()).isEqualTo(1);
+
+		// A restricted accessor must not reuse what the default one resolved
+		EvaluationContext readOnlyContext = SimpleEvaluationContext.forReadOnlyDataBinding().build();
+		assertThat(expression.getValue(readOnlyContext, new Order(3))).isEqualTo(3);
+		assertThat(node.getCacheMissCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void propertyReferenceResolvesAgainWhenAccessorsChange() {
+		SpelExpression expression = (SpelExpression) this.parser.parseExpression("amount");
+		PropertyOrFieldReference node = (PropertyOrFieldReference) expression.getAST();
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		assertThat(expression.getValue(context, new Order(1))).isEqualTo(1);
+		assertThat(expression.getValue(context, new Order(2))).isEqualTo(2);
+		assertThat(node.getCacheMissCount()).isEqualTo(1);
+
+		context.addPropertyAccessor(new FixedAmountAccessor());
+		assertThat(expression.getValue(context, new Order(3))).isEqualTo(42);
+		assertThat(node.getCacheMissCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void methodReferenceGoesMegamorphic() {
+		SpelExpression expression = (SpelExpression) this.parser.parseExpression("toString()");
+		MethodReference node = (MethodReference) expression.getAST();
+		Object[] targets = {"a", 1, 2L, 3.0d, 4.0f, 'c'};
+
+		for (int i = 0; i < 10; i++) {
+			for (Object target : targets) {
+				assertThat(expression.getValue(this.context, target)).isEqualTo(target.toString());
+			}
+		}
+		assertThat(node.getCacheMissCount()).isEqualTo(targets.length);
+		assertThat(node.isMegamorphic()).isTrue();
+	}
+
+
+	public static class Order {
+
+		private final int amount;
+
+		public Order(int amount) {
+			this.amount = amount;
+		}
+
+		public int getAmount() {
+			return this.amount;
+		}
+	}
+
+
+	public static class Refund {
+
+		public final int amount;
+
+		public Refund(int amount) {
+			this.amount = -amount;
+		}
+	}
+
+
+	public static class Fee extends Order {
+
+		public Fee(int amount) {
+			super(amount);
+		}
+	}
+
+
+	public static class Discount extends Order {
+
+		public Discount(int amount) {
+			super(amount);
+		}
+	}
+
+
+	public static class Tax extends Order {
+
+		public Tax(int amount) {
+			super(amount);
+		}
+	}
+
+
+	public static class FixedAmountAccessor implements PropertyAccessor {
+
+		@Override
+		public Class<?>[] getSpecificTargetClasses() {
+			return new Class<?>[] {Order.class};
+		}
+
+		@Override
+		public boolean canRead(EvaluationContext context, Object target, String name) {
+			return "amount".equals(name);
+		}
+
+		@Override
+		public TypedValue read(EvaluationContext context, Object target, String name) {
+			return new TypedValue(42);
+		}
+
+		@Override
+		public boolean canWrite(EvaluationContext context, Object target, String name) {
+			return false;
+		}
+
+		@Override
+		public void write(EvaluationContext context, Object target, String name, Object newValue)
+				throws AccessException {
+
+			throw new AccessException("Read-only");
+		}
+	}
+
+}
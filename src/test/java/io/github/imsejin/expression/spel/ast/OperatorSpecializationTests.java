@@ -0,0 +1,121 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.imsejin.expression.spel.ast;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.imsejin.expression.spel.ExpressionState;
+import io.github.imsejin.expression.spel.ast.Operator.Specialization;
+import io.github.imsejin.expression.spel.standard.SpelExpression;
+import io.github.imsejin.expression.spel.standard.SpelExpressionParser;
+import io.github.imsejin.expression.spel.support.StandardEvaluationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the specialization of binary operators on the types of their operands.
+ *
+ * @author imsejin
+ * @since 5.2.9
+ * @see Operator
+ */
+public class OperatorSpecializationTests {
+
+	private final SpelExpressionParser parser = new SpelExpressionParser();
+
+	private final StandardEvaluationContext context = new StandardEvaluationContext();
+
+
+	@Test
+	public void arithmeticSpecializesOnFirstOperandTypes() {
+		SpelExpression expression = parse("#a * #b - #c");
+		Operator minus = (Operator) expression.getAST();
+		Operator multiply = (Operator) minus.getLeftOperand();
+
+		assertThat(evaluate(expression, 6, 7, 2)).isEqualTo(40);
+		assertThat(minus.getSpecialization()).isEqualTo(Specialization.INT);
+		assertThat(multiply.getSpecialization()).isEqualTo(Specialization.INT);
+		assertThat(evaluate(expression, 3, 4, 2)).isEqualTo(10);
+		assertThat(evaluate(expression, 100000, 100000, 0)).isEqualTo(100000 * 100000);
+		assertThat(minus.getSpecialization()).isEqualTo(Specialization.INT);
+
+		// Other operand types deoptimize to the generic path for good
+		assertThat(evaluate(expression, 6L, 7L, 2L)).isEqualTo(40L);
+		assertThat(minus.getSpecialization()).isEqualTo(Specialization.GENERIC);
+		assertThat(evaluate(expression, 6, 7L, 2.5d)).isEqualTo(39.5d);
+		assertThat(evaluate(expression, 6, 7, 2)).isEqualTo(40);
+		assertThat(multiply.getSpecialization()).isEqualTo(Specialization.GENERIC);
+	}
+
+	@Test
+	public void arithmeticOnLongsAndDoubles() {
+		SpelExpression expression = parse("#a / #b + #c");
+		assertThat(evaluate(expression, 7L, 2L, 1L)).isEqualTo(4L);
+		assertThat(evaluate(expression, 9L, 2L, Long.MAX_VALUE - 4)).isEqualTo(Long.MAX_VALUE);
+		assertThat(((Operator) expression.getAST()).getSpecialization()).isEqualTo(Specialization.LONG);
+
+		expression = parse("#a / #b + #c");
+		assertThat(evaluate(expression, 7d, 2d, 1d)).isEqualTo(4.5d);
+		assertThat(evaluate(expression, 1d, 0d, 1d)).isEqualTo(Double.POSITIVE_INFINITY);
+		assertThat(((Operator) expression.getAST()).getSpecialization()).isEqualTo(Specialization.DOUBLE);
+	}
+
+	@Test
+	public void comparisonsAgreeWithGenericPath() {
+		Object[][] operands = {{1, 2}, {2, 2}, {3, 2}, {1L, 2L}, {2L, 2L}, {3L, 2L},
+				{1d, 2d}, {2d, 2d}, {Double.NaN, 2d}, {Double.NaN, Double.NaN}, {-0d, 0d}};
+		for (String operator : new String[] {"<", ">", "<=", ">=", "==", "!="}) {
+			SpelExpression specialized = parse("#a " + operator + " #b");
+			for (Object[] pair : operands) {
+				this.context.setVariable("a", pair[0]);
+				this.context.setVariable("b", pair[1]);
+				// A fresh expression takes the generic path on its first evaluation
+				Object expected = parse("#a " + operator + " #b").getValue(this.context);
+				specialized.getValue(this.context);
+				assertThat(specialized.getValue(this.context)).as("%s %s %s", pair[0], operator, pair[1])
+						.isEqualTo(expected);
+			}
+		}
+	}
+
+	@Test
+	public void smallResultsAreShared() {
+		SpelExpression expression = parse("#a + #b");
+		ExpressionState state = new ExpressionState(this.context);
+		this.context.setVariable("a", 20);
+		this.context.setVariable("b", 22);
+		expression.getAST().getTypedValue(state);
+
+		assertThat(expression.getAST().getTypedValue(state)).isSameAs(expression.getAST().getTypedValue(state));
+		this.context.setVariable("a", 2000);
+		assertThat(expression.getAST().getTypedValue(state).getValue()).isEqualTo(2022);
+		assertThat(expression.getAST().getTypedValue(state)).isNotSameAs(expression.getAST().getTypedValue(state));
+	}
+
+
+	private SpelExpression parse(String expression) {
+		return (SpelExpression) this.parser.parseExpression(expression);
+	}
+
+	private Object evaluate(SpelExpression expression, Object a, Object b, Object c) {
+		this.context.setVariable("a", a);
+		this.context.setVariable("b", b);
+		this.context.setVariable("c", c);
+		return expression.getValue(this.context);
+	}
+
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.imsejin.expression.spel.standard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.imsejin.expression.spel.SpelCompilerMode;
+import io.github.imsejin.expression.spel.SpelEvaluationException;
+import io.github.imsejin.expression.spel.SpelParserConfiguration;
+import io.github.imsejin.expression.spel.ast.PropertyOrFieldReference;
+import io.github.imsejin.expression.spel.support.StandardEvaluationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for the batch evaluation methods of {@link SpelExpression}.
+ *
+ * @author imsejin
+ * @since 5.2.9
+ */
+public class BatchEvaluationTests {
+
+	private final StandardEvaluationContext context = new StandardEvaluationContext();
+
+
+	@Test
+	public void evaluateArrayIntoResults() {
+		SpelExpression expression = new SpelExpressionParser().parseRaw("length() * 2");
+		String[] rootObjects = {"a", "bb", "ccc"};
+
+		Integer[] results = new Integer[4];
+		expression.evaluateAll(this.context, rootObjects, Integer.class, results);
+		assertThat(results).containsExactly(2, 4, 6, null);
+
+		String[] converted = new String[3];
+		expression.evaluateAll(this.context, rootObjects, String.class, converted);
+		assertThat(converted).containsExactly("2", "4", "6");
+	}
+
+	@Test
+	public void evaluateIterableInOrder() {
+		SpelExpression expression = new SpelExpressionParser().parseRaw("#root?.toUpperCase()");
+		Set<String> rootObjects = new LinkedHashSet<>(Arrays.asList("b", "a", null, "c"));
+
+		List<Object> results = new ArrayList<>();
+		expression.evaluateAll(this.context, rootObjects, null, results::add);
+		assertThat(results).containsExactly("B", "A", null, "C");
+	}
+
+	@Test
+	public void evaluateWithScopesPerRootObject() {
+		SpelExpression expression = new SpelExpressionParser().parseRaw("{1, 2}.![#this + #root].?[#this > 11]");
+		Integer[] rootObjects = {10, 20};
+
+		Object[] results = new Object[2];
+		expression.evaluateAll(this.context, rootObjects, null, results);
+		assertThat(results).containsExactly(Arrays.asList(12), Arrays.asList(21, 22));
+	}
+
+	@Test
+	public void evaluateCompiledHalfwayThroughBatch() {
+		SpelExpression expression = new SpelExpressionParser(new SpelParserConfiguration(
+				SpelCompilerMode.IMMEDIATE, getClass().getClassLoader())).parseRaw("interpreted");
+		Caller[] rootObjects = {new Caller(), new Caller(), new Caller(), new Caller()};
+
+		// Compiled after the second interpretation: the rest of the batch uses the compiled form
+		Boolean[] results = new Boolean[4];
+		expression.evaluateAll(this.context, rootObjects, Boolean.class, results);
+		assertThat(results).containsExactly(true, true, false, false);
+	}
+
+	@Test
+	public void evaluateDeoptimizedHalfwayThroughBatch() {
+		SpelExpression expression = new SpelExpressionParser(new SpelParserConfiguration(
+				SpelCompilerMode.MIXED, getClass().getClassLoader())).parseRaw("#root * 2");
+		assertThat(expression.getValue(1)).isEqualTo(2);
+		assertThat(expression.compileExpression()).isTrue();
+
+		// Compiled for integers: the long falls back to interpretation
+		Object[] results = new Object[3];
+		expression.evaluateAll(this.context, new Object[] {1, 2L, 3}, null, results);
+		assertThat(results).containsExactly(2, 4L, 6);
+	}
+
+	@Test
+	public void evaluateInParallel() {
+		SpelExpressionParser parser = new SpelExpressionParser(
+				SpelParserConfiguration.builder().parallelThreshold(100).build());
+		SpelExpression expression = parser.parseRaw("#root % 3 == 0 ? -#root : #root");
+		Integer[] rootObjects = new Integer[10000];
+		for (int i = 0; i < rootObjects.length; i++) {
+			rootObjects[i] = i;
+		}
+
+		Long[] results = new Long[rootObjects.length];
+		expression.evaluateAll(this.context, rootObjects, Long.class, results);
+		for (int i = 0; i < results.length; i++) {
+			assertThat(results[i]).isEqualTo(i % 3 == 0 ? -i : i);
+		}
+	}
+
+	@Test
+	public void evaluationFailurePropagates() {
+		SpelExpression expression = new SpelExpressionParser().parseRaw("length()");
+
+		assertThatIllegalArgumentException().isThrownBy(() ->
+				expression.evaluateAll(this.context, new Object[2], null, new Object[1]));
+		assertThatExceptionOfType(SpelEvaluationException.class).isThrownBy(() ->
+				expression.evaluateAll(this.context, Arrays.asList("a", null), null, result -> { }));
+	}
+
+
+
+	public static class Caller {
+
+		public boolean isInterpreted() {
+			for (StackTraceElement element : new Throwable().getStackTrace()) {
+				if (element.getClassName().equals(PropertyOrFieldReference.class.getName())) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+	}
+
+}
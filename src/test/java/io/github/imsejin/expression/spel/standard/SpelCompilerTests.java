@@ -16,18 +16,30 @@
 
 package io.github.imsejin.expression.spel.standard;
 
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Queue;
+import java.util.Set;
 import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
 
 import io.github.imsejin.expression.core.Ordered;
 import io.github.imsejin.expression.Expression;
+import io.github.imsejin.expression.spel.CompiledExpression;
 import io.github.imsejin.expression.spel.SpelCompilationCoverageTests;
+import io.github.imsejin.expression.spel.SpelCompilationExecutor;
 import io.github.imsejin.expression.spel.SpelCompilerMode;
 import io.github.imsejin.expression.spel.SpelParserConfiguration;
+import io.github.imsejin.expression.spel.ast.SpelNodeImpl;
+import io.github.imsejin.expression.spel.support.StandardCompilationPolicy;
 import io.github.imsejin.expression.spel.standard.SpelCompiler;
 import io.github.imsejin.expression.spel.standard.SpelExpressionParser;
 import io.github.imsejin.expression.spel.support.StandardEvaluationContext;
+import io.github.imsejin.expression.util.ReflectionUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -78,6 +90,193 @@ class SpelCompilerTests {
 	}
 
 
+	@Test
+	void compiledExpressionIsGeneratedSubclassOfCompiledExpression() throws Exception {
+		Item item = new Item();
+		Expression expression = new SpelExpressionParser().parseExpression("hasSomeProperty() and !isEditable2()");
+		assertThat(expression.getValue(item)).isEqualTo(true);
+
+		SpelCompiler compiler = SpelCompiler.getCompiler(getClass().getClassLoader());
+		CompiledExpression compiled = compiler.compile((SpelNodeImpl) ((SpelExpression) expression).getAST());
+		assertThat(compiled).isNotNull();
+		SpelCompilationCoverageTests.assertIsGeneratedClass(compiled.getClass());
+		assertThat(compiled.getValue(item, null)).isEqualTo(true);
+	}
+
+	@Test
+	void immediateModeRunsThroughGeneratedClass() {
+		SpelParserConfiguration config = new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, null);
+		SpelExpressionParser parser = new SpelExpressionParser(config);
+
+		Expression expression = parser.parseExpression("order * 2 + 1");
+		OrderedComponent component = new OrderedComponent();
+		// Compiled as soon as the interpreted runs have determined the exit types
+		IntStream.rangeClosed(1, 2).forEach(i -> assertThat(expression.getValue(component)).isEqualTo(85));
+		SpelCompilationCoverageTests.assertIsCompiled(expression);
+		assertThat(expression.getValue(component)).isEqualTo(85);
+	}
+
+	@Test
+	void mixedModeCompilesOnceHot() {
+		SpelParserConfiguration config = new SpelParserConfiguration(SpelCompilerMode.MIXED, null);
+		SpelExpressionParser parser = new SpelExpressionParser(config);
+
+		Expression expression = parser.parseExpression("order > 10");
+		OrderedComponent component = new OrderedComponent();
+		IntStream.rangeClosed(1, 150).forEach(i -> assertThat(expression.getValue(component)).isEqualTo(true));
+		SpelCompilationCoverageTests.assertIsCompiled(expression);
+	}
+
+	@Test
+	void backgroundCompilationOnceHot() {
+		Queue<Runnable> tasks = new ArrayDeque<>();
+		SpelCompilationExecutor compilationExecutor = new SpelCompilationExecutor(tasks::add, 1);
+		StandardCompilationPolicy compilationPolicy = new StandardCompilationPolicy();
+		compilationPolicy.setMixedThreshold(10);
+		SpelParserConfiguration config = new SpelParserConfiguration(SpelCompilerMode.MIXED, null,
+				false, false, Integer.MAX_VALUE, null, compilationExecutor, compilationPolicy);
+		SpelExpressionParser parser = new SpelExpressionParser(config);
+
+		SpelExpression expression = parser.parseRaw("order > 10");
+		SpelExpression other = parser.parseRaw("order < 10");
+		OrderedComponent component = new OrderedComponent();
+		IntStream.rangeClosed(1, 20).forEach(i -> {
+			assertThat(expression.getValue(component)).isEqualTo(true);
+			assertThat(other.getValue(component)).isEqualTo(false);
+		});
+
+		// Enqueued once, still interpreted until the background compilation has run
+		assertThat(tasks).hasSize(1);
+		assertThat(compilationExecutor.getSubmittedCount()).isEqualTo(1);
+		assertThat(compilationExecutor.getRejectedCount()).isEqualTo(10);
+		assertThat(compilationExecutor.getBacklog()).isEqualTo(1);
+		SpelCompilationCoverageTests.assertIsNotCompiled(expression);
+
+		tasks.poll().run();
+		assertThat(compilationExecutor.getCompiledCount()).isEqualTo(1);
+		assertThat(compilationExecutor.getBacklog()).isZero();
+		SpelCompilationCoverageTests.assertIsCompiled(expression);
+		assertThat(expression.getValue(component)).isEqualTo(true);
+
+		// The rejected expression is enqueued again on its next evaluation
+		assertThat(other.getValue(component)).isEqualTo(false);
+		tasks.poll().run();
+		SpelCompilationCoverageTests.assertIsCompiled(other);
+		assertThat(compilationExecutor.getCompiledCount()).isEqualTo(2);
+		assertThat(tasks).isEmpty();
+	}
+
+	@Test
+	void backgroundCompilationOnDefaultExecutor() throws InterruptedException {
+		SpelCompilationExecutor compilationExecutor = new SpelCompilationExecutor();
+		SpelParserConfiguration config = new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, null,
+				false, false, Integer.MAX_VALUE, null, compilationExecutor);
+		SpelExpressionParser parser = new SpelExpressionParser(config);
+
+		Expression expression = parser.parseExpression("order * 2 + 1");
+		OrderedComponent component = new OrderedComponent();
+		for (int i = 0; i < 500 && compilationExecutor.getCompiledCount() == 0; i++) {
+			assertThat(expression.getValue(component)).isEqualTo(85);
+			Thread.sleep(10);
+		}
+		assertThat(compilationExecutor.getCompiledCount()).isEqualTo(1);
+		SpelCompilationCoverageTests.assertIsCompiled(expression);
+		assertThat(expression.getValue(component)).isEqualTo(85);
+	}
+
+
+	@Test
+	void compilationPolicyBacksOffAfterDeoptimization() {
+		StandardCompilationPolicy compilationPolicy = new StandardCompilationPolicy();
+		compilationPolicy.setMixedThreshold(2);
+		compilationPolicy.setBackoffMultiplier(4);
+		compilationPolicy.setMaxRecompilations(1);
+		SpelParserConfiguration config = new SpelParserConfiguration(SpelCompilerMode.MIXED, null,
+				false, false, Integer.MAX_VALUE, null, null, compilationPolicy);
+		SpelExpression expression = new SpelExpressionParser(config).parseRaw("length()");
+
+		IntStream.rangeClosed(1, 3).forEach(i -> assertThat(expression.getValue("abc")).isEqualTo(3));
+		SpelCompilationCoverageTests.assertIsCompiled(expression);
+
+		// The compiled form expects a String: deoptimized, then recompiled after 2 * 4 runs
+		assertThat(expression.getValue(new StringBuilder("abcd"))).isEqualTo(4);
+		IntStream.rangeClosed(1, 7).forEach(i -> assertThat(expression.getValue("abc")).isEqualTo(3));
+		SpelCompilationCoverageTests.assertIsNotCompiled(expression);
+		assertThat(expression.getValue("abc")).isEqualTo(3);
+		SpelCompilationCoverageTests.assertIsCompiled(expression);
+
+		// No more recompilations after the second deoptimization
+		assertThat(expression.getValue(new StringBuilder("abcd"))).isEqualTo(4);
+		IntStream.rangeClosed(1, 200).forEach(i -> assertThat(expression.getValue("abc")).isEqualTo(3));
+		SpelCompilationCoverageTests.assertIsNotCompiled(expression);
+	}
+
+	@Test
+	void compilationPolicyLimitsClassesDefined() {
+		StandardCompilationPolicy compilationPolicy = new StandardCompilationPolicy();
+		compilationPolicy.setMaxClassesDefined(1);
+		// A dedicated class loader, so that the expressions get a compiler of their own
+		ClassLoader classLoader = new URLClassLoader(new URL[0], getClass().getClassLoader());
+		SpelParserConfiguration config = new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, classLoader,
+				false, false, Integer.MAX_VALUE, null, null, compilationPolicy);
+		SpelExpressionParser parser = new SpelExpressionParser(config);
+
+		Expression first = parser.parseExpression("order + 1");
+		Expression second = parser.parseExpression("order + 2");
+		OrderedComponent component = new OrderedComponent();
+		IntStream.rangeClosed(1, 3).forEach(i -> {
+			assertThat(first.getValue(component)).isEqualTo(43);
+			assertThat(second.getValue(component)).isEqualTo(44);
+		});
+		SpelCompilationCoverageTests.assertIsCompiled(first);
+		SpelCompilationCoverageTests.assertIsNotCompiled(second);
+		assertThat(SpelCompiler.getCompiler(classLoader).getClassesDefinedCount()).isEqualTo(1);
+	}
+
+
+	@Test
+	void expressionClassesAreHiddenWhereSupported() throws Exception {
+		Method isHidden = ReflectionUtils.findMethod(Class.class, "isHidden");
+		SpelCompiler compiler = new SpelCompiler(getClass().getClassLoader(), true);
+		assertThat(compiler.isUsingHiddenClasses()).isEqualTo(isHidden != null);
+
+		CompiledExpression compiled = compileOrder(compiler);
+		SpelCompilationCoverageTests.assertIsGeneratedClass(compiled.getClass());
+		if (isHidden != null) {
+			assertThat(isHidden.invoke(compiled.getClass())).isEqualTo(true);
+		}
+		assertThat(compiler.getClassesDefinedCount()).isEqualTo(1);
+	}
+
+	@Test
+	void expressionClassesAreDefinedByChildClassLoaderOtherwise() throws Exception {
+		SpelCompiler compiler = new SpelCompiler(getClass().getClassLoader(), false);
+		assertThat(compiler.isUsingHiddenClasses()).isFalse();
+
+		Set<ClassLoader> classLoaders = new HashSet<>();
+		for (int i = 0; i < 150; i++) {
+			CompiledExpression compiled = compileOrder(compiler);
+			assertThat(compiled.getClass().getName()).matches("spel\\.Ex\\d+");
+			assertThat(compiled.getClass().getClassLoader().getParent()).isSameAs(getClass().getClassLoader());
+			classLoaders.add(compiled.getClass().getClassLoader());
+		}
+		// The child class loader is replaced every 100 classes
+		assertThat(classLoaders).hasSize(2);
+		assertThat(compiler.getClassesDefinedCount()).isEqualTo(150);
+	}
+
+	private static CompiledExpression compileOrder(SpelCompiler compiler) throws Exception {
+		SpelExpression expression = new SpelExpressionParser().parseRaw("order * 2");
+		OrderedComponent component = new OrderedComponent();
+		assertThat(expression.getValue(component)).isEqualTo(84);
+
+		CompiledExpression compiled = compiler.compile((SpelNodeImpl) expression.getAST());
+		assertThat(compiled).isNotNull();
+		assertThat(compiled.getValue(component, null)).isEqualTo(84);
+		return compiled;
+	}
+
+
 	static class OrderedComponent implements Ordered {
 
 		@Override
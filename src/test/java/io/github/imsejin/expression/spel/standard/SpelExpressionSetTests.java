@@ -0,0 +1,315 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.imsejin.expression.spel.standard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.imsejin.expression.spel.SpelCompilerMode;
+import io.github.imsejin.expression.spel.SpelParserConfiguration;
+import io.github.imsejin.expression.spel.support.StandardEvaluationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link SpelExpressionSet}.
+ *
+ * @author imsejin
+ * @since 5.2.9
+ */
+public class SpelExpressionSetTests {
+
+	private final StandardEvaluationContext context = new StandardEvaluationContext();
+
+
+	@Test
+	public void sharedSubExpressionsAreEvaluatedOnce() {
+		SpelExpressionSet rules = new SpelExpressionParser().parseExpressionSet(rules(
+				"gold", "customer.tier == 'GOLD'",
+				"korean", "customer.country.code == 'KR'",
+				"bigSilver", "customer.tier == 'SILVER' and amount > 100",
+				"big", "amount > 100",
+				"domestic", "customer.country.code == 'KR' or customer.country.name == 'Korea'"));
+		assertThat(rules.getSharedSubExpressionCount()).isPositive();
+
+		Order order = new Order(new Customer("GOLD", "KR"), 150);
+		assertThat(rules.getMatchingIds(this.context, order)).containsExactly("gold", "korean", "big", "domestic");
+		assertThat(order.customerReads).isEqualTo(1);
+		assertThat(order.amountReads).isEqualTo(1);
+		assertThat(order.customer.countryReads).isEqualTo(1);
+
+		// Shared again for the next root object, not across root objects
+		Order other = new Order(new Customer("SILVER", "US"), 200);
+		assertThat(rules.getMatchingIds(this.context, other)).containsExactly("bigSilver", "big");
+		assertThat(other.customerReads).isEqualTo(1);
+		assertThat(order.customerReads).isEqualTo(1);
+	}
+
+	@Test
+	public void expressionsStayIntactOnTheirOwn() {
+		SpelExpressionSet rules = new SpelExpressionParser().parseExpressionSet(rules(
+				"tier", "customer.tier",
+				"country", "customer.country.code"));
+
+		SpelExpression tier = rules.getExpression("tier");
+		assertThat(tier.toStringAST()).isEqualTo("customer.tier");
+		Order order = new Order(new Customer("GOLD", "KR"), 150);
+		assertThat(tier.getValue(order)).isEqualTo("GOLD");
+		assertThat(tier.getValue(order)).isEqualTo("GOLD");
+		assertThat(order.customerReads).isEqualTo(2);
+		assertThat(rules.getExpression("unknown")).isNull();
+	}
+
+	@Test
+	public void valuesAreReturnedById() {
+		SpelExpressionSet rules = new SpelExpressionParser().parseExpressionSet(rules(
+				"tier", "customer.tier",
+				"amount", "amount * 2",
+				"missing", "customer?.country?.name"));
+		assertThat(rules.getIds()).containsExactly("tier", "amount", "missing");
+
+		Map<String, Object> values = rules.getValues(this.context, new Order(new Customer("GOLD", null), 10));
+		assertThat(values).containsExactly(
+				entry("tier", "GOLD"), entry("amount", 20), entry("missing", null));
+	}
+
+	@Test
+	public void selectionElementsAreNotShared() {
+		SpelExpressionSet rules = new SpelExpressionParser().parseExpressionSet(rules(
+				"big", "amount > 100",
+				"bigChild", "children.?[amount > 100].size() > 0",
+				"children", "children.![amount]"));
+
+		Order order = new Order(null, 50);
+		order.children.add(new Order(null, 150));
+		order.children.add(new Order(null, 20));
+		assertThat(rules.getValues(this.context, order)).containsExactly(
+				entry("big", false), entry("bigChild", true), entry("children", Arrays.asList(150, 20)));
+		assertThat(order.amountReads).isEqualTo(1);
+	}
+
+	@Test
+	public void functionArgumentsAreNotShared() throws Exception {
+		this.context.registerFunction("id", SpelExpressionSetTests.class.getDeclaredMethod("id", String.class));
+		SpelExpressionSet rules = new SpelExpressionParser().parseExpressionSet(rules(
+				"top", "name + ''",
+				"fn", "child.#id(name + '').toString()"));
+
+		// The function arguments are evaluated against the child, not the root object
+		Named root = new Named("root", new Named("inner", null));
+		assertThat(rules.getValues(this.context, root)).containsExactly(entry("top", "root"), entry("fn", "inner"));
+		assertThat(rules.getExpression("fn").getValue(this.context, root)).isEqualTo("inner");
+	}
+
+	@Test
+	public void propertyNamesAsKeysAreNotShared() {
+		SpelExpressionSet rules = new SpelExpressionParser().parseExpressionSet(rules(
+				"concat", "name + ''",
+				"equal", "name == 'root'",
+				"indexed", "entries[name]",
+				"inline", "{name: 'key'}.keySet().iterator().next()"));
+
+		Named root = new Named("root", null);
+		root.entries.put("name", "byName");
+		root.entries.put("root", "byValue");
+		assertThat(rules.getValues(this.context, root)).containsExactly(entry("concat", "root"),
+				entry("equal", true), entry("indexed", "byName"), entry("inline", "name"));
+	}
+
+	@Test
+	public void shortCircuitedSubExpressionsAreNotEvaluated() {
+		SpelExpressionSet rules = new SpelExpressionParser().parseExpressionSet(rules(
+				"gold", "customer != null and customer.tier == 'GOLD'",
+				"silver", "customer != null and customer.tier == 'SILVER'"));
+
+		assertThat(rules.getMatchingIds(this.context, new Order(null, 0))).isEmpty();
+		assertThat(rules.getMatchingIds(this.context, new Order(new Customer("SILVER", "KR"), 0)))
+				.containsExactly("silver");
+	}
+
+	@Test
+	public void methodInvocationsAreNotShared() {
+		SpelExpressionSet rules = new SpelExpressionParser().parseExpressionSet(rules(
+				"first", "customer.nextTicket() == 1",
+				"second", "customer.nextTicket() == 2"));
+
+		Order order = new Order(new Customer("GOLD", "KR"), 0);
+		assertThat(rules.getMatchingIds(this.context, order)).containsExactly("first", "second");
+		assertThat(order.customerReads).isEqualTo(1);
+	}
+
+	@Test
+	public void nothingIsSharedWhenAssigning() {
+		SpelExpressionSet rules = new SpelExpressionParser().parseExpressionSet(rules(
+				"big", "amount > 100",
+				"assign", "(#last = amount) > 1000"));
+		assertThat(rules.getSharedSubExpressionCount()).isZero();
+
+		Order order = new Order(null, 150);
+		assertThat(rules.getMatchingIds(this.context, order)).containsExactly("big");
+		assertThat(this.context.lookupVariable("last")).isEqualTo(150);
+		assertThat(order.amountReads).isEqualTo(2);
+	}
+
+	@Test
+	public void nothingIsSharedWhenCompiling() {
+		SpelParserConfiguration configuration =
+				new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, getClass().getClassLoader());
+		SpelExpressionSet rules = new SpelExpressionParser(configuration).parseExpressionSet(rules(
+				"gold", "customer.tier == 'GOLD'",
+				"korean", "customer.country.code == 'KR'"));
+		assertThat(rules.getSharedSubExpressionCount()).isZero();
+
+		for (int i = 0; i < 3; i++) {
+			assertThat(rules.getMatchingIds(this.context, new Order(new Customer("GOLD", "KR"), 0)))
+					.containsExactly("gold", "korean");
+		}
+		assertThat(rules.getExpression("gold").compileExpression()).isTrue();
+	}
+
+
+	private static Map<String, String> rules(String... idsAndExpressions) {
+		Map<String, String> rules = new LinkedHashMap<>();
+		for (int i = 0; i < idsAndExpressions.length; i += 2) {
+			rules.put(idsAndExpressions[i], idsAndExpressions[i + 1]);
+		}
+		return rules;
+	}
+
+	private static Map.Entry<String, Object> entry(String key, Object value) {
+		return new java.util.AbstractMap.SimpleEntry<>(key, value);
+	}
+
+
+	public static String id(String value) {
+		return value;
+	}
+
+
+	public static class Named {
+
+		private final String name;
+
+		private final Named child;
+
+		private final Map<String, String> entries = new LinkedHashMap<>();
+
+		public Named(String name, Named child) {
+			this.name = name;
+			this.child = child;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public Named getChild() {
+			return this.child;
+		}
+
+		public Map<String, String> getEntries() {
+			return this.entries;
+		}
+	}
+
+
+	public static class Order {
+
+		private final Customer customer;
+
+		private final int amount;
+
+		private final List<Order> children = new ArrayList<>();
+
+		int customerReads;
+
+		int amountReads;
+
+		public Order(Customer customer, int amount) {
+			this.customer = customer;
+			this.amount = amount;
+		}
+
+		public Customer getCustomer() {
+			this.customerReads++;
+			return this.customer;
+		}
+
+		public int getAmount() {
+			this.amountReads++;
+			return this.amount;
+		}
+
+		public List<Order> getChildren() {
+			return this.children;
+		}
+	}
+
+
+	public static class Customer {
+
+		private final String tier;
+
+		private final Country country;
+
+		private int tickets;
+
+		int countryReads;
+
+		public Customer(String tier, String countryCode) {
+			this.tier = tier;
+			this.country = (countryCode != null ? new Country(countryCode) : null);
+		}
+
+		public String getTier() {
+			return this.tier;
+		}
+
+		public Country getCountry() {
+			this.countryReads++;
+			return this.country;
+		}
+
+		public int nextTicket() {
+			return ++this.tickets;
+		}
+	}
+
+
+	public static class Country {
+
+		private final String code;
+
+		public Country(String code) {
+			this.code = code;
+		}
+
+		public String getCode() {
+			return this.code;
+		}
+
+		public String getName() {
+			return ("KR".equals(this.code) ? "Korea" : "Other");
+		}
+	}
+
+}